@@ -0,0 +1,61 @@
+/**
+ * Grafo armazenado no formato CSR (compressed sparse row): os
+ * arcos de cada vértice ocupam posições contíguas, de inicio(v)
+ * até fim(v) (exclusivo), em ordem crescente de destino.
+ *
+ * Representação comum dos grafos dos trabalhos, sobre vértices
+ * inteiros (0 a n - 1). Permite que os algoritmos sejam
+ * executados sobre arrays em memória ({@link GrafoCsr}, montado
+ * com {@link ConstrutorCsr}) ou, no labirinto, diretamente sobre
+ * um arquivo mapeado em memória (GrafoCsrMapeado).
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+public interface Adjacencias {
+    /**
+     * Retorna a quantidade de vértices do grafo.
+     *
+     * @return numVertices Quantidade de vértices
+     */
+    int getNumVertices();
+
+    /**
+     * Retorna a quantidade de arcos armazenados.
+     *
+     * @return numArcos Quantidade de arcos
+     */
+    int getNumArcos();
+
+    /**
+     * Retorna a posição do primeiro arco de um vértice.
+     *
+     * @param vertice Vértice a ser analisado
+     * @return posição do primeiro arco
+     */
+    int inicio(int vertice);
+
+    /**
+     * Retorna a posição seguinte ao último arco de um vértice.
+     *
+     * @param vertice Vértice a ser analisado
+     * @return posição após o último arco
+     */
+    int fim(int vertice);
+
+    /**
+     * Retorna o vértice de destino de um arco.
+     *
+     * @param arco Posição do arco
+     * @return destino Vértice de destino
+     */
+    int destino(int arco);
+
+    /**
+     * Retorna o peso de um arco.
+     *
+     * @param arco Posição do arco
+     * @return peso Peso do arco
+     */
+    int peso(int arco);
+}
@@ -0,0 +1,310 @@
+/**
+ * Componentes fortemente conexas de um grafo direcionado no
+ * formato CSR ({@link Adjacencias}), pelo algoritmo de Tarjan, em
+ * O(V + E). A busca em profundidade é iterativa (pilha explícita
+ * de vértices e do próximo arco de cada um), então grafos com
+ * caminhos longos não estouram a pilha de chamadas.
+ *
+ * As componentes são numeradas na ordem topológica do grafo
+ * condensado: todo arco entre componentes diferentes vai de uma
+ * componente menor para uma maior. Uma componente é cíclica se
+ * tiver mais de um vértice ou um laço; o grafo é acíclico se não
+ * houver componente cíclica, o que permite validá-lo antes de uma
+ * ordenação topológica. Para cada componente cíclica,
+ * {@link #getCiclo} retorna um ciclo concreto.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.util.Arrays;
+
+public class ComponentesFortes {
+    // Valor nulo para índices e pais dos vértices
+    private static final int NULO = -1;
+
+    private final Adjacencias grafo;
+
+    // Componente de cada vértice
+    private final int[] componentes;
+    private final int numComponentes;
+
+    // Vértices agrupados por componente (a componente c ocupa inicios[c] a inicios[c + 1])
+    private final int[] vertices;
+    private final int[] inicios;
+
+    // Posição de cada vértice em vertices
+    private final int[] posicoes;
+
+    // Componentes cíclicas, em ordem crescente
+    private final int[] ciclicas;
+
+    /**
+     * Construtor: calcula as componentes do grafo.
+     *
+     * @param grafo Grafo direcionado
+     */
+    public ComponentesFortes(Adjacencias grafo) {
+        this.grafo = grafo;
+
+        int numVertices = grafo.getNumVertices();
+        int[] indices = new int[numVertices];
+        int[] menores = new int[numVertices];
+        boolean[] naPilha = new boolean[numVertices];
+
+        // Pilha de Tarjan (vértices ainda sem componente) e pilha da busca
+        int[] pilha = new int[numVertices];
+        int topo = 0;
+        int[] chamadas = new int[numVertices];
+        int[] proximoArco = new int[numVertices];
+
+        // Vértices na ordem em que as componentes são fechadas, e o fim de cada uma
+        int[] fechados = new int[numVertices];
+        int numFechados = 0;
+        int[] fins = new int[numVertices];
+        int numFechadas = 0;
+
+        Arrays.fill(indices, NULO);
+        int indice = 0;
+
+        // Métricas da análise (ver Metricas)
+        Metricas.EventoBusca evento = Metricas.ATIVAS ? Metricas.iniciarBusca("tarjan") : null;
+        int pico = 0;
+
+        for (int raiz = 0; raiz < numVertices; raiz++) {
+            if (indices[raiz] != NULO) {
+                continue;
+            }
+
+            int numChamadas = 0;
+            chamadas[numChamadas++] = raiz;
+            proximoArco[raiz] = grafo.inicio(raiz);
+            indices[raiz] = menores[raiz] = indice++;
+            pilha[topo++] = raiz;
+            naPilha[raiz] = true;
+
+            while (numChamadas > 0) {
+                int v = chamadas[numChamadas - 1];
+
+                if (proximoArco[v] < grafo.fim(v)) {
+                    int w = grafo.destino(proximoArco[v]++);
+
+                    if (indices[w] == NULO) {
+                        // Desce para w (equivalente à chamada recursiva)
+                        chamadas[numChamadas++] = w;
+                        proximoArco[w] = grafo.inicio(w);
+                        indices[w] = menores[w] = indice++;
+                        pilha[topo++] = w;
+                        naPilha[w] = true;
+                        pico = Math.max(pico, numChamadas);
+                    } else if (naPilha[w]) {
+                        menores[v] = Math.min(menores[v], indices[w]);
+                    }
+
+                    continue;
+                }
+
+                // Arcos de v esgotados: retorna ao pai
+                numChamadas--;
+
+                if (numChamadas > 0) {
+                    int pai = chamadas[numChamadas - 1];
+                    menores[pai] = Math.min(menores[pai], menores[v]);
+                }
+
+                // v é raiz de uma componente: desempilha seus vértices
+                if (menores[v] == indices[v]) {
+                    int w;
+
+                    do {
+                        w = pilha[--topo];
+                        naPilha[w] = false;
+                        fechados[numFechados++] = w;
+                    } while (w != v);
+
+                    fins[numFechadas++] = numFechados;
+                }
+            }
+        }
+
+        if (Metricas.ATIVAS) {
+            Metricas.encerrarBusca(evento, numVertices, numVertices, grafo.getNumArcos(), pico);
+        }
+
+        /*
+         * Tarjan fecha as componentes na ordem topológica inversa:
+         * a última fechada é a componente 0.
+         */
+        this.numComponentes = numFechadas;
+        this.componentes = new int[numVertices];
+        this.vertices = new int[numVertices];
+        this.inicios = new int[numFechadas + 1];
+        this.posicoes = new int[numVertices];
+
+        for (int c = 0; c < numFechadas; c++) {
+            int fechada = numFechadas - 1 - c;
+            int de = (fechada == 0) ? 0 : fins[fechada - 1];
+            int ate = fins[fechada];
+
+            this.inicios[c + 1] = this.inicios[c] + (ate - de);
+            System.arraycopy(fechados, de, this.vertices, this.inicios[c], ate - de);
+
+            for (int i = de; i < ate; i++) {
+                this.componentes[fechados[i]] = c;
+                this.posicoes[fechados[i]] = this.inicios[c] + (i - de);
+            }
+        }
+
+        // Componentes cíclicas: mais de um vértice, ou um vértice com laço
+        int[] ciclicas = new int[numFechadas];
+        int numCiclicas = 0;
+
+        for (int c = 0; c < numFechadas; c++) {
+            if (this.getTamanho(c) > 1 || this.possuiLaco(this.vertices[this.inicios[c]])) {
+                ciclicas[numCiclicas++] = c;
+            }
+        }
+
+        this.ciclicas = Arrays.copyOf(ciclicas, numCiclicas);
+    }
+
+    /**
+     * @return numComponentes Quantidade de componentes
+     */
+    public int getNumComponentes() {
+        return this.numComponentes;
+    }
+
+    /**
+     * Retorna a componente de um vértice.
+     *
+     * @param vertice Vértice a ser analisado
+     * @return componente Componente do vértice (0 a getNumComponentes() - 1)
+     */
+    public int getComponente(int vertice) {
+        return this.componentes[vertice];
+    }
+
+    /**
+     * Retorna os vértices de uma componente.
+     *
+     * @param componente Componente a ser analisada
+     * @return vertices Vértices da componente
+     */
+    public int[] getVertices(int componente) {
+        return Arrays.copyOfRange(this.vertices, this.inicios[componente], this.inicios[componente + 1]);
+    }
+
+    /**
+     * Retorna a quantidade de vértices de uma componente.
+     *
+     * @param componente Componente a ser analisada
+     * @return tamanho Quantidade de vértices da componente
+     */
+    public int getTamanho(int componente) {
+        return this.inicios[componente + 1] - this.inicios[componente];
+    }
+
+    /**
+     * @return aciclico true se nenhuma componente possui ciclo
+     */
+    public boolean isAciclico() {
+        return this.ciclicas.length == 0;
+    }
+
+    /**
+     * @return ciclicas Componentes que possuem ciclo, em ordem crescente
+     */
+    public int[] getComponentesCiclicas() {
+        return this.ciclicas.clone();
+    }
+
+    /**
+     * Retorna um ciclo de uma componente: o caminho mais curto, na
+     * componente, do seu primeiro vértice de volta a ele mesmo.
+     * Custa O(V + E) da componente (busca em largura restrita a ela).
+     *
+     * @param componente Componente a ser analisada
+     * @return ciclo Vértices do ciclo, começando e terminando no mesmo vértice, ou
+     *         array vazio se a componente não possuir ciclo
+     */
+    public int[] getCiclo(int componente) {
+        int inicioComponente = this.inicios[componente];
+        int origem = this.vertices[inicioComponente];
+
+        if (this.possuiLaco(origem)) {
+            return new int[] { origem, origem };
+        }
+
+        int tamanho = this.getTamanho(componente);
+
+        if (tamanho == 1) {
+            return new int[0];
+        }
+
+        // Busca em largura na componente, indexada pela posição de cada vértice nela
+        int[] fila = new int[tamanho];
+        int[] pais = new int[tamanho];
+        int inicio = 0;
+        int fim = 0;
+        int ultimo = NULO;
+
+        Arrays.fill(pais, NULO);
+        fila[fim++] = origem;
+
+        while (inicio < fim && ultimo == NULO) {
+            int v = fila[inicio++];
+
+            for (int arco = this.grafo.inicio(v); arco < this.grafo.fim(v); arco++) {
+                int w = this.grafo.destino(arco);
+
+                // Arco de volta à origem: ciclo encontrado
+                if (w == origem) {
+                    ultimo = v;
+                    break;
+                }
+
+                int local = this.posicoes[w] - inicioComponente;
+
+                if (this.componentes[w] == componente && pais[local] == NULO) {
+                    pais[local] = v;
+                    fila[fim++] = w;
+                }
+            }
+        }
+
+        // Comprimento do caminho da origem até o último vértice
+        int comprimento = 1;
+        for (int v = ultimo; v != origem; v = pais[this.posicoes[v] - inicioComponente]) {
+            comprimento++;
+        }
+
+        // Ciclo: origem, caminho até o último vértice, origem
+        int[] ciclo = new int[comprimento + 1];
+        ciclo[0] = origem;
+        ciclo[comprimento] = origem;
+
+        int i = comprimento - 1;
+        for (int v = ultimo; v != origem; v = pais[this.posicoes[v] - inicioComponente]) {
+            ciclo[i--] = v;
+        }
+
+        return ciclo;
+    }
+
+    /**
+     * Verifica se um vértice possui arco para si mesmo.
+     *
+     * @param vertice Vértice a ser analisado
+     * @return laco true se o vértice possui laço
+     */
+    private boolean possuiLaco(int vertice) {
+        for (int arco = this.grafo.inicio(vertice); arco < this.grafo.fim(vertice); arco++) {
+            if (this.grafo.destino(arco) == vertice) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
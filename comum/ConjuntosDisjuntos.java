@@ -0,0 +1,168 @@
+/**
+ * Conjuntos disjuntos (union-find) sobre os inteiros 0 a n - 1,
+ * para manter as componentes conexas de um grafo à medida que
+ * as arestas são inseridas. Utiliza união por tamanho e
+ * compressão de caminho (por divisão ao meio), de modo que cada
+ * operação custa O(α(n)) amortizado, sem objetos por elemento.
+ *
+ * Cada elemento guarda o pai no array pais; uma raiz guarda o
+ * tamanho do seu conjunto negativo (-tamanho). Opcionalmente,
+ * o array fica fora do heap ({@link VetorInteirosDireto}).
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.util.Arrays;
+
+public class ConjuntosDisjuntos {
+    // Pai de cada elemento, ou -tamanho do conjunto para as raízes
+    // (apenas um dos dois: no heap ou fora dele)
+    private final int[] pais;
+    private final VetorInteirosDireto paisDiretos;
+
+    // Quantidade de conjuntos
+    private int numConjuntos;
+
+    /**
+     * Construtor com cada elemento em seu próprio conjunto.
+     *
+     * @param tamanho Quantidade de elementos
+     */
+    public ConjuntosDisjuntos(int tamanho) {
+        this(tamanho, false);
+    }
+
+    /**
+     * Construtor com cada elemento em seu próprio conjunto, no
+     * heap ou fora dele.
+     *
+     * @param tamanho Quantidade de elementos
+     * @param foraDoHeap true para armazenar os pais fora do heap
+     */
+    public ConjuntosDisjuntos(int tamanho, boolean foraDoHeap) {
+        this.numConjuntos = tamanho;
+
+        if (foraDoHeap) {
+            this.pais = null;
+            this.paisDiretos = new VetorInteirosDireto(tamanho);
+            this.paisDiretos.preencher(-1);
+        } else {
+            this.pais = new int[tamanho];
+            this.paisDiretos = null;
+            Arrays.fill(this.pais, -1);
+        }
+    }
+
+    /**
+     * Retorna o representante (raiz) do conjunto de um elemento,
+     * apontando cada elemento visitado para o seu avô.
+     *
+     * @param elemento Elemento a ser procurado
+     * @return raiz Representante do conjunto
+     * @throws ArrayIndexOutOfBoundsException Em caso de elemento inexistente
+     */
+    public int encontrar(int elemento) {
+        if (elemento < 0 || elemento >= this.getNumElementos()) {
+            throw new ArrayIndexOutOfBoundsException("Elemento inexistente: " + elemento);
+        }
+
+        while (this.getPai(elemento) >= 0) {
+            int pai = this.getPai(elemento);
+            int avo = this.getPai(pai);
+
+            if (avo >= 0) {
+                this.setPai(elemento, avo);
+            }
+
+            elemento = pai;
+        }
+
+        return elemento;
+    }
+
+    /**
+     * Une os conjuntos de dois elementos, pendurando o menor
+     * conjunto na raiz do maior.
+     *
+     * @param a Primeiro elemento
+     * @param b Segundo elemento
+     * @return true se os elementos estavam em conjuntos diferentes
+     * @throws ArrayIndexOutOfBoundsException Em caso de elemento inexistente
+     */
+    public boolean unir(int a, int b) {
+        int raizA = this.encontrar(a);
+        int raizB = this.encontrar(b);
+
+        if (raizA == raizB) {
+            return false;
+        }
+
+        // Tamanhos negativos: o maior conjunto tem o menor valor
+        if (this.getPai(raizA) > this.getPai(raizB)) {
+            int temp = raizA;
+            raizA = raizB;
+            raizB = temp;
+        }
+
+        this.setPai(raizA, this.getPai(raizA) + this.getPai(raizB));
+        this.setPai(raizB, raizA);
+        this.numConjuntos--;
+
+        return true;
+    }
+
+    /**
+     * Verifica se dois elementos estão no mesmo conjunto.
+     *
+     * @param a Primeiro elemento
+     * @param b Segundo elemento
+     * @return true se os elementos estiverem no mesmo conjunto
+     * @throws ArrayIndexOutOfBoundsException Em caso de elemento inexistente
+     */
+    public boolean isConectado(int a, int b) {
+        return this.encontrar(a) == this.encontrar(b);
+    }
+
+    /**
+     * Retorna o tamanho do conjunto de um elemento.
+     *
+     * @param elemento Elemento do conjunto
+     * @return tamanho Quantidade de elementos do conjunto
+     */
+    public int getTamanho(int elemento) {
+        return -this.getPai(this.encontrar(elemento));
+    }
+
+    /**
+     * @return numConjuntos Quantidade de conjuntos disjuntos
+     */
+    public int getNumConjuntos() {
+        return this.numConjuntos;
+    }
+
+    /**
+     * @return numElementos Quantidade de elementos
+     */
+    public int getNumElementos() {
+        return (this.pais != null) ? this.pais.length : this.paisDiretos.getTamanho();
+    }
+
+    /**
+     * Pai de um elemento (ou -tamanho, se for raiz).
+     */
+    private int getPai(int elemento) {
+        return (this.pais != null) ? this.pais[elemento] : this.paisDiretos.get(elemento);
+    }
+
+    /**
+     * Altera o pai de um elemento (ou o -tamanho de uma raiz).
+     */
+    private void setPai(int elemento, int pai) {
+        if (this.pais != null) {
+            this.pais[elemento] = pai;
+        } else {
+            this.paisDiretos.set(elemento, pai);
+        }
+    }
+}
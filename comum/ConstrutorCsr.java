@@ -0,0 +1,201 @@
+/**
+ * Construtor de grafos no formato CSR ({@link GrafoCsr}) a partir
+ * de arcos inseridos um a um. Os arcos ficam em três arrays de
+ * int (origem, destino e peso), que dobram de capacidade quando
+ * cheios, sem objetos por arco. O mesmo conjunto de arcos pode
+ * gerar o grafo direcionado ou o simétrico (cada arco nos dois
+ * sentidos), e qualquer grafo pode ser transposto.
+ *
+ * Opcionalmente, os arcos ficam fora do heap
+ * ({@link VetorInteirosDireto}), e os grafos montados também
+ * ({@link GrafoCsrDireto}).
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.util.Arrays;
+
+public class ConstrutorCsr {
+    // Capacidade inicial dos arrays de arcos
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    // Arcos inseridos (uma posição por arco), ou null se fora do heap
+    private int[] origens;
+    private int[] destinos;
+    private int[] pesos;
+    private int numArcos;
+
+    // Arcos inseridos fora do heap, ou null se nos arrays
+    private final VetorInteirosDireto origensDiretas;
+    private final VetorInteirosDireto destinosDiretos;
+    private final VetorInteirosDireto pesosDiretos;
+
+    /**
+     * Construtor sem nenhum arco.
+     */
+    public ConstrutorCsr() {
+        this(CAPACIDADE_INICIAL);
+    }
+
+    /**
+     * Construtor sem nenhum arco, com capacidade inicial.
+     *
+     * @param capacidade Quantidade de arcos prevista
+     */
+    public ConstrutorCsr(int capacidade) {
+        this(capacidade, false);
+    }
+
+    /**
+     * Construtor sem nenhum arco, com capacidade inicial, com os
+     * arcos e os grafos montados fora do heap ou nos arrays.
+     *
+     * @param capacidade Quantidade de arcos prevista (ignorada fora do heap)
+     * @param foraDoHeap true para armazenar os arcos fora do heap
+     */
+    public ConstrutorCsr(int capacidade, boolean foraDoHeap) {
+        if (foraDoHeap) {
+            this.origensDiretas = new VetorInteirosDireto();
+            this.destinosDiretos = new VetorInteirosDireto();
+            this.pesosDiretos = new VetorInteirosDireto();
+        } else {
+            capacidade = Math.max(CAPACIDADE_INICIAL, capacidade);
+
+            this.origens = new int[capacidade];
+            this.destinos = new int[capacidade];
+            this.pesos = new int[capacidade];
+
+            this.origensDiretas = null;
+            this.destinosDiretos = null;
+            this.pesosDiretos = null;
+        }
+
+        this.numArcos = 0;
+    }
+
+    /**
+     * @return true se os arcos e os grafos montados ficam fora do heap
+     */
+    public boolean isForaDoHeap() {
+        return this.origensDiretas != null;
+    }
+
+    /**
+     * Insere um arco.
+     *
+     * @param origem Vértice de origem
+     * @param destino Vértice de destino
+     * @param peso Peso do arco
+     */
+    public void adicionar(int origem, int destino, int peso) {
+        if (this.origensDiretas != null) {
+            this.origensDiretas.adicionar(origem);
+            this.destinosDiretos.adicionar(destino);
+            this.pesosDiretos.adicionar(peso);
+            this.numArcos++;
+            return;
+        }
+
+        // Dobra a capacidade dos arrays quando cheios
+        if (this.numArcos == this.origens.length) {
+            int capacidade = this.origens.length * 2;
+            this.origens = Arrays.copyOf(this.origens, capacidade);
+            this.destinos = Arrays.copyOf(this.destinos, capacidade);
+            this.pesos = Arrays.copyOf(this.pesos, capacidade);
+        }
+
+        this.origens[this.numArcos] = origem;
+        this.destinos[this.numArcos] = destino;
+        this.pesos[this.numArcos] = peso;
+        this.numArcos++;
+    }
+
+    /**
+     * @return numArcos Quantidade de arcos inseridos
+     */
+    public int getNumArcos() {
+        return this.numArcos;
+    }
+
+    /**
+     * Monta o grafo direcionado, com os arcos como inseridos.
+     *
+     * @param numVertices Quantidade de vértices (maior vértice + 1)
+     * @return grafo Grafo no formato CSR
+     */
+    public Adjacencias construir(int numVertices) {
+        if (this.origensDiretas != null) {
+            return new GrafoCsrDireto(numVertices, this.origensDiretas, this.destinosDiretos, this.pesosDiretos,
+                this.numArcos, false);
+        }
+
+        return new GrafoCsr(numVertices, this.origens, this.destinos, this.pesos, this.numArcos);
+    }
+
+    /**
+     * Monta o grafo simétrico: cada arco origem -> destino gera
+     * também o arco destino -> origem, logo após ele. Arcos
+     * repetidos mantêm o peso do último (ver {@link GrafoCsr}).
+     *
+     * @param numVertices Quantidade de vértices (maior vértice + 1)
+     * @return grafo Grafo no formato CSR, com os arcos nos dois sentidos
+     */
+    public Adjacencias construirSimetrico(int numVertices) {
+        // Fora do heap, os arcos espelhados não são copiados (ver GrafoCsrDireto)
+        if (this.origensDiretas != null) {
+            return new GrafoCsrDireto(numVertices, this.origensDiretas, this.destinosDiretos, this.pesosDiretos,
+                this.numArcos, true);
+        }
+
+        int numArcos = 2 * this.numArcos;
+        int[] origensArcos = new int[numArcos];
+        int[] destinosArcos = new int[numArcos];
+        int[] pesosArcos = new int[numArcos];
+
+        for (int i = 0; i < this.numArcos; i++) {
+            // Arco origem -> destino
+            origensArcos[2 * i] = this.origens[i];
+            destinosArcos[2 * i] = this.destinos[i];
+            pesosArcos[2 * i] = this.pesos[i];
+
+            // Arco espelhado destino -> origem
+            origensArcos[2 * i + 1] = this.destinos[i];
+            destinosArcos[2 * i + 1] = this.origens[i];
+            pesosArcos[2 * i + 1] = this.pesos[i];
+        }
+
+        return new GrafoCsr(numVertices, origensArcos, destinosArcos, pesosArcos, numArcos);
+    }
+
+    /**
+     * Monta o grafo transposto (arcos de entrada de cada vértice).
+     * O transposto de um grafo fora do heap também fica fora do
+     * heap (ver {@link GrafoCsrDireto#transpor}).
+     *
+     * @param grafo Grafo no formato CSR
+     * @return reverso Grafo com cada arco invertido
+     */
+    public static Adjacencias transpor(Adjacencias grafo) {
+        if (grafo instanceof GrafoCsrDireto) {
+            return GrafoCsrDireto.transpor(grafo);
+        }
+
+        int numVertices = grafo.getNumVertices();
+        int numArcos = grafo.getNumArcos();
+        int[] origensArcos = new int[numArcos];
+        int[] destinosArcos = new int[numArcos];
+        int[] pesosArcos = new int[numArcos];
+
+        // Cada arco vertice -> adjacente vira adjacente -> vertice
+        for (int vertice = 0; vertice < numVertices; vertice++) {
+            for (int arco = grafo.inicio(vertice); arco < grafo.fim(vertice); arco++) {
+                origensArcos[arco] = grafo.destino(arco);
+                destinosArcos[arco] = vertice;
+                pesosArcos[arco] = grafo.peso(arco);
+            }
+        }
+
+        return new GrafoCsr(numVertices, origensArcos, destinosArcos, pesosArcos, numArcos);
+    }
+}
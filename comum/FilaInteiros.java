@@ -0,0 +1,118 @@
+/**
+ * Fila de inteiros primitivos sobre um array circular, que dobra
+ * de capacidade quando cheio. Substitui a LinkedList<Integer>
+ * nas buscas, sem objetos por elemento.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.util.NoSuchElementException;
+
+public class FilaInteiros {
+    // Capacidade inicial do array
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    // Elementos da fila, a partir de inicio (circular)
+    private int[] elementos;
+    private int inicio;
+    private int tamanho;
+
+    /**
+     * Construtor da fila vazia.
+     */
+    public FilaInteiros() {
+        this(CAPACIDADE_INICIAL);
+    }
+
+    /**
+     * Construtor da fila vazia, com capacidade inicial.
+     *
+     * @param capacidade Quantidade de elementos prevista
+     */
+    public FilaInteiros(int capacidade) {
+        this.elementos = new int[Math.max(1, capacidade)];
+        this.inicio = 0;
+        this.tamanho = 0;
+    }
+
+    /**
+     * Insere um elemento no final da fila.
+     *
+     * @param elemento Elemento a ser inserido
+     */
+    public void adicionar(int elemento) {
+        if (this.tamanho == this.elementos.length) {
+            this.crescer();
+        }
+
+        int posicao = this.inicio + this.tamanho;
+        if (posicao >= this.elementos.length) {
+            posicao -= this.elementos.length;
+        }
+
+        this.elementos[posicao] = elemento;
+        this.tamanho++;
+    }
+
+    /**
+     * Remove o elemento do início da fila.
+     *
+     * @return elemento Elemento removido
+     * @throws NoSuchElementException Em caso de fila vazia
+     */
+    public int remover() {
+        if (this.tamanho == 0) {
+            throw new NoSuchElementException("Fila vazia");
+        }
+
+        int elemento = this.elementos[this.inicio];
+
+        this.inicio++;
+        if (this.inicio == this.elementos.length) {
+            this.inicio = 0;
+        }
+        this.tamanho--;
+
+        return elemento;
+    }
+
+    /**
+     * Verifica se a fila está vazia.
+     *
+     * @return true se não houver elementos
+     */
+    public boolean isEmpty() {
+        return this.tamanho == 0;
+    }
+
+    /**
+     * @return tamanho Quantidade de elementos na fila
+     */
+    public int getTamanho() {
+        return this.tamanho;
+    }
+
+    /**
+     * Remove todos os elementos, mantendo a capacidade.
+     */
+    public void limpar() {
+        this.inicio = 0;
+        this.tamanho = 0;
+    }
+
+    /**
+     * Dobra a capacidade, copiando os elementos em ordem para o
+     * início do novo array.
+     */
+    private void crescer() {
+        int[] elementos = new int[this.elementos.length * 2];
+        int primeiros = this.elementos.length - this.inicio;
+
+        System.arraycopy(this.elementos, this.inicio, elementos, 0, primeiros);
+        System.arraycopy(this.elementos, 0, elementos, primeiros, this.inicio);
+
+        this.elementos = elementos;
+        this.inicio = 0;
+    }
+}
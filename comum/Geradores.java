@@ -0,0 +1,232 @@
+/**
+ * Geradores de grafos sintéticos para os benchmarks dos
+ * trabalhos. Todos são determinísticos para uma mesma semente e
+ * entregam as arestas pelo mesmo callback da leitura de entrada
+ * ({@link LeitorBytes.ConsumidorArestas}), de modo que os grafos
+ * são montados exatamente como nos programas principais, sem
+ * listas intermediárias de arestas.
+ *
+ * Geradores disponíveis:
+ * - labirinto em grade: árvore geradora aleatória (norte ou oeste
+ *   em cada célula) com passagens extras, que criam ciclos;
+ * - labirinto aleatório: arestas entre pares uniformes de vértices;
+ * - DAG em camadas: arcos sempre para camadas posteriores;
+ * - Erdős–Rényi G(n, p), em tempo proporcional às arestas geradas;
+ * - lei de potência (Barabási–Albert), por ligação preferencial.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.util.SplittableRandom;
+
+public class Geradores {
+    // Peso máximo das arestas dos labirintos
+    private static final int PESO_MAXIMO = 20;
+
+    private Geradores() {
+    }
+
+    /**
+     * Labirinto em grade (vértice = linha * largura + coluna), com a
+     * entrada no canto superior esquerdo e a saída no inferior
+     * direito. Cada célula abre a passagem para o norte ou para o
+     * oeste (árvore geradora, de modo que a saída é sempre
+     * alcançável), e as demais passagens são abertas com a
+     * probabilidade informada.
+     *
+     * @param largura Quantidade de colunas
+     * @param altura Quantidade de linhas
+     * @param extras Probabilidade de cada passagem fora da árvore
+     * @param semente Semente do gerador aleatório
+     * @param consumidor Recebe cada aresta (não direcionada) gerada
+     * @return quantidade Quantidade de arestas geradas
+     */
+    public static long grade(int largura, int altura, double extras, long semente,
+            LeitorBytes.ConsumidorArestas consumidor) {
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        long quantidade = 0;
+
+        for (int linha = 0; linha < altura; linha++) {
+            for (int coluna = 0; coluna < largura; coluna++) {
+                int celula = linha * largura + coluna;
+
+                // Passagem da árvore: norte ou oeste (apenas uma existe nas bordas)
+                boolean norte = (linha > 0) && (coluna == 0 || aleatorio.nextBoolean());
+                boolean oeste = (coluna > 0) && (norte == false);
+
+                // Passagens extras, na direção que não pertence à árvore
+                if (linha > 0 && (norte || aleatorio.nextDouble() < extras)) {
+                    consumidor.aceitar(celula - largura, celula, 1 + aleatorio.nextInt(PESO_MAXIMO));
+                    quantidade++;
+                }
+
+                if (coluna > 0 && (oeste || aleatorio.nextDouble() < extras)) {
+                    consumidor.aceitar(celula - 1, celula, 1 + aleatorio.nextInt(PESO_MAXIMO));
+                    quantidade++;
+                }
+            }
+        }
+
+        return quantidade;
+    }
+
+    /**
+     * Labirinto aleatório: arestas entre pares de vértices
+     * uniformes, com pesos entre 1 e PESO_MAXIMO. Laços e arestas
+     * repetidas podem ocorrer, como em uma entrada qualquer.
+     *
+     * @param numVertices Quantidade de vértices
+     * @param numArestas Quantidade de arestas
+     * @param semente Semente do gerador aleatório
+     * @param consumidor Recebe cada aresta gerada
+     * @return quantidade Quantidade de arestas geradas
+     */
+    public static long aleatorio(int numVertices, long numArestas, long semente,
+            LeitorBytes.ConsumidorArestas consumidor) {
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+
+        for (long i = 0; i < numArestas; i++) {
+            consumidor.aceitar(aleatorio.nextInt(numVertices), aleatorio.nextInt(numVertices),
+                1 + aleatorio.nextInt(PESO_MAXIMO));
+        }
+
+        return numArestas;
+    }
+
+    /**
+     * DAG em camadas: os vértices são divididos em camadas
+     * consecutivas de mesmo tamanho (a última pode ser menor), e
+     * cada vértice fora da primeira camada recebe arcos de
+     * vértices de até {@code alcance} camadas anteriores. Arcos
+     * repetidos entre o mesmo par não são gerados de propósito,
+     * mas podem ocorrer.
+     *
+     * @param numVertices Quantidade de vértices
+     * @param largura Quantidade de vértices por camada
+     * @param grauEntrada Quantidade de arcos que chegam em cada vértice
+     * @param alcance Quantidade máxima de camadas entre origem e destino
+     * @param semente Semente do gerador aleatório
+     * @param consumidor Recebe cada arco (origem -> destino) gerado
+     * @return quantidade Quantidade de arcos gerados
+     */
+    public static long dagEmCamadas(int numVertices, int largura, int grauEntrada, int alcance,
+            long semente, LeitorBytes.ConsumidorArestas consumidor) {
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        long quantidade = 0;
+
+        for (int destino = largura; destino < numVertices; destino++) {
+            int camada = destino / largura;
+            int primeira = Math.max(0, camada - alcance) * largura;
+            int fim = camada * largura;
+
+            for (int i = 0; i < grauEntrada; i++) {
+                consumidor.aceitar(primeira + aleatorio.nextInt(fim - primeira), destino, 0);
+                quantidade++;
+            }
+        }
+
+        return quantidade;
+    }
+
+    /**
+     * Grafo de Erdős–Rényi G(n, p), com p = grauMedio / (n - 1).
+     * Os pares (u, v), u < v, são percorridos em ordem, saltando
+     * diretamente para o próximo par sorteado (salto geométrico de
+     * Batagelj e Brandes): o custo é proporcional às arestas
+     * geradas, e não aos n² pares.
+     *
+     * @param numVertices Quantidade de vértices
+     * @param grauMedio Grau médio esperado
+     * @param semente Semente do gerador aleatório
+     * @param consumidor Recebe cada aresta (não direcionada) gerada
+     * @return quantidade Quantidade de arestas geradas
+     */
+    public static long erdosRenyi(int numVertices, double grauMedio, long semente,
+            LeitorBytes.ConsumidorArestas consumidor) {
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        double p = Math.min(1.0, grauMedio / Math.max(1, numVertices - 1));
+        long quantidade = 0;
+
+        if (p <= 0) {
+            return 0;
+        }
+
+        double logComplemento = Math.log(1.0 - p);
+        long v = 1;
+        long w = -1;
+
+        while (v < numVertices) {
+            // Salto até o próximo par sorteado (todos os pares se p = 1)
+            long salto = (p == 1.0) ? 0 : (long) Math.floor(Math.log(1.0 - aleatorio.nextDouble()) / logComplemento);
+            w += 1 + salto;
+
+            while (w >= v && v < numVertices) {
+                w -= v;
+                v++;
+            }
+
+            if (v < numVertices) {
+                consumidor.aceitar((int) w, (int) v, 0);
+                quantidade++;
+            }
+        }
+
+        return quantidade;
+    }
+
+    /**
+     * Grafo com distribuição de graus em lei de potência
+     * (Barabási–Albert): cada novo vértice se liga a
+     * {@code arestasPorVertice} vértices anteriores, escolhidos com
+     * probabilidade proporcional ao grau. A escolha sorteia uma
+     * extremidade qualquer das arestas já geradas, guardadas em um
+     * único array de int.
+     *
+     * @param numVertices Quantidade de vértices
+     * @param arestasPorVertice Arestas criadas por vértice novo
+     * @param semente Semente do gerador aleatório
+     * @param consumidor Recebe cada aresta (não direcionada) gerada
+     * @return quantidade Quantidade de arestas geradas
+     * @throws IllegalArgumentException Se o array de extremidades não couber em memória
+     */
+    public static long leiDePotencia(int numVertices, int arestasPorVertice, long semente,
+            LeitorBytes.ConsumidorArestas consumidor) {
+        long extremidadesTotal = 2L * numVertices * arestasPorVertice;
+
+        if (extremidadesTotal > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Grafo grande demais para a lei de potência: " + numVertices);
+        }
+
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        int[] extremidades = new int[(int) extremidadesTotal];
+        int tamanho = 0;
+        long quantidade = 0;
+
+        // Núcleo inicial: os primeiros vértices ligados em sequência
+        int nucleo = Math.min(numVertices, arestasPorVertice + 1);
+
+        for (int v = 1; v < nucleo; v++) {
+            consumidor.aceitar(v - 1, v, 0);
+            extremidades[tamanho++] = v - 1;
+            extremidades[tamanho++] = v;
+            quantidade++;
+        }
+
+        for (int v = nucleo; v < numVertices; v++) {
+            // Extremidades sorteadas entre as arestas anteriores ao vértice
+            int anteriores = tamanho;
+
+            for (int i = 0; i < arestasPorVertice; i++) {
+                int alvo = extremidades[aleatorio.nextInt(anteriores)];
+
+                consumidor.aceitar(alvo, v, 0);
+                extremidades[tamanho++] = alvo;
+                extremidades[tamanho++] = v;
+                quantidade++;
+            }
+        }
+
+        return quantidade;
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Grafo armazenado no formato CSR (compressed sparse row).
+ * Os arcos de cada vértice ficam contíguos em um único array,
+ * e o array de início indica onde começa a lista de cada
+ * vértice. Ocupa O(V + E) de memória.
+ *
+ * As listas de adjacência ficam ordenadas pelo vértice de
+ * destino, preservando a mesma ordem de visita da antiga
+ * matriz de adjacência.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.util.Arrays;
+
+public class GrafoCsr implements Adjacencias {
+    // Posição inicial dos arcos de cada vértice (tamanho V + 1)
+    private final int[] inicio;
+
+    // Destino de cada arco
+    private final int[] destinos;
+
+    // Peso de cada arco
+    private final int[] pesos;
+
+    /**
+     * Construtor do grafo a partir de uma sequência de arcos.
+     * Arcos repetidos são armazenados uma única vez, mantendo
+     * o peso do último arco inserido (mesmo comportamento de
+     * uma sobrescrita na matriz de adjacência).
+     *
+     * @param numVertices Quantidade de vértices do grafo
+     * @param origens Vértice de origem de cada arco
+     * @param destinos Vértice de destino de cada arco
+     * @param pesos Peso de cada arco
+     * @param numArcos Quantidade de arcos válidos nos arrays
+     */
+    public GrafoCsr(int numVertices, int[] origens, int[] destinos, int[] pesos, int numArcos) {
+        // Ordena primeiro pelo destino (estável, mantém ordem de inserção)
+        int[] porDestino = ordenar(destinos, numVertices, null, numArcos);
+
+        // Em seguida, ordena pela origem, mantendo a ordem anterior nos empates
+        int[] ordem = ordenar(origens, numVertices, porDestino, numArcos);
+
+        int[] inicio = new int[numVertices + 1];
+        int[] adjacentes = new int[numArcos];
+        int[] pesosArcos = new int[numArcos];
+        int total = 0;
+
+        // Origem da linha atual e posição do seu primeiro arco
+        int linha = -1;
+        int inicioLinha = 0;
+
+        for (int i = 0; i < numArcos; i++) {
+            int arco = ordem[i];
+            int origem = origens[arco];
+            int destino = destinos[arco];
+
+            // Nova linha (vértice de origem) iniciada
+            if (origem != linha) {
+                linha = origem;
+                inicioLinha = total;
+            }
+
+            // Arco repetido: sobrescreve o peso, mantendo o último inserido
+            if (total > inicioLinha && adjacentes[total - 1] == destino) {
+                pesosArcos[total - 1] = pesos[arco];
+                continue;
+            }
+
+            adjacentes[total] = destino;
+            pesosArcos[total] = pesos[arco];
+            total++;
+
+            // Conta temporariamente os arcos de cada origem em inicio[origem + 1]
+            inicio[origem + 1]++;
+        }
+
+        // Acumula contagens para obter a posição inicial de cada vértice
+        for (int v = 0; v < numVertices; v++) {
+            inicio[v + 1] += inicio[v];
+        }
+
+        this.inicio = inicio;
+        this.destinos = (total == numArcos) ? adjacentes : Arrays.copyOf(adjacentes, total);
+        this.pesos = (total == numArcos) ? pesosArcos : Arrays.copyOf(pesosArcos, total);
+    }
+
+    /**
+     * Ordenação por contagem (estável) de índices de arcos
+     * segundo a chave informada.
+     *
+     * @param chaves Chave de cada arco (vértice)
+     * @param numVertices Quantidade de vértices (maior chave + 1)
+     * @param entrada Ordem de entrada dos arcos, ou null para 0..n-1
+     * @param numArcos Quantidade de arcos
+     * @return ordem Índices dos arcos ordenados pela chave
+     */
+    private static int[] ordenar(int[] chaves, int numVertices, int[] entrada, int numArcos) {
+        int[] contagem = new int[numVertices + 1];
+        int[] ordem = new int[numArcos];
+
+        for (int i = 0; i < numArcos; i++) {
+            contagem[chaves[i] + 1]++;
+        }
+
+        for (int v = 0; v < numVertices; v++) {
+            contagem[v + 1] += contagem[v];
+        }
+
+        for (int i = 0; i < numArcos; i++) {
+            int arco = (entrada == null) ? i : entrada[i];
+            ordem[contagem[chaves[arco]]++] = arco;
+        }
+
+        return ordem;
+    }
+
+    @Override
+    public int getNumVertices() {
+        return this.inicio.length - 1;
+    }
+
+    @Override
+    public int getNumArcos() {
+        return this.destinos.length;
+    }
+
+    @Override
+    public int inicio(int vertice) {
+        return this.inicio[vertice];
+    }
+
+    @Override
+    public int fim(int vertice) {
+        return this.inicio[vertice + 1];
+    }
+
+    @Override
+    public int destino(int arco) {
+        return this.destinos[arco];
+    }
+
+    @Override
+    public int peso(int arco) {
+        return this.pesos[arco];
+    }
+}
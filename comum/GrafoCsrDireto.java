@@ -0,0 +1,246 @@
+/**
+ * Grafo no formato CSR (ver {@link GrafoCsr}) armazenado fora do
+ * heap, em vetores de ByteBuffers diretos
+ * ({@link VetorInteirosDireto}). As listas de adjacência têm a
+ * mesma ordem e o mesmo tratamento de arcos repetidos de
+ * {@link GrafoCsr}, e a construção (ordenações por contagem)
+ * também utiliza apenas vetores fora do heap: o heap não cresce
+ * com o tamanho do grafo.
+ *
+ * Os arcos continuam identificados por int (ver
+ * {@link Adjacencias}), ou seja, até Integer.MAX_VALUE arcos.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+public class GrafoCsrDireto implements Adjacencias {
+    // Posição inicial dos arcos de cada vértice (tamanho V + 1)
+    private final VetorInteirosDireto inicio;
+
+    // Destino e peso de cada arco
+    private final VetorInteirosDireto destinos;
+    private final VetorInteirosDireto pesos;
+
+    private final int numVertices;
+    private final int numArcos;
+
+    /**
+     * Arcos de entrada da construção. No simétrico, cada arco i
+     * dos vetores gera os arcos de entrada 2i (origem -> destino)
+     * e 2i + 1 (destino -> origem).
+     */
+    private static final class Entrada {
+        private final VetorInteirosDireto origens;
+        private final VetorInteirosDireto destinos;
+        private final VetorInteirosDireto pesos;
+        private final boolean simetrico;
+        private final int numArcos;
+
+        private Entrada(VetorInteirosDireto origens, VetorInteirosDireto destinos, VetorInteirosDireto pesos,
+                int numArcos, boolean simetrico) {
+            this.origens = origens;
+            this.destinos = destinos;
+            this.pesos = pesos;
+            this.simetrico = simetrico;
+            this.numArcos = simetrico ? 2 * numArcos : numArcos;
+        }
+
+        private int origem(int arco) {
+            if (this.simetrico) {
+                return ((arco & 1) == 0) ? this.origens.get(arco >>> 1) : this.destinos.get(arco >>> 1);
+            }
+
+            return this.origens.get(arco);
+        }
+
+        private int destino(int arco) {
+            if (this.simetrico) {
+                return ((arco & 1) == 0) ? this.destinos.get(arco >>> 1) : this.origens.get(arco >>> 1);
+            }
+
+            return this.destinos.get(arco);
+        }
+
+        private int peso(int arco) {
+            return this.pesos.get(this.simetrico ? arco >>> 1 : arco);
+        }
+    }
+
+    /**
+     * Construtor do grafo a partir de uma sequência de arcos,
+     * como em {@link GrafoCsr}. No grafo simétrico, cada arco
+     * origem -> destino gera também o arco destino -> origem,
+     * logo após ele, sem copiar os vetores de entrada.
+     *
+     * @param numVertices Quantidade de vértices do grafo
+     * @param origens Vértice de origem de cada arco
+     * @param destinos Vértice de destino de cada arco
+     * @param pesos Peso de cada arco
+     * @param numArcos Quantidade de arcos válidos nos vetores
+     * @param simetrico true para gerar cada arco nos dois sentidos
+     * @throws IllegalArgumentException Se o grafo simétrico passar de Integer.MAX_VALUE arcos
+     */
+    public GrafoCsrDireto(int numVertices, VetorInteirosDireto origens, VetorInteirosDireto destinos,
+            VetorInteirosDireto pesos, int numArcos, boolean simetrico) {
+
+        if (simetrico && numArcos > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Arcos demais para o grafo simétrico: " + numArcos);
+        }
+
+        Entrada entrada = new Entrada(origens, destinos, pesos, numArcos, simetrico);
+
+        // Ordena primeiro pelo destino (estável, mantém ordem de inserção)
+        VetorInteirosDireto porDestino = ordenar(entrada, false, numVertices, null);
+
+        // Em seguida, ordena pela origem, mantendo a ordem anterior nos empates
+        VetorInteirosDireto ordem = ordenar(entrada, true, numVertices, porDestino);
+        porDestino = null;
+
+        VetorInteirosDireto inicio = new VetorInteirosDireto(numVertices + 1);
+        VetorInteirosDireto adjacentes = new VetorInteirosDireto();
+        VetorInteirosDireto pesosArcos = new VetorInteirosDireto();
+        int total = 0;
+
+        // Origem da linha atual e posição do seu primeiro arco
+        int linha = -1;
+        int inicioLinha = 0;
+
+        for (int i = 0; i < entrada.numArcos; i++) {
+            int arco = ordem.get(i);
+            int origem = entrada.origem(arco);
+            int destino = entrada.destino(arco);
+
+            // Nova linha (vértice de origem) iniciada
+            if (origem != linha) {
+                linha = origem;
+                inicioLinha = total;
+            }
+
+            // Arco repetido: sobrescreve o peso, mantendo o último inserido
+            if (total > inicioLinha && adjacentes.get(total - 1) == destino) {
+                pesosArcos.set(total - 1, entrada.peso(arco));
+                continue;
+            }
+
+            adjacentes.adicionar(destino);
+            pesosArcos.adicionar(entrada.peso(arco));
+            total++;
+
+            // Conta temporariamente os arcos de cada origem em inicio[origem + 1]
+            inicio.set(origem + 1, inicio.get(origem + 1) + 1);
+        }
+
+        // Acumula contagens para obter a posição inicial de cada vértice
+        for (int v = 0; v < numVertices; v++) {
+            inicio.set(v + 1, inicio.get(v + 1) + inicio.get(v));
+        }
+
+        this.inicio = inicio;
+        this.destinos = adjacentes;
+        this.pesos = pesosArcos;
+        this.numVertices = numVertices;
+        this.numArcos = total;
+    }
+
+    /**
+     * Monta o grafo transposto (arcos de entrada de cada vértice),
+     * fora do heap.
+     *
+     * @param grafo Grafo no formato CSR
+     * @return reverso Grafo com cada arco invertido
+     */
+    public static GrafoCsrDireto transpor(Adjacencias grafo) {
+        int numVertices = grafo.getNumVertices();
+        int numArcos = grafo.getNumArcos();
+        VetorInteirosDireto origens = new VetorInteirosDireto(numArcos);
+        VetorInteirosDireto destinos = new VetorInteirosDireto(numArcos);
+        VetorInteirosDireto pesos = new VetorInteirosDireto(numArcos);
+
+        // Cada arco vertice -> adjacente vira adjacente -> vertice
+        for (int vertice = 0; vertice < numVertices; vertice++) {
+            for (int arco = grafo.inicio(vertice); arco < grafo.fim(vertice); arco++) {
+                origens.set(arco, grafo.destino(arco));
+                destinos.set(arco, vertice);
+                pesos.set(arco, grafo.peso(arco));
+            }
+        }
+
+        return new GrafoCsrDireto(numVertices, origens, destinos, pesos, numArcos, false);
+    }
+
+    /**
+     * Ordenação por contagem (estável) de índices de arcos de
+     * entrada, pela origem ou pelo destino.
+     *
+     * @param entrada Arcos de entrada
+     * @param porOrigem true para ordenar pela origem, false pelo destino
+     * @param numVertices Quantidade de vértices (maior chave + 1)
+     * @param anterior Ordem anterior dos arcos, ou null para 0..n-1
+     * @return ordem Índices dos arcos ordenados pela chave
+     */
+    private static VetorInteirosDireto ordenar(Entrada entrada, boolean porOrigem, int numVertices,
+            VetorInteirosDireto anterior) {
+
+        int numArcos = entrada.numArcos;
+        VetorInteirosDireto contagem = new VetorInteirosDireto(numVertices + 1);
+        VetorInteirosDireto ordem = new VetorInteirosDireto(numArcos);
+
+        for (int i = 0; i < numArcos; i++) {
+            int chave = porOrigem ? entrada.origem(i) : entrada.destino(i);
+            contagem.set(chave + 1, contagem.get(chave + 1) + 1);
+        }
+
+        for (int v = 0; v < numVertices; v++) {
+            contagem.set(v + 1, contagem.get(v + 1) + contagem.get(v));
+        }
+
+        for (int i = 0; i < numArcos; i++) {
+            int arco = (anterior == null) ? i : anterior.get(i);
+            int chave = porOrigem ? entrada.origem(arco) : entrada.destino(arco);
+            int posicao = contagem.get(chave);
+
+            ordem.set(posicao, arco);
+            contagem.set(chave, posicao + 1);
+        }
+
+        return ordem;
+    }
+
+    /**
+     * @return bytes Memória fora do heap ocupada pelo grafo
+     */
+    public long getBytes() {
+        return this.inicio.getBytes() + this.destinos.getBytes() + this.pesos.getBytes();
+    }
+
+    @Override
+    public int getNumVertices() {
+        return this.numVertices;
+    }
+
+    @Override
+    public int getNumArcos() {
+        return this.numArcos;
+    }
+
+    @Override
+    public int inicio(int vertice) {
+        return this.inicio.get(vertice);
+    }
+
+    @Override
+    public int fim(int vertice) {
+        return this.inicio.get(vertice + 1);
+    }
+
+    @Override
+    public int destino(int arco) {
+        return this.destinos.get(arco);
+    }
+
+    @Override
+    public int peso(int arco) {
+        return this.pesos.get(arco);
+    }
+}
@@ -0,0 +1,425 @@
+/**
+ * Grafo referente à disciplinas e seus pré-requisitos,
+ * compartilhado pelos trabalhos de ordenação (tp-03) e de
+ * disciplinas (tp-extra).
+ *
+ * Cada linha da entrada tem o formato:
+ * posição 0 -> matéria
+ * restante -> pré-requisitos
+ *
+ * Os nomes são internados em ids inteiros ({@link TabelaSimbolos})
+ * já na leitura ({@link #lerLinhas}), direto dos bytes da
+ * entrada: as linhas são guardadas como sequências de ids, e as
+ * Strings só são criadas ao mostrar os resultados. Os arcos
+ * pré-requisito -> linha dependente são compactados no formato
+ * CSR ({@link ConstrutorCsr}) na primeira consulta após uma
+ * inserção.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.2
+ */
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class GrafoDisciplinas {
+    // Capacidade inicial dos arrays de linhas e de ids
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    // Ids de todas as linhas, em sequência: disciplina seguida dos pré-requisitos
+    private int[] ids;
+    private int numIds;
+
+    // Início dos ids de cada linha (a linha i termina em inicioLinhas[i + 1])
+    private int[] inicioLinhas;
+    private int numLinhas;
+
+    // Id de cada nome (disciplina ou pré-requisito)
+    private final TabelaSimbolos nomes;
+
+    // Primeira linha de cada id, ou -1 se o nome só aparece como pré-requisito
+    private int[] primeiraLinha;
+
+    // Arcos pré-requisito (id) -> linha dependente
+    private final ConstrutorCsr arcos;
+
+    // Arcos compactados, ou null se houver linhas novas
+    private Adjacencias dependentes;
+
+    /**
+     * Construtor do Grafo
+     */
+    public GrafoDisciplinas() {
+        this.ids = new int[CAPACIDADE_INICIAL * 4];
+        this.numIds = 0;
+        this.inicioLinhas = new int[CAPACIDADE_INICIAL + 1];
+        this.numLinhas = 0;
+        this.nomes = new TabelaSimbolos();
+        this.primeiraLinha = new int[CAPACIDADE_INICIAL];
+        this.arcos = new ConstrutorCsr();
+        this.dependentes = null;
+
+        Arrays.fill(this.primeiraLinha, -1);
+    }
+
+    /**
+     * Lê as linhas "disciplina;pré-requisito,pré-requisito..." da
+     * entrada, internando cada nome direto do buffer de leitura,
+     * sem criar Strings.
+     *
+     * @param in Leitor da entrada
+     * @return quantidade Quantidade de linhas lidas
+     * @throws IOException Em caso de erro de leitura
+     */
+    public int lerLinhas(LeitorBytes in) throws IOException {
+        return in.lerLinhas(new LeitorBytes.ConsumidorTokens() {
+            @Override
+            public void token(byte[] dados, int inicio, int tamanho, int indice) {
+                adicionarId(getIdNovo(nomes.inserir(dados, inicio, tamanho)));
+            }
+
+            @Override
+            public void fimLinha(int quantidade) {
+                encerrarLinha();
+            }
+        });
+    }
+
+    /**
+     * Insere uma lista de disciplinas no grafo,
+     * sendo a 1º posição referente à disciplina,
+     * e as demais referentes aos pré-requisitos
+     *
+     * @param disciplinas List<String> Lista de disciplinas
+     */
+    public void inserir(List<String> disciplinas) {
+        for (String disciplina : disciplinas) {
+            this.adicionarId(this.getIdNovo(this.nomes.inserir(disciplina)));
+        }
+
+        this.encerrarLinha();
+    }
+
+    /**
+     * Retorna todas as matérias do grafo
+     * @return grafo List<String>
+     * @throws IndexOutOfBoundsException Em caso de linha vazia
+     */
+    public List<String> getDisciplinas() {
+        List<String> disciplinas = new ArrayList<>(this.numLinhas);
+
+        for (int linha = 0; linha < this.numLinhas; linha++) {
+            int id = this.getIdLinha(linha);
+
+            if (id == -1) {
+                throw new IndexOutOfBoundsException("Linha vazia: " + linha);
+            }
+
+            disciplinas.add(this.nomes.getNome(id));
+        }
+
+        return disciplinas;
+    }
+
+    /**
+     * Mostra a lista, com suas matérias e respectivos
+     * pré-requisitos
+     * @throws IndexOutOfBoundsException Em caso de linha vazia
+     */
+    public void mostrar() {
+        // Criando PrintStream para escrita, com autoFlush
+        PrintStream out = new PrintStream(System.out, true);
+
+        // Disciplinas mostradas no formato: disciplina: pré-requisitos
+        for (int linha = 0; linha < this.numLinhas; linha++) {
+            int inicio = this.inicioLinhas[linha];
+            int fim = this.inicioLinhas[linha + 1];
+
+            if (inicio == fim) {
+                throw new IndexOutOfBoundsException("Linha vazia: " + linha);
+            }
+
+            out.print(this.nomes.getNome(this.ids[inicio]) + ": ");
+
+            // StringBuilder para guardar pre-requisitos
+            StringBuilder preRequisitos = new StringBuilder();
+
+            for (int i = inicio + 1; i < fim; i++) {
+                preRequisitos.append(this.nomes.getNome(this.ids[i]) + ", "); // Preenche StringBuilder
+            }
+
+            // Retira ", " do final
+            if (fim - inicio > 1) {
+                preRequisitos.delete(preRequisitos.length() - 2, preRequisitos.length());
+            }
+
+            // Mostra pre-requisitos
+            out.println(preRequisitos);
+        }
+    }
+
+    /**
+     * Retorna o indice do array que contem uma determinada disciplina,
+     * ou -1 caso não exista
+     *
+     * @param disciplina String Disciplina procurada
+     * @return indice do array referente à disciplina ou -1 se não encontrar
+     */
+    public int indexOf(String disciplina) {
+        int id = this.nomes.getId(disciplina);
+
+        return (id == -1) ? -1 : this.primeiraLinha[id];
+    }
+
+    /**
+     * Retorna os pre-requisitos de uma determinada disciplina
+     * @param disciplina String Disciplina a ser analisada
+     * @return Lista contendo os pre-requisitos da disciplina
+     * @throws Exception se disciplina não existe
+     */
+    public List<String> getPreRequisitos(String disciplina) throws Exception {
+        int id = this.nomes.getId(disciplina);
+
+        // Se disciplina não encontrada, lança uma Exception
+        if (id == -1) {
+            throw new Exception("Disciplina não encontrada!!!");
+        }
+
+        return this.getPreRequisitos(id);
+    }
+
+    /**
+     * Retorna os pre-requisitos de uma disciplina, pelo id
+     * (ver {@link #getIdLinha}), como escritos na sua primeira linha
+     * @param id Id da disciplina
+     * @return Lista contendo os pre-requisitos da disciplina
+     * @throws Exception se o nome não possui linha própria
+     */
+    public List<String> getPreRequisitos(int id) throws Exception {
+        // Indice da disciplina na lista
+        int index = this.primeiraLinha[id];
+
+        // Se disciplina não encontrada, lança uma Exception
+        if (index == -1) {
+            throw new Exception("Disciplina não encontrada!!!");
+        }
+
+        // Recupera apenas pre-requisitos (a partir da posição 1)
+        List<String> preRequisitos = new ArrayList<>();
+
+        for (int i = this.inicioLinhas[index] + 1; i < this.inicioLinhas[index + 1]; i++) {
+            preRequisitos.add(this.nomes.getNome(this.ids[i]));
+        }
+
+        return preRequisitos;
+    }
+
+    /**
+     * Retorna as disciplinas que dependem de determinado pre-requisito,
+     * na ordem das linhas (uma vez por linha)
+     * @param preRequisito String Pre-requisito a ser analisado
+     * @return Lista contendo disciplinas dependentes
+     */
+    public List<String> getDependentes(String preRequisito) {
+        int id = this.nomes.getId(preRequisito);
+
+        if (id == -1) {
+            return new ArrayList<>();
+        }
+
+        return this.getDependentes(id);
+    }
+
+    /**
+     * Retorna as disciplinas que dependem de um pre-requisito, pelo
+     * id, na ordem das linhas (uma vez por linha)
+     * @param id Id do pre-requisito
+     * @return Lista contendo disciplinas dependentes
+     */
+    public List<String> getDependentes(int id) {
+        // Lista vazia para disciplinas
+        List<String> dependentes = new ArrayList<>();
+
+        // Linhas que dependem do pre-requisito (CSR: ordem crescente, sem repetição)
+        Adjacencias arcos = this.getArcosDependentes();
+
+        for (int arco = arcos.inicio(id); arco < arcos.fim(id); arco++) {
+            dependentes.add(this.nomes.getNome(this.getIdLinha(arcos.destino(arco))));
+        }
+
+        return dependentes;
+    }
+
+    /**
+     * Retorna o nome de um id.
+     *
+     * @param id Id do nome
+     * @return nome Disciplina ou pré-requisito
+     * @throws ArrayIndexOutOfBoundsException Em caso de id inexistente
+     */
+    public String getNome(int id) {
+        return this.nomes.getNome(id);
+    }
+
+    /**
+     * Retorna o id da disciplina de uma linha.
+     *
+     * @param linha Posição da linha na entrada
+     * @return id Id da disciplina, ou -1 se a linha for vazia
+     * @throws IndexOutOfBoundsException Em caso de linha inexistente
+     */
+    public int getIdLinha(int linha) {
+        if (linha < 0 || linha >= this.numLinhas) {
+            throw new IndexOutOfBoundsException("Linha inexistente: " + linha);
+        }
+
+        int inicio = this.inicioLinhas[linha];
+
+        return (inicio == this.inicioLinhas[linha + 1]) ? -1 : this.ids[inicio];
+    }
+
+    /**
+     * @return numLinhas Quantidade de linhas inseridas
+     */
+    protected int getNumLinhas() {
+        return this.numLinhas;
+    }
+
+    /**
+     * @return numNomes Quantidade de nomes (disciplinas e pré-requisitos) com id
+     */
+    protected int getNumNomes() {
+        return this.nomes.getTamanho();
+    }
+
+    /**
+     * Retorna a primeira linha de um nome.
+     *
+     * @param id Id do nome
+     * @return linha Primeira linha com o nome, ou -1 se ele só aparecer como pré-requisito
+     */
+    protected int getPrimeiraLinha(int id) {
+        return this.primeiraLinha[id];
+    }
+
+    /**
+     * Retorna a quantidade de pré-requisitos de uma linha, como
+     * escritos na entrada (com repetições e a própria disciplina).
+     *
+     * @param linha Posição da linha na entrada
+     * @return quantidade Tamanho de {@link #getPreRequisitos} para a linha
+     */
+    protected int getNumPreRequisitos(int linha) {
+        return this.inicioLinhas[linha + 1] - this.inicioLinhas[linha] - 1;
+    }
+
+    /**
+     * Retorna o id de um pré-requisito de uma linha.
+     *
+     * @param linha Posição da linha na entrada
+     * @param posicao Posição do pré-requisito (0 a {@link #getNumPreRequisitos} - 1)
+     * @return id Id do pré-requisito
+     */
+    protected int getIdPreRequisito(int linha, int posicao) {
+        return this.ids[this.inicioLinhas[linha] + 1 + posicao];
+    }
+
+    /**
+     * Retorna o id de um nome, sem interná-lo.
+     *
+     * @param nome Disciplina ou pré-requisito
+     * @return id Id do nome, ou -1 se ele não aparece no grafo
+     */
+    protected int getIdNome(String nome) {
+        return this.nomes.getId(nome);
+    }
+
+    /**
+     * Acrescenta um id à linha em leitura.
+     *
+     * @param id Id da disciplina (primeiro da linha) ou do pré-requisito
+     */
+    private void adicionarId(int id) {
+        if (this.numIds == this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, this.numIds * 2);
+        }
+
+        this.ids[this.numIds++] = id;
+    }
+
+    /**
+     * Encerra a linha em leitura: indexa a disciplina e gera os
+     * arcos de cada pré-requisito (exceto a própria disciplina)
+     * para a linha.
+     */
+    private void encerrarLinha() {
+        int linha = this.numLinhas;
+        int inicio = this.inicioLinhas[linha];
+
+        if (linha + 1 == this.inicioLinhas.length) {
+            this.inicioLinhas = Arrays.copyOf(this.inicioLinhas, linha * 2 + 1);
+        }
+
+        this.inicioLinhas[linha + 1] = this.numIds;
+        this.numLinhas++;
+        this.dependentes = null;
+
+        if (inicio == this.numIds) {
+            return;
+        }
+
+        // Disciplina da linha: apenas a primeira linha de cada nome é indexada
+        int disciplina = this.ids[inicio];
+
+        if (this.primeiraLinha[disciplina] == -1) {
+            this.primeiraLinha[disciplina] = linha;
+        }
+
+        // Pré-requisitos: a linha depende de cada um (exceto da própria disciplina)
+        for (int i = inicio + 1; i < this.numIds; i++) {
+            if (this.ids[i] != disciplina) {
+                this.arcos.adicionar(this.ids[i], linha, 0);
+            }
+        }
+    }
+
+    /**
+     * Garante uma posição em primeiraLinha para um id recém
+     * internado.
+     *
+     * @param id Id retornado pela tabela de símbolos
+     * @return id O mesmo id
+     */
+    private int getIdNovo(int id) {
+        // Ids são consecutivos: novos ids (sem linha própria) crescem o array
+        if (id == this.primeiraLinha.length) {
+            int tamanho = this.primeiraLinha.length;
+            this.primeiraLinha = Arrays.copyOf(this.primeiraLinha, tamanho * 2);
+            Arrays.fill(this.primeiraLinha, tamanho, tamanho * 2, -1);
+        }
+
+        return id;
+    }
+
+    /**
+     * Retorna os arcos pré-requisito -> linha compactados,
+     * construindo-os caso existam linhas novas. Cada pré-requisito
+     * (id) tem as linhas dependentes em ordem crescente, sem
+     * repetição e sem o arco de uma disciplina para a própria linha.
+     *
+     * @return dependentes Arcos no formato CSR
+     */
+    protected Adjacencias getArcosDependentes() {
+        if (this.dependentes == null) {
+            Metricas.EventoFase fase = Metricas.iniciarFase("construcao");
+            int numVertices = Math.max(this.nomes.getTamanho(), this.numLinhas);
+            this.dependentes = this.arcos.construir(numVertices);
+            Metricas.encerrarFase(fase);
+        }
+
+        return this.dependentes;
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * Heap binário mínimo indexado sobre vértices inteiros
+ * (0 a n - 1), utilizado como fila de prioridade no
+ * algoritmo de Dijkstra. Todos os arrays são alocados no
+ * construtor: nenhuma operação cria objetos.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.util.NoSuchElementException;
+
+public class HeapIndexado {
+    // Vértices organizados como heap binário
+    private final int[] heap;
+
+    // Posição de cada vértice no heap, ou -1 se não estiver no heap
+    private final int[] posicoes;
+
+    // Chave (prioridade) de cada vértice
+    private final long[] chaves;
+
+    // Quantidade de vértices no heap
+    private int tamanho;
+
+    /**
+     * Construtor do heap.
+     *
+     * @param capacidade Quantidade de vértices possíveis
+     */
+    public HeapIndexado(int capacidade) {
+        this.heap = new int[capacidade];
+        this.posicoes = new int[capacidade];
+        this.chaves = new long[capacidade];
+        this.tamanho = 0;
+
+        for (int i = 0; i < capacidade; i++) {
+            this.posicoes[i] = -1;
+        }
+    }
+
+    /**
+     * Verifica se o heap está vazio.
+     *
+     * @return true se não houver vértices no heap
+     */
+    public boolean isEmpty() {
+        return this.tamanho == 0;
+    }
+
+    /**
+     * Insere um vértice com a chave informada ou, caso ele já
+     * esteja no heap com chave maior, diminui sua chave.
+     *
+     * @param vertice Vértice a ser inserido
+     * @param chave Prioridade do vértice
+     */
+    public void inserirOuDiminuir(int vertice, long chave) {
+        int posicao = this.posicoes[vertice];
+
+        if (posicao == -1) {
+            // Insere no final do heap
+            posicao = this.tamanho++;
+            this.heap[posicao] = vertice;
+            this.posicoes[vertice] = posicao;
+        } else if (chave >= this.chaves[vertice]) {
+            // Chave atual já é menor ou igual
+            return;
+        }
+
+        this.chaves[vertice] = chave;
+        this.subir(posicao);
+    }
+
+    /**
+     * Altera a chave de um vértice que está no heap, para mais
+     * ou para menos, ou o insere caso não esteja.
+     *
+     * @param vertice Vértice a ser alterado
+     * @param chave Nova prioridade do vértice
+     */
+    public void alterar(int vertice, long chave) {
+        int posicao = this.posicoes[vertice];
+
+        if (posicao == -1) {
+            this.inserirOuDiminuir(vertice, chave);
+            return;
+        }
+
+        long anterior = this.chaves[vertice];
+        this.chaves[vertice] = chave;
+
+        if (chave < anterior) {
+            this.subir(posicao);
+        } else {
+            this.descer(posicao);
+        }
+    }
+
+    /**
+     * Retorna a menor chave do heap, sem remover o vértice.
+     *
+     * @return chave Menor chave
+     * @throws NoSuchElementException Em caso de heap vazio
+     */
+    public long getChaveMinima() {
+        if (this.tamanho == 0) {
+            throw new NoSuchElementException("Heap vazio");
+        }
+
+        return this.chaves[this.heap[0]];
+    }
+
+    /**
+     * Remove o vértice de menor chave.
+     *
+     * @return vertice Vértice removido
+     * @throws NoSuchElementException Em caso de heap vazio
+     */
+    public int removerMinimo() {
+        if (this.tamanho == 0) {
+            throw new NoSuchElementException("Heap vazio");
+        }
+
+        int minimo = this.heap[0];
+        this.posicoes[minimo] = -1;
+        this.tamanho--;
+
+        // Move último vértice para a raiz e o desce até sua posição
+        if (this.tamanho > 0) {
+            int ultimo = this.heap[this.tamanho];
+            this.heap[0] = ultimo;
+            this.posicoes[ultimo] = 0;
+            this.descer(0);
+        }
+
+        return minimo;
+    }
+
+    /**
+     * Sobe um vértice no heap enquanto sua chave for menor
+     * que a do pai.
+     *
+     * @param posicao Posição inicial do vértice
+     */
+    private void subir(int posicao) {
+        int vertice = this.heap[posicao];
+        long chave = this.chaves[vertice];
+
+        while (posicao > 0) {
+            int pai = (posicao - 1) >>> 1;
+            int verticePai = this.heap[pai];
+
+            if (this.chaves[verticePai] <= chave) {
+                break;
+            }
+
+            this.heap[posicao] = verticePai;
+            this.posicoes[verticePai] = posicao;
+            posicao = pai;
+        }
+
+        this.heap[posicao] = vertice;
+        this.posicoes[vertice] = posicao;
+    }
+
+    /**
+     * Desce um vértice no heap enquanto sua chave for maior
+     * que a de algum filho.
+     *
+     * @param posicao Posição inicial do vértice
+     */
+    private void descer(int posicao) {
+        int vertice = this.heap[posicao];
+        long chave = this.chaves[vertice];
+
+        while (true) {
+            int filho = 2 * posicao + 1;
+
+            if (filho >= this.tamanho) {
+                break;
+            }
+
+            // Escolhe o filho de menor chave
+            if (filho + 1 < this.tamanho && this.chaves[this.heap[filho + 1]] < this.chaves[this.heap[filho]]) {
+                filho++;
+            }
+
+            int verticeFilho = this.heap[filho];
+
+            if (this.chaves[verticeFilho] >= chave) {
+                break;
+            }
+
+            this.heap[posicao] = verticeFilho;
+            this.posicoes[verticeFilho] = posicao;
+            posicao = filho;
+        }
+
+        this.heap[posicao] = vertice;
+        this.posicoes[vertice] = posicao;
+    }
+}
@@ -0,0 +1,479 @@
+/**
+ * Leitor de entrada orientado a bytes, compartilhado pelos
+ * programas principais dos trabalhos. Interpreta inteiros e
+ * tokens delimitados diretamente de um buffer reutilizável,
+ * sem criar Strings nem arrays por linha: os dados são
+ * entregues aos grafos por meio de callbacks.
+ *
+ * Formatos suportados:
+ * - inteiros e booleanos isolados (uma linha cada);
+ * - arestas "origem,destino[,peso]" até a linha "FIM" ou o fim
+ *   da entrada (qualquer outra linha é um erro de formato);
+ * - linhas de tokens separados por ';' ou ',', com a mesma
+ *   divisão de {@code linha.split("[;,]")}.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.1
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+public class LeitorBytes implements Closeable {
+    // Tamanho inicial do buffer de leitura
+    private static final int TAMANHO_BUFFER = 1 << 16;
+
+    // Linha de término das arestas
+    private static final byte[] TERMINO = { 'F', 'I', 'M' };
+
+    /**
+     * Recebe cada aresta lida, sem objetos intermediários.
+     */
+    public interface ConsumidorArestas {
+        /**
+         * @param origem Vértice de origem
+         * @param destino Vértice de destino
+         * @param peso Peso da aresta (0 se não informado)
+         */
+        void aceitar(int origem, int destino, int peso);
+    }
+
+    /**
+     * Recebe os tokens de uma linha, como trechos do buffer.
+     * Os bytes só são válidos durante a chamada.
+     */
+    public interface ConsumidorTokens {
+        /**
+         * @param dados Buffer que contém o token
+         * @param inicio Posição do primeiro byte do token
+         * @param tamanho Quantidade de bytes do token
+         * @param indice Posição do token na linha (0 para o primeiro)
+         */
+        void token(byte[] dados, int inicio, int tamanho, int indice);
+
+        /**
+         * @param quantidade Quantidade de tokens da linha
+         */
+        void fimLinha(int quantidade);
+    }
+
+    private final InputStream in;
+    private byte[] buffer;
+    private int posicao;
+    private int limite;
+
+    /**
+     * Construtor do leitor.
+     *
+     * @param in Fluxo de entrada (não precisa ser bufferizado)
+     */
+    public LeitorBytes(InputStream in) {
+        this.in = in;
+        this.buffer = new byte[TAMANHO_BUFFER];
+        this.posicao = 0;
+        this.limite = 0;
+    }
+
+    /**
+     * Lê mais bytes para o buffer, mantendo os bytes a partir de
+     * uma posição (início de um token ainda incompleto). Os bytes
+     * mantidos são movidos para o início do buffer, que dobra de
+     * tamanho caso esteja cheio.
+     *
+     * @param manter Primeira posição a ser mantida
+     * @return deslocamento Quantidade de posições que os bytes recuaram
+     * @throws IOException Em caso de erro de leitura
+     */
+    private int preencher(int manter) throws IOException {
+        int restantes = this.limite - manter;
+
+        if (restantes == this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+        } else if (manter > 0) {
+            System.arraycopy(this.buffer, manter, this.buffer, 0, restantes);
+        }
+
+        this.posicao -= manter;
+        this.limite = restantes;
+
+        int lidos = this.in.read(this.buffer, this.limite, this.buffer.length - this.limite);
+        if (lidos > 0) {
+            this.limite += lidos;
+        }
+
+        return manter;
+    }
+
+    /**
+     * Retorna o próximo byte sem consumi-lo.
+     *
+     * @return byte Próximo byte, ou -1 no fim da entrada
+     * @throws IOException Em caso de erro de leitura
+     */
+    private int espiar() throws IOException {
+        if (this.posicao == this.limite) {
+            this.preencher(this.posicao);
+
+            if (this.posicao == this.limite) {
+                return -1;
+            }
+        }
+
+        return this.buffer[this.posicao] & 0xFF;
+    }
+
+    /**
+     * Consome espaços, tabulações e quebras de linha.
+     *
+     * @return byte Próximo byte, ou -1 no fim da entrada
+     * @throws IOException Em caso de erro de leitura
+     */
+    private int pularEspacos() throws IOException {
+        int c = this.espiar();
+
+        while (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+            this.posicao++;
+            c = this.espiar();
+        }
+
+        return c;
+    }
+
+    /**
+     * Consome espaços e tabulações, sem passar para a próxima linha.
+     *
+     * @return byte Próximo byte, ou -1 no fim da entrada
+     * @throws IOException Em caso de erro de leitura
+     */
+    private int pularEspacosLinha() throws IOException {
+        int c = this.espiar();
+
+        while (c == ' ' || c == '\t' || c == '\r') {
+            this.posicao++;
+            c = this.espiar();
+        }
+
+        return c;
+    }
+
+    /**
+     * Consome o restante da linha atual, incluindo a quebra de linha.
+     *
+     * @throws IOException Em caso de erro de leitura
+     */
+    private void pularLinha() throws IOException {
+        for (int c = this.espiar(); c != -1; c = this.espiar()) {
+            this.posicao++;
+
+            if (c == '\n') {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Verifica se ainda existem dados (além de espaços) na entrada.
+     *
+     * @return true se houver dados
+     * @throws IOException Em caso de erro de leitura
+     */
+    public boolean temDados() throws IOException {
+        return this.pularEspacos() != -1;
+    }
+
+    /**
+     * Lê um inteiro, ignorando espaços e quebras de linha antes dele.
+     * O inteiro deve ser seguido de um espaço, de uma quebra de
+     * linha ou do fim da entrada.
+     *
+     * @return valor Inteiro lido
+     * @throws IOException Em caso de erro de leitura
+     * @throws NumberFormatException Se não houver um inteiro na posição
+     *         atual, ou se ele não couber em um int
+     */
+    public int lerInteiro() throws IOException {
+        int valor = this.lerNumero(this.pularEspacos());
+        int c = this.espiar();
+
+        if (c != -1 && c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+            throw new NumberFormatException("Inteiro inválido na entrada");
+        }
+
+        return valor;
+    }
+
+    /**
+     * Lê um inteiro a partir da posição atual, sem ignorar espaços.
+     *
+     * @param c Byte na posição atual
+     * @return valor Inteiro lido
+     * @throws IOException Em caso de erro de leitura
+     * @throws NumberFormatException Se não houver um inteiro na posição
+     *         atual, ou se ele não couber em um int
+     */
+    private int lerNumero(int c) throws IOException {
+        boolean negativo = false;
+
+        if (c == '-') {
+            negativo = true;
+            this.posicao++;
+            c = this.espiar();
+        }
+
+        if (c < '0' || c > '9') {
+            throw new NumberFormatException("Inteiro esperado na entrada");
+        }
+
+        // Valor absoluto em long, com o limite do sinal (Integer.MIN_VALUE é válido)
+        long maximo = negativo ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long valor = 0;
+
+        while (c >= '0' && c <= '9') {
+            valor = valor * 10 + (c - '0');
+
+            if (valor > maximo) {
+                throw new NumberFormatException("Inteiro fora do intervalo na entrada");
+            }
+
+            this.posicao++;
+            c = this.espiar();
+        }
+
+        return (int) (negativo ? -valor : valor);
+    }
+
+    /**
+     * Verifica se a posição atual contém a linha de término "FIM",
+     * seguida de espaço, quebra de linha ou fim da entrada. Não
+     * consome nenhum byte.
+     *
+     * @return true se a linha for a de término
+     * @throws IOException Em caso de erro de leitura
+     */
+    private boolean isTermino() throws IOException {
+        for (int i = 0; i <= TERMINO.length; i++) {
+            if (this.posicao + i == this.limite) {
+                this.preencher(this.posicao);
+            }
+
+            int c = (this.posicao + i < this.limite) ? this.buffer[this.posicao + i] & 0xFF : -1;
+
+            if (i == TERMINO.length) {
+                return c == -1 || c == ' ' || c == '\t' || c == '\r' || c == '\n';
+            }
+
+            if (c != TERMINO[i]) {
+                return false;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Lê uma linha contendo um booleano, com a mesma regra de
+     * {@link Boolean#parseBoolean(String)}.
+     *
+     * @return true se a linha contiver "true" (sem diferenciar maiúsculas)
+     * @throws IOException Em caso de erro de leitura
+     */
+    public boolean lerBooleano() throws IOException {
+        int c = this.pularEspacosLinha();
+        final String verdadeiro = "true";
+        int i = 0;
+        boolean igual = true;
+
+        while (c != -1 && c != '\n' && c != '\r' && c != ' ' && c != '\t') {
+            igual = igual && i < verdadeiro.length() && Character.toLowerCase(c) == verdadeiro.charAt(i);
+            i++;
+            this.posicao++;
+            c = this.espiar();
+        }
+
+        this.pularLinha();
+
+        return igual && i == verdadeiro.length();
+    }
+
+    /**
+     * Lê arestas no formato "origem,destino[,peso]", uma por linha,
+     * até a linha "FIM" (que é consumida) ou o fim da entrada. Uma
+     * linha em qualquer outro formato é um erro, e não o fim das
+     * arestas.
+     *
+     * @param consumidor Recebe cada aresta lida
+     * @return quantidade Quantidade de arestas lidas
+     * @throws IOException Em caso de erro de leitura
+     * @throws NumberFormatException Em caso de linha que não seja aresta nem "FIM"
+     */
+    public int lerArestas(ConsumidorArestas consumidor) throws IOException {
+        int quantidade = 0;
+
+        for (int c = this.pularEspacos(); c != -1; c = this.pularEspacos()) {
+            if (this.isTermino()) {
+                // Consome a linha de término (FIM)
+                this.pularLinha();
+                break;
+            }
+
+            if (c != '-' && (c < '0' || c > '9')) {
+                throw new NumberFormatException("Aresta ou FIM esperado na entrada");
+            }
+
+            int origem = this.lerNumero(c);
+
+            if (this.pularEspacosLinha() != ',') {
+                throw new NumberFormatException("Separador ',' esperado na aresta");
+            }
+            this.posicao++;
+
+            int destino = this.lerNumero(this.pularEspacosLinha());
+            int peso = 0;
+
+            c = this.pularEspacosLinha();
+
+            if (c == ',') {
+                this.posicao++;
+                peso = this.lerNumero(this.pularEspacosLinha());
+                c = this.pularEspacosLinha();
+            }
+
+            if (c != '\n' && c != -1) {
+                throw new NumberFormatException("Fim de linha esperado após a aresta");
+            }
+
+            this.pularLinha();
+            consumidor.aceitar(origem, destino, peso);
+            quantidade++;
+        }
+
+        return quantidade;
+    }
+
+    /**
+     * Lê uma linha, entregando seus tokens separados por ';' ou ','.
+     * Assim como {@code split}, tokens vazios no final da linha são
+     * descartados, e uma linha vazia produz um único token vazio.
+     *
+     * @param consumidor Recebe os tokens da linha
+     * @return false se a entrada já tiver terminado
+     * @throws IOException Em caso de erro de leitura
+     */
+    public boolean lerLinha(ConsumidorTokens consumidor) throws IOException {
+        if (this.espiar() == -1) {
+            return false;
+        }
+
+        int inicio = this.posicao;
+        int indice = 0;
+        int vazios = 0;
+        boolean delimitada = false;
+
+        while (true) {
+            if (this.posicao == this.limite) {
+                inicio -= this.preencher(inicio);
+
+                if (this.posicao == this.limite) {
+                    // Fim da entrada: último token da linha
+                    indice = this.entregar(consumidor, inicio, this.semRetorno(inicio, this.posicao), indice, vazios);
+                    break;
+                }
+            }
+
+            byte c = this.buffer[this.posicao];
+
+            if (c == '\n' || c == ';' || c == ',') {
+                int fim = this.posicao;
+                this.posicao++;
+
+                if (c == '\n') {
+                    indice = this.entregar(consumidor, inicio, this.semRetorno(inicio, fim), indice, vazios);
+                    break;
+                }
+
+                // Tokens vazios só são entregues se algum token não vazio vier depois
+                int anterior = indice;
+                indice = this.entregar(consumidor, inicio, fim, indice, vazios);
+                vazios = (indice == anterior) ? vazios + 1 : 0;
+                delimitada = true;
+                inicio = this.posicao;
+            } else {
+                this.posicao++;
+            }
+        }
+
+        // Linha vazia, sem delimitadores: um único token vazio
+        if (indice == 0 && delimitada == false) {
+            consumidor.token(this.buffer, inicio, 0, indice++);
+        }
+
+        consumidor.fimLinha(indice);
+
+        return true;
+    }
+
+    /**
+     * Lê todas as linhas restantes da entrada (ver {@link #lerLinha}).
+     *
+     * @param consumidor Recebe os tokens de cada linha
+     * @return quantidade Quantidade de linhas lidas
+     * @throws IOException Em caso de erro de leitura
+     */
+    public int lerLinhas(ConsumidorTokens consumidor) throws IOException {
+        int quantidade = 0;
+
+        while (this.lerLinha(consumidor)) {
+            quantidade++;
+        }
+
+        return quantidade;
+    }
+
+    /**
+     * Descarta o '\r' final de quebras de linha no formato Windows.
+     *
+     * @param inicio Início do último token da linha
+     * @param fim Fim (exclusivo) do último token da linha
+     * @return fim Fim do token sem o '\r'
+     */
+    private int semRetorno(int inicio, int fim) {
+        return (fim > inicio && this.buffer[fim - 1] == '\r') ? fim - 1 : fim;
+    }
+
+    /**
+     * Entrega um token não vazio, precedido dos tokens vazios
+     * pendentes. Tokens vazios não são entregues imediatamente.
+     *
+     * @param consumidor Recebe os tokens
+     * @param inicio Início do token no buffer
+     * @param fim Fim (exclusivo) do token no buffer
+     * @param indice Índice do próximo token da linha
+     * @param vazios Quantidade de tokens vazios pendentes
+     * @return indice Índice do próximo token após a entrega
+     */
+    private int entregar(ConsumidorTokens consumidor, int inicio, int fim, int indice, int vazios) {
+        if (fim == inicio) {
+            return indice;
+        }
+
+        for (int i = 0; i < vazios; i++) {
+            consumidor.token(this.buffer, inicio, 0, indice++);
+        }
+
+        consumidor.token(this.buffer, inicio, fim - inicio, indice++);
+
+        return indice;
+    }
+
+    /**
+     * Fecha o fluxo de entrada.
+     *
+     * @throws IOException Em caso de erro ao fechar
+     */
+    @Override
+    public void close() throws IOException {
+        this.in.close();
+    }
+}
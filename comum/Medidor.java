@@ -0,0 +1,252 @@
+/**
+ * Medidor de desempenho dos benchmarks dos trabalhos. Cada
+ * operação é executada em uma fase de aquecimento (para que o
+ * JIT compile o código medido) e em uma fase de medição, ambas
+ * limitadas por tempo e com pelo menos uma execução. Na medição,
+ * são registrados o tempo decorrido (System.nanoTime) e os bytes
+ * alocados pela thread (ThreadMXBean da HotSpot), que resultam na
+ * vazão (operações por segundo) e na taxa de alocação.
+ *
+ * O resultado de cada execução é combinado em um campo volátil,
+ * para que o JIT não elimine o código medido.
+ *
+ * Os benchmarks medem cada caso em tamanhos crescentes com
+ * {@link #medirCaso}: quando uma execução passa do limite de
+ * tempo, os tamanhos maiores daquele caso são ignorados.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.1
+ */
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+public class Medidor {
+    /**
+     * Operação medida. O retorno é consumido pelo medidor.
+     */
+    public interface Operacao {
+        /**
+         * @return resultado Resultado da operação (pode ser null)
+         * @throws Exception Em caso de erro na operação
+         */
+        Object executar() throws Exception;
+    }
+
+    // Duração padrão do aquecimento e da medição de cada caso
+    public static final long AQUECIMENTO_MS = 2000;
+    public static final long MEDICAO_MS = 5000;
+
+    // Tempo padrão por execução a partir do qual os tamanhos maiores de um caso são ignorados
+    public static final long LIMITE_MS = 10_000;
+
+    // Bytes alocados pela thread, se a JVM oferecer a medição
+    private final com.sun.management.ThreadMXBean alocacao;
+
+    // Duração de cada fase, em nanossegundos
+    private final long tempoAquecimento;
+    private final long tempoMedicao;
+
+    // Tempo por execução a partir do qual um caso é encerrado, em milissegundos
+    private final long limiteMs;
+
+    // Destino dos resultados das operações
+    private volatile int sumidouro;
+
+    /**
+     * Construtor do medidor, com as durações e o limite padrão.
+     */
+    public Medidor() {
+        this(AQUECIMENTO_MS, MEDICAO_MS, LIMITE_MS);
+    }
+
+    /**
+     * Construtor do medidor, com o limite padrão.
+     *
+     * @param aquecimentoMs Duração do aquecimento, em milissegundos
+     * @param medicaoMs Duração da medição, em milissegundos
+     */
+    public Medidor(long aquecimentoMs, long medicaoMs) {
+        this(aquecimentoMs, medicaoMs, LIMITE_MS);
+    }
+
+    /**
+     * Construtor do medidor.
+     *
+     * @param aquecimentoMs Duração do aquecimento, em milissegundos
+     * @param medicaoMs Duração da medição, em milissegundos
+     * @param limiteMs Tempo por execução a partir do qual um caso é encerrado (ver {@link #medirCaso})
+     */
+    public Medidor(long aquecimentoMs, long medicaoMs, long limiteMs) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        if (threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            this.alocacao = (com.sun.management.ThreadMXBean) threads;
+            this.alocacao.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            this.alocacao = null;
+        }
+
+        this.tempoAquecimento = aquecimentoMs * 1_000_000L;
+        this.tempoMedicao = medicaoMs * 1_000_000L;
+        this.limiteMs = limiteMs;
+        this.sumidouro = 0;
+    }
+
+    /**
+     * Aquece e mede uma operação.
+     *
+     * @param operacao Operação a ser medida
+     * @return resultado Execuções, tempo e bytes alocados na medição
+     * @throws Exception Em caso de erro na operação
+     */
+    public Resultado medir(Operacao operacao) throws Exception {
+        // Aquecimento
+        long inicio = System.nanoTime();
+
+        do {
+            this.consumir(operacao.executar());
+        } while (System.nanoTime() - inicio < this.tempoAquecimento);
+
+        // Medição
+        long execucoes = 0;
+        long bytesInicio = this.getBytesAlocados();
+        inicio = System.nanoTime();
+        long decorrido;
+
+        do {
+            this.consumir(operacao.executar());
+            execucoes++;
+            decorrido = System.nanoTime() - inicio;
+        } while (decorrido < this.tempoMedicao);
+
+        long bytes = (this.alocacao == null) ? -1 : this.getBytesAlocados() - bytesInicio;
+
+        return new Resultado(execucoes, decorrido, bytes);
+    }
+
+    /**
+     * Mede um caso em um tamanho e mostra a linha do resultado (ver
+     * {@link #formatar}). Se a execução passar do limite, avisa que
+     * os tamanhos maiores do caso serão ignorados.
+     *
+     * @param out Saída da tabela de resultados
+     * @param caso Nome do caso medido
+     * @param vertices Tamanho do grafo
+     * @param operacao Operação a ser medida
+     * @return false se a execução passou do limite (tamanhos maiores devem ser ignorados)
+     * @throws Exception Em caso de erro na operação
+     */
+    public boolean medirCaso(PrintStream out, String caso, long vertices, Operacao operacao) throws Exception {
+        Resultado resultado = this.medir(operacao);
+        out.println(formatar(caso, vertices, resultado));
+
+        if (resultado.getMilissegundosPorOperacao() > this.limiteMs) {
+            out.println(caso + ": acima de " + this.limiteMs + " ms por execução, tamanhos maiores ignorados");
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Cabeçalho da tabela de resultados (ver {@link #formatar}).
+     *
+     * @return cabecalho Nomes das colunas
+     */
+    public static String cabecalho() {
+        return String.format("%-28s %12s %14s %14s %12s %16s", "caso", "vertices", "ops/s", "ms/op",
+            "MB/s", "bytes/op");
+    }
+
+    /**
+     * Linha da tabela de resultados.
+     *
+     * @param caso Nome do caso medido
+     * @param vertices Tamanho do grafo
+     * @param resultado Resultado da medição
+     * @return linha Valores formatados
+     */
+    public static String formatar(String caso, long vertices, Resultado resultado) {
+        String taxa = (resultado.getBytes() < 0) ? "n/d" : String.format("%.1f", resultado.getTaxaAlocacao());
+        String porOperacao = (resultado.getBytes() < 0) ? "n/d" : String.format("%.0f", resultado.getBytesPorOperacao());
+
+        return String.format("%-28s %12d %14.3f %14.3f %12s %16s", caso, vertices,
+            resultado.getOperacoesPorSegundo(), resultado.getMilissegundosPorOperacao(), taxa, porOperacao);
+    }
+
+    /**
+     * @return bytes Bytes alocados pela thread atual até o momento
+     */
+    private long getBytesAlocados() {
+        return (this.alocacao == null) ? 0 : this.alocacao.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Combina o resultado de uma operação no campo volátil.
+     *
+     * @param resultado Resultado da operação
+     */
+    private void consumir(Object resultado) {
+        this.sumidouro += System.identityHashCode(resultado);
+    }
+
+    /**
+     * Resultado de uma medição.
+     */
+    public static final class Resultado {
+        private final long execucoes;
+        private final long nanos;
+        private final long bytes;
+
+        private Resultado(long execucoes, long nanos, long bytes) {
+            this.execucoes = execucoes;
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+
+        /**
+         * @return execucoes Quantidade de execuções medidas
+         */
+        public long getExecucoes() {
+            return this.execucoes;
+        }
+
+        /**
+         * @return bytes Bytes alocados na medição, ou -1 se não houver suporte
+         */
+        public long getBytes() {
+            return this.bytes;
+        }
+
+        /**
+         * @return vazao Execuções por segundo
+         */
+        public double getOperacoesPorSegundo() {
+            return this.execucoes * 1e9 / this.nanos;
+        }
+
+        /**
+         * @return tempo Tempo médio de cada execução, em milissegundos
+         */
+        public double getMilissegundosPorOperacao() {
+            return this.nanos / 1e6 / this.execucoes;
+        }
+
+        /**
+         * @return bytes Bytes alocados por execução
+         */
+        public double getBytesPorOperacao() {
+            return (double) this.bytes / this.execucoes;
+        }
+
+        /**
+         * @return taxa Alocação em MB por segundo
+         */
+        public double getTaxaAlocacao() {
+            return this.bytes / 1e6 / (this.nanos / 1e9);
+        }
+    }
+}
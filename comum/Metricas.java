@@ -0,0 +1,354 @@
+/**
+ * Métricas das buscas e das fases (leitura, construção,
+ * resolução e escrita) dos trabalhos, como eventos do JDK Flight
+ * Recorder e, opcionalmente, contadores JMX.
+ *
+ * As métricas são ativadas por -Dgrafos.metricas=true. A flag é
+ * uma constante (static final): desativada, o JIT elimina os
+ * trechos protegidos por {@link #ATIVAS} e os contadores locais
+ * dos algoritmos, que são atualizados por vértice expandido (e
+ * não por aresta), sem custo no laço da busca. Ativadas, cada
+ * busca gera um evento grafos.Busca (vértices expandidos, arestas
+ * examinadas, pico da fila e bytes alocados) e cada fase um
+ * evento grafos.Fase, gravados quando a gravação do JFR estiver
+ * em andamento (por exemplo, -XX:StartFlightRecording). Com
+ * -Dgrafos.metricas.jmx=true, os totais também ficam disponíveis
+ * no MBean grafos:type=Metricas (ver {@link MetricasMBean}).
+ *
+ * Os bytes alocados são os da thread que registra a busca ou a
+ * fase (ThreadMXBean da HotSpot), como em {@link Medidor}.
+ *
+ * Uso nos algoritmos:
+ *
+ * <pre>
+ * Metricas.EventoBusca evento = Metricas.ATIVAS ? Metricas.iniciarBusca("largura") : null;
+ * ... (contadores locais)
+ * if (Metricas.ATIVAS) {
+ *     Metricas.encerrarBusca(evento, vertices, expandidos, arestas, pico);
+ * }
+ * </pre>
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+public class Metricas implements MetricasMBean {
+    // Métricas ativadas (constante para o JIT)
+    public static final boolean ATIVAS = Boolean.getBoolean("grafos.metricas");
+
+    // Contadores JMX ativados (apenas com as métricas ativadas)
+    public static final boolean JMX = ATIVAS && Boolean.getBoolean("grafos.metricas.jmx");
+
+    // Nome do MBean
+    public static final String NOME_MBEAN = "grafos:type=Metricas";
+
+    // Contadores acumulados, registrados no JMX, ou null sem JMX
+    private static final Metricas CONTADORES = JMX ? registrar() : null;
+
+    // Bytes alocados pela thread, se a JVM oferecer a medição
+    private static final com.sun.management.ThreadMXBean ALOCACAO = ATIVAS ? getAlocacao() : null;
+
+    // Totais das buscas
+    private final LongAdder buscas = new LongAdder();
+    private final LongAdder verticesExpandidos = new LongAdder();
+    private final LongAdder arestasExaminadas = new LongAdder();
+    private final LongAccumulator picoFronteira = new LongAccumulator(Math::max, 0);
+    private final LongAdder nanosBuscas = new LongAdder();
+    private final LongAdder bytesAlocados = new LongAdder();
+
+    // Tempo e bytes alocados de cada fase
+    private final Map<String, LongAdder> nanosFases = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> bytesFases = new ConcurrentHashMap<>();
+
+    /**
+     * Evento de uma busca (ou outro algoritmo sobre o grafo).
+     */
+    @Name("grafos.Busca")
+    @Label("Busca")
+    @Category("Grafos")
+    @Description("Execução de um algoritmo sobre o grafo")
+    public static final class EventoBusca extends Event {
+        @Label("Algoritmo")
+        private String algoritmo;
+
+        @Label("Vértices")
+        private int vertices;
+
+        @Label("Vértices expandidos")
+        private long verticesExpandidos;
+
+        @Label("Arestas examinadas")
+        private long arestasExaminadas;
+
+        @Label("Pico da fronteira")
+        @Description("Maior tamanho da fila (ou fronteira) durante a busca")
+        private long picoFronteira;
+
+        @Label("Bytes alocados")
+        @DataAmount
+        private long bytesAlocados;
+
+        // Início da busca (não gravados no evento)
+        private transient long nanosInicio;
+        private transient long bytesInicio;
+    }
+
+    /**
+     * Evento de uma fase do programa.
+     */
+    @Name("grafos.Fase")
+    @Label("Fase")
+    @Category("Grafos")
+    @Description("Fase do programa: leitura, construção, resolução ou escrita")
+    public static final class EventoFase extends Event {
+        @Label("Fase")
+        private String fase;
+
+        @Label("Bytes alocados")
+        @DataAmount
+        private long bytesAlocados;
+
+        // Início da fase (não gravados no evento)
+        private transient long nanosInicio;
+        private transient long bytesInicio;
+    }
+
+    /**
+     * Construtor dos contadores (apenas um, registrado no JMX).
+     */
+    private Metricas() {
+    }
+
+    /**
+     * Inicia a medição de uma busca.
+     *
+     * @param algoritmo Nome do algoritmo
+     * @return evento Evento iniciado, ou null com as métricas desativadas
+     */
+    public static EventoBusca iniciarBusca(String algoritmo) {
+        if (ATIVAS == false) {
+            return null;
+        }
+
+        EventoBusca evento = new EventoBusca();
+        evento.algoritmo = algoritmo;
+        evento.nanosInicio = System.nanoTime();
+        evento.bytesInicio = getBytesThread();
+        evento.begin();
+
+        return evento;
+    }
+
+    /**
+     * Encerra a medição de uma busca, gravando o evento e
+     * acumulando os contadores JMX.
+     *
+     * @param evento Evento iniciado por {@link #iniciarBusca}
+     * @param vertices Quantidade de vértices do grafo
+     * @param expandidos Vértices retirados da fila (ou fronteira)
+     * @param arestas Arestas (arcos) examinadas
+     * @param pico Maior tamanho da fila (ou fronteira)
+     */
+    public static void encerrarBusca(EventoBusca evento, int vertices, long expandidos, long arestas, long pico) {
+        if (evento == null) {
+            return;
+        }
+
+        evento.end();
+        long nanos = System.nanoTime() - evento.nanosInicio;
+        long bytes = getBytesThread() - evento.bytesInicio;
+
+        if (evento.shouldCommit()) {
+            evento.vertices = vertices;
+            evento.verticesExpandidos = expandidos;
+            evento.arestasExaminadas = arestas;
+            evento.picoFronteira = pico;
+            evento.bytesAlocados = bytes;
+            evento.commit();
+        }
+
+        if (CONTADORES != null) {
+            CONTADORES.buscas.increment();
+            CONTADORES.verticesExpandidos.add(expandidos);
+            CONTADORES.arestasExaminadas.add(arestas);
+            CONTADORES.picoFronteira.accumulate(pico);
+            CONTADORES.nanosBuscas.add(nanos);
+            CONTADORES.bytesAlocados.add(bytes);
+        }
+    }
+
+    /**
+     * Inicia a medição de uma fase.
+     *
+     * @param fase Nome da fase
+     * @return evento Evento iniciado, ou null com as métricas desativadas
+     */
+    public static EventoFase iniciarFase(String fase) {
+        if (ATIVAS == false) {
+            return null;
+        }
+
+        EventoFase evento = new EventoFase();
+        evento.fase = fase;
+        evento.nanosInicio = System.nanoTime();
+        evento.bytesInicio = getBytesThread();
+        evento.begin();
+
+        return evento;
+    }
+
+    /**
+     * Encerra a medição de uma fase.
+     *
+     * @param evento Evento iniciado por {@link #iniciarFase}, ou null
+     */
+    public static void encerrarFase(EventoFase evento) {
+        if (evento == null) {
+            return;
+        }
+
+        evento.end();
+        long nanos = System.nanoTime() - evento.nanosInicio;
+        long bytes = getBytesThread() - evento.bytesInicio;
+
+        if (evento.shouldCommit()) {
+            evento.bytesAlocados = bytes;
+            evento.commit();
+        }
+
+        if (CONTADORES != null) {
+            CONTADORES.nanosFases.computeIfAbsent(evento.fase, fase -> new LongAdder()).add(nanos);
+            CONTADORES.bytesFases.computeIfAbsent(evento.fase, fase -> new LongAdder()).add(bytes);
+        }
+    }
+
+    /**
+     * @return contadores Contadores JMX, ou null se não estiverem ativados
+     */
+    public static MetricasMBean getContadores() {
+        return CONTADORES;
+    }
+
+    @Override
+    public long getBuscas() {
+        return this.buscas.sum();
+    }
+
+    @Override
+    public long getVerticesExpandidos() {
+        return this.verticesExpandidos.sum();
+    }
+
+    @Override
+    public long getArestasExaminadas() {
+        return this.arestasExaminadas.sum();
+    }
+
+    @Override
+    public long getPicoFronteira() {
+        return this.picoFronteira.get();
+    }
+
+    @Override
+    public long getNanosBuscas() {
+        return this.nanosBuscas.sum();
+    }
+
+    @Override
+    public long getBytesAlocados() {
+        return this.bytesAlocados.sum();
+    }
+
+    @Override
+    public Map<String, Long> getNanosFases() {
+        return somar(this.nanosFases);
+    }
+
+    @Override
+    public Map<String, Long> getBytesFases() {
+        return somar(this.bytesFases);
+    }
+
+    @Override
+    public void zerar() {
+        this.buscas.reset();
+        this.verticesExpandidos.reset();
+        this.arestasExaminadas.reset();
+        this.picoFronteira.reset();
+        this.nanosBuscas.reset();
+        this.bytesAlocados.reset();
+        this.nanosFases.clear();
+        this.bytesFases.clear();
+    }
+
+    /**
+     * Cópia dos totais de cada fase, ordenada pelo nome.
+     */
+    private static Map<String, Long> somar(Map<String, LongAdder> contadores) {
+        Map<String, Long> totais = new TreeMap<>();
+
+        for (Map.Entry<String, LongAdder> contador : contadores.entrySet()) {
+            totais.put(contador.getKey(), contador.getValue().sum());
+        }
+
+        return totais;
+    }
+
+    /**
+     * Cria os contadores e os registra no servidor de MBeans.
+     *
+     * @return contadores Contadores registrados
+     * @throws IllegalStateException Em caso de erro no registro
+     */
+    private static Metricas registrar() {
+        Metricas contadores = new Metricas();
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(contadores, new ObjectName(NOME_MBEAN));
+        } catch (JMException e) {
+            throw new IllegalStateException("Erro ao registrar " + NOME_MBEAN, e);
+        }
+
+        return contadores;
+    }
+
+    /**
+     * @return alocacao Medição de bytes alocados por thread, ou null sem suporte
+     */
+    private static com.sun.management.ThreadMXBean getAlocacao() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        if (threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            com.sun.management.ThreadMXBean alocacao = (com.sun.management.ThreadMXBean) threads;
+            alocacao.setThreadAllocatedMemoryEnabled(true);
+            return alocacao;
+        }
+
+        return null;
+    }
+
+    /**
+     * @return bytes Bytes alocados pela thread atual até o momento
+     */
+    private static long getBytesThread() {
+        return (ALOCACAO == null) ? 0 : ALOCACAO.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * Contadores acumulados das buscas e fases dos trabalhos,
+ * expostos via JMX (ver {@link Metricas}).
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.util.Map;
+
+public interface MetricasMBean {
+    /**
+     * @return buscas Quantidade de buscas registradas
+     */
+    long getBuscas();
+
+    /**
+     * @return expandidos Total de vértices expandidos
+     */
+    long getVerticesExpandidos();
+
+    /**
+     * @return arestas Total de arestas examinadas
+     */
+    long getArestasExaminadas();
+
+    /**
+     * @return pico Maior fila (ou fronteira) entre todas as buscas
+     */
+    long getPicoFronteira();
+
+    /**
+     * @return nanos Tempo total das buscas, em nanossegundos
+     */
+    long getNanosBuscas();
+
+    /**
+     * @return bytes Bytes alocados pelas buscas
+     */
+    long getBytesAlocados();
+
+    /**
+     * @return fases Tempo total de cada fase, em nanossegundos
+     */
+    Map<String, Long> getNanosFases();
+
+    /**
+     * @return fases Bytes alocados em cada fase
+     */
+    Map<String, Long> getBytesFases();
+
+    /**
+     * Zera todos os contadores.
+     */
+    void zerar();
+}
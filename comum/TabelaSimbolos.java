@@ -0,0 +1,239 @@
+/**
+ * Tabela de símbolos que associa nomes (como disciplinas) a ids
+ * inteiros densos (0, 1, 2, ...), na ordem em que os nomes são
+ * inseridos, e ids de volta a nomes. Permite que os grafos de
+ * nomes sejam representados sobre vértices inteiros (ver
+ * {@link ConstrutorCsr}), comparando ids no lugar de Strings.
+ *
+ * Os nomes são guardados como bytes, em sequência em um único
+ * array, e indexados por uma tabela de espalhamento com
+ * endereçamento aberto (sondagem linear) sobre ids primitivos.
+ * Assim, os nomes podem ser internados direto do buffer de
+ * leitura ({@link LeitorBytes}), sem criar uma String por token:
+ * a String de cada id só é criada quando pedida
+ * ({@link #getNome}), uma única vez. Strings são convertidas de e
+ * para bytes no charset padrão, como em {@code new String(bytes)}.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.1
+ */
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+public class TabelaSimbolos {
+    // Capacidade inicial dos arrays de nomes e de bytes
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    // Charset dos nomes recebidos e devolvidos como String
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    // Bytes de todos os nomes, em sequência
+    private byte[] bytes;
+    private int numBytes;
+
+    // Início dos bytes de cada nome (o nome i termina em inicios[i + 1])
+    private int[] inicios;
+
+    // Hash de cada nome, para comparar bytes apenas em caso de hash igual
+    private int[] hashes;
+
+    // Tabela de espalhamento: id + 1 em cada posição, ou 0 se vazia
+    private int[] tabela;
+
+    // String de cada id, criada no primeiro getNome (ou recebida em inserir)
+    private String[] nomes;
+    private int tamanho;
+
+    /**
+     * Construtor da tabela vazia.
+     */
+    public TabelaSimbolos() {
+        this.bytes = new byte[CAPACIDADE_INICIAL * 8];
+        this.numBytes = 0;
+        this.inicios = new int[CAPACIDADE_INICIAL + 1];
+        this.hashes = new int[CAPACIDADE_INICIAL];
+        this.tabela = new int[CAPACIDADE_INICIAL * 2];
+        this.nomes = new String[CAPACIDADE_INICIAL];
+        this.tamanho = 0;
+    }
+
+    /**
+     * Retorna o id de um nome, inserindo-o caso ainda não exista.
+     *
+     * @param nome Nome a ser procurado
+     * @return id Id do nome (novos ids são consecutivos)
+     */
+    public int inserir(String nome) {
+        byte[] dados = nome.getBytes(CHARSET);
+        int id = this.inserir(dados, 0, dados.length);
+
+        // Mantém a String original, sem criá-la de novo em getNome
+        if (this.nomes[id] == null) {
+            this.nomes[id] = nome;
+        }
+
+        return id;
+    }
+
+    /**
+     * Retorna o id de um nome lido como bytes, inserindo-o caso
+     * ainda não exista. Os bytes são copiados apenas para nomes
+     * novos.
+     *
+     * @param dados Array com os bytes do nome
+     * @param inicio Posição do primeiro byte do nome
+     * @param tamanho Quantidade de bytes do nome
+     * @return id Id do nome (novos ids são consecutivos)
+     */
+    public int inserir(byte[] dados, int inicio, int tamanho) {
+        int hash = hash(dados, inicio, tamanho);
+        int posicao = this.procurar(hash, dados, inicio, tamanho);
+
+        if (this.tabela[posicao] != 0) {
+            return this.tabela[posicao] - 1;
+        }
+
+        // Novo nome: bytes copiados ao final do array
+        if (this.tamanho == this.hashes.length) {
+            int capacidade = this.tamanho * 2;
+            this.inicios = Arrays.copyOf(this.inicios, capacidade + 1);
+            this.hashes = Arrays.copyOf(this.hashes, capacidade);
+            this.nomes = Arrays.copyOf(this.nomes, capacidade);
+        }
+
+        if (this.numBytes + tamanho > this.bytes.length) {
+            this.bytes = Arrays.copyOf(this.bytes, Math.max(this.bytes.length * 2, this.numBytes + tamanho));
+        }
+
+        System.arraycopy(dados, inicio, this.bytes, this.numBytes, tamanho);
+        this.numBytes += tamanho;
+
+        int id = this.tamanho++;
+        this.inicios[id + 1] = this.numBytes;
+        this.hashes[id] = hash;
+        this.tabela[posicao] = id + 1;
+
+        // Fator de carga máximo de 1/2
+        if (2 * this.tamanho > this.tabela.length) {
+            this.redimensionar();
+        }
+
+        return id;
+    }
+
+    /**
+     * Retorna o id de um nome, sem inseri-lo.
+     *
+     * @param nome Nome a ser procurado
+     * @return id Id do nome, ou -1 se não existir
+     */
+    public int getId(String nome) {
+        byte[] dados = nome.getBytes(CHARSET);
+
+        return this.getId(dados, 0, dados.length);
+    }
+
+    /**
+     * Retorna o id de um nome lido como bytes, sem inseri-lo.
+     *
+     * @param dados Array com os bytes do nome
+     * @param inicio Posição do primeiro byte do nome
+     * @param tamanho Quantidade de bytes do nome
+     * @return id Id do nome, ou -1 se não existir
+     */
+    public int getId(byte[] dados, int inicio, int tamanho) {
+        int posicao = this.procurar(hash(dados, inicio, tamanho), dados, inicio, tamanho);
+
+        return this.tabela[posicao] - 1;
+    }
+
+    /**
+     * Retorna o nome de um id.
+     *
+     * @param id Id a ser procurado
+     * @return nome Nome associado ao id
+     * @throws ArrayIndexOutOfBoundsException Em caso de id inexistente
+     */
+    public String getNome(int id) {
+        if (id < 0 || id >= this.tamanho) {
+            throw new ArrayIndexOutOfBoundsException("Id inexistente: " + id);
+        }
+
+        if (this.nomes[id] == null) {
+            this.nomes[id] = new String(this.bytes, this.inicios[id], this.inicios[id + 1] - this.inicios[id], CHARSET);
+        }
+
+        return this.nomes[id];
+    }
+
+    /**
+     * @return tamanho Quantidade de nomes na tabela
+     */
+    public int getTamanho() {
+        return this.tamanho;
+    }
+
+    /**
+     * Procura um nome na tabela de espalhamento (sondagem linear).
+     *
+     * @param hash Hash do nome
+     * @param dados Array com os bytes do nome
+     * @param inicio Posição do primeiro byte do nome
+     * @param tamanho Quantidade de bytes do nome
+     * @return posicao Posição do nome na tabela, ou da posição vazia onde ele seria inserido
+     */
+    private int procurar(int hash, byte[] dados, int inicio, int tamanho) {
+        int mascara = this.tabela.length - 1;
+        int posicao = hash & mascara;
+
+        while (this.tabela[posicao] != 0) {
+            int id = this.tabela[posicao] - 1;
+
+            if (this.hashes[id] == hash && Arrays.equals(this.bytes, this.inicios[id], this.inicios[id + 1],
+                    dados, inicio, inicio + tamanho)) {
+                return posicao;
+            }
+
+            posicao = (posicao + 1) & mascara;
+        }
+
+        return posicao;
+    }
+
+    /**
+     * Dobra a tabela de espalhamento, reinserindo os ids pelos
+     * hashes guardados (sem recalcular sobre os bytes).
+     */
+    private void redimensionar() {
+        int[] tabela = new int[this.tabela.length * 2];
+        int mascara = tabela.length - 1;
+
+        for (int id = 0; id < this.tamanho; id++) {
+            int posicao = this.hashes[id] & mascara;
+
+            while (tabela[posicao] != 0) {
+                posicao = (posicao + 1) & mascara;
+            }
+
+            tabela[posicao] = id + 1;
+        }
+
+        this.tabela = tabela;
+    }
+
+    /**
+     * Hash dos bytes de um nome (polinomial, como em String),
+     * com os bits altos misturados aos baixos, já que a posição
+     * na tabela utiliza apenas os bits baixos.
+     */
+    private static int hash(byte[] dados, int inicio, int tamanho) {
+        int hash = 0;
+
+        for (int i = inicio; i < inicio + tamanho; i++) {
+            hash = 31 * hash + dados[i];
+        }
+
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,180 @@
+/**
+ * Vetor de inteiros armazenado fora do heap, em ByteBuffers
+ * diretos ({@link ByteBuffer#allocateDirect}). Os elementos não
+ * são percorridos pelo coletor de lixo, de modo que grafos muito
+ * grandes não aumentam o heap nem as pausas de coleta.
+ *
+ * Os elementos ficam em blocos de até 2^26 inteiros (256 MB),
+ * contornando o limite de 2 GB de cada ByteBuffer. Enquanto o
+ * vetor cabe em um bloco, a capacidade dobra quando cheio; a
+ * partir daí, cada crescimento acrescenta um bloco novo, sem
+ * copiar os anteriores. A memória é zerada na alocação, e
+ * liberada quando o vetor deixa de ser referenciado.
+ *
+ * A memória fora do heap é limitada por -XX:MaxDirectMemorySize
+ * (por padrão, o mesmo valor de -Xmx).
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+public class VetorInteirosDireto {
+    // Inteiros por bloco (2^26 inteiros = 256 MB)
+    private static final int BITS_BLOCO = 26;
+    private static final int TAMANHO_BLOCO = 1 << BITS_BLOCO;
+    private static final int MASCARA_BLOCO = TAMANHO_BLOCO - 1;
+
+    // Capacidade inicial do vetor vazio
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    // Blocos de inteiros (apenas o último pode ter menos de TAMANHO_BLOCO)
+    private IntBuffer[] blocos;
+
+    // Quantidade de inteiros que cabem nos blocos alocados
+    private long capacidade;
+
+    // Quantidade de elementos do vetor
+    private int tamanho;
+
+    /**
+     * Construtor do vetor vazio.
+     */
+    public VetorInteirosDireto() {
+        this.blocos = new IntBuffer[0];
+        this.capacidade = 0;
+        this.tamanho = 0;
+
+        this.reservar(CAPACIDADE_INICIAL);
+    }
+
+    /**
+     * Construtor do vetor com tamanho fixo inicial, com todos os
+     * elementos iguais a 0.
+     *
+     * @param tamanho Quantidade de elementos
+     * @throws IllegalArgumentException Em caso de tamanho negativo
+     */
+    public VetorInteirosDireto(int tamanho) {
+        if (tamanho < 0) {
+            throw new IllegalArgumentException("Tamanho negativo: " + tamanho);
+        }
+
+        this.blocos = new IntBuffer[0];
+        this.capacidade = 0;
+        this.tamanho = 0;
+
+        this.reservar(Math.max(1, tamanho));
+        this.tamanho = tamanho;
+    }
+
+    /**
+     * Retorna um elemento.
+     *
+     * @param i Posição do elemento
+     * @return valor Elemento na posição i
+     * @throws IndexOutOfBoundsException Em caso de posição fora da capacidade
+     */
+    public int get(int i) {
+        return this.blocos[i >>> BITS_BLOCO].get(i & MASCARA_BLOCO);
+    }
+
+    /**
+     * Altera um elemento.
+     *
+     * @param i Posição do elemento
+     * @param valor Novo valor
+     * @throws IndexOutOfBoundsException Em caso de posição fora da capacidade
+     */
+    public void set(int i, int valor) {
+        this.blocos[i >>> BITS_BLOCO].put(i & MASCARA_BLOCO, valor);
+    }
+
+    /**
+     * Acrescenta um elemento ao final do vetor.
+     *
+     * @param valor Elemento a ser acrescentado
+     * @throws IllegalStateException Se o vetor já tiver Integer.MAX_VALUE elementos
+     */
+    public void adicionar(int valor) {
+        if (this.tamanho == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Vetor cheio");
+        }
+
+        if (this.tamanho == this.capacidade) {
+            this.reservar(this.tamanho + 1);
+        }
+
+        this.set(this.tamanho++, valor);
+    }
+
+    /**
+     * Altera todos os elementos do vetor para o mesmo valor.
+     *
+     * @param valor Novo valor dos elementos
+     */
+    public void preencher(int valor) {
+        for (int i = 0; i < this.tamanho; i++) {
+            this.set(i, valor);
+        }
+    }
+
+    /**
+     * @return tamanho Quantidade de elementos do vetor
+     */
+    public int getTamanho() {
+        return this.tamanho;
+    }
+
+    /**
+     * @return bytes Memória fora do heap reservada pelo vetor
+     */
+    public long getBytes() {
+        return this.capacidade * Integer.BYTES;
+    }
+
+    /**
+     * Garante capacidade para uma quantidade de elementos.
+     * Abaixo de um bloco, o único bloco é realocado com o dobro
+     * da capacidade; acima, blocos completos são acrescentados.
+     *
+     * @param minimo Quantidade mínima de elementos
+     */
+    private void reservar(long minimo) {
+        while (this.capacidade < minimo) {
+            if (this.capacidade < TAMANHO_BLOCO) {
+                int novaCapacidade = (int) Math.min(TAMANHO_BLOCO, Math.max(CAPACIDADE_INICIAL,
+                    Math.max(minimo, 2 * this.capacidade)));
+                IntBuffer bloco = alocar(novaCapacidade);
+
+                if (this.blocos.length > 0) {
+                    IntBuffer anterior = this.blocos[0].duplicate();
+                    anterior.clear();
+                    bloco.put(anterior);
+                    bloco.clear();
+                }
+
+                this.blocos = new IntBuffer[] { bloco };
+                this.capacidade = novaCapacidade;
+            } else {
+                this.blocos = Arrays.copyOf(this.blocos, this.blocos.length + 1);
+                this.blocos[this.blocos.length - 1] = alocar(TAMANHO_BLOCO);
+                this.capacidade += TAMANHO_BLOCO;
+            }
+        }
+    }
+
+    /**
+     * Aloca um bloco fora do heap, na ordem de bytes nativa.
+     *
+     * @param tamanho Quantidade de inteiros do bloco
+     * @return bloco Bloco zerado
+     */
+    private static IntBuffer alocar(int tamanho) {
+        return ByteBuffer.allocateDirect(tamanho * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+}
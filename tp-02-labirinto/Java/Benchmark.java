@@ -0,0 +1,61 @@
+/**
+ * Benchmark da busca do caminho do labirinto
+ * ({@link Labirinto#getCaminho()}) em labirintos sintéticos
+ * (ver {@link Geradores}): grade com passagens extras e
+ * labirinto aleatório, de 10³ vértices até o máximo informado,
+ * multiplicando por 10. Mostra vazão e taxa de alocação de cada
+ * tamanho (ver {@link Medidor}). Quando uma busca passa do
+ * limite do medidor, os tamanhos maiores daquele caso são ignorados.
+ *
+ * Uso: java -Xmx8g Benchmark [maximo] [semente]
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.1
+ */
+
+import java.io.PrintStream;
+
+public class Benchmark {
+    // Probabilidade das passagens extras da grade
+    private static final double PASSAGENS_EXTRAS = 0.1;
+
+    // Arestas por vértice do labirinto aleatório
+    private static final int ARESTAS_POR_VERTICE = 2;
+
+    public static void main(String[] args) throws Exception {
+        long maximo = (args.length > 0) ? Long.parseLong(args[0]) : 10_000_000;
+        long semente = (args.length > 1) ? Long.parseLong(args[1]) : 42;
+
+        // Criando PrintStream para escrita, com autoFlush
+        PrintStream out = new PrintStream(System.out, true);
+        Medidor medidor = new Medidor();
+
+        boolean grade = true;
+        boolean aleatorio = true;
+
+        out.println(Medidor.cabecalho());
+
+        for (long n = 1000; n <= maximo && (grade || aleatorio); n *= 10) {
+            if (grade) {
+                // Grade (quase) quadrada com cerca de n células
+                int largura = (int) Math.sqrt(n);
+                int altura = (int) (n / largura);
+
+                Labirinto labirinto = new Labirinto(largura * altura, false);
+                Geradores.grade(largura, altura, PASSAGENS_EXTRAS, semente, labirinto::inserir);
+
+                grade = medidor.medirCaso(out, "grade/largura", largura * altura, labirinto::getCaminho);
+            }
+
+            if (aleatorio) {
+                Labirinto labirinto = new Labirinto((int) n, false);
+                Geradores.aleatorio((int) n, ARESTAS_POR_VERTICE * n, semente, labirinto::inserir);
+
+                aleatorio = medidor.medirCaso(out, "aleatorio/largura", n, labirinto::getCaminho);
+            }
+
+            // Labirintos deste tamanho não são mais utilizados
+            System.gc();
+        }
+    }
+}
@@ -0,0 +1,387 @@
+/**
+ * Busca em largura paralela, síncrona por níveis, sobre um
+ * grafo no formato CSR ({@link Adjacencias}). Em grafos
+ * direcionados, o passo bottom-up utiliza o índice reverso
+ * (arcos de entrada de cada vértice).
+ * Os vértices visitados e a próxima fronteira são bitsets (um
+ * bit por vértice), e cada nível é processado em paralelo com
+ * fork-join.
+ *
+ * A cada nível a busca escolhe entre o passo top-down (cada
+ * vértice da fronteira visita seus adjacentes) e o passo
+ * bottom-up (cada vértice não visitado procura um adjacente
+ * na fronteira), conforme o tamanho da fronteira
+ * (direction-optimizing BFS, Beamer et al.).
+ *
+ * Os vértices de cada nível são guardados na mesma ordem em
+ * que seriam retirados da fila na busca sequencial, e o pai
+ * de cada vértice é o adjacente do nível anterior que vem
+ * primeiro nessa ordem. Assim, o array de pais é idêntico ao
+ * da busca sequencial, independentemente do número de threads.
+ *
+ * Uma instância não deve executar duas buscas ao mesmo tempo.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BuscaLarguraParalela {
+    // Valor nulo para pais dos vértices
+    private static final int NULO = Integer.MIN_VALUE;
+
+    // Parâmetros de troca entre os passos top-down e bottom-up
+    private static final int ALFA = 14;
+    private static final int BETA = 24;
+
+    // Quantidade de vértices da fronteira processados por tarefa (top-down)
+    private static final int VERTICES_POR_TAREFA = 1024;
+
+    // Quantidade de palavras (64 vértices cada) processadas por tarefa (bottom-up)
+    private static final int PALAVRAS_POR_TAREFA = 64;
+
+    // Acesso atômico aos arrays de bits e de pais
+    private static final VarHandle PALAVRAS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle PAIS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final Adjacencias grafo;
+    private final Adjacencias reverso;
+    private final ForkJoinPool pool;
+
+    // Estado da busca em andamento
+    private long[] visitados;
+    private long[] proxima;
+    private int[] pais;
+
+    // Vértices na ordem da busca sequencial, e a posição de cada um nela
+    private int[] fila;
+    private int[] posicoes;
+
+    // Intervalo da fila ocupado pela fronteira atual
+    private int inicioNivel;
+    private int fimNivel;
+
+    // Vértices descobertos no nível, ainda fora de ordem
+    private int[] novos;
+    private AtomicInteger numNovos;
+
+    /**
+     * Construtor da busca em um grafo não direcionado, utilizando
+     * o pool comum do fork-join.
+     *
+     * @param grafo Grafo a ser percorrido
+     */
+    public BuscaLarguraParalela(Adjacencias grafo) {
+        this(grafo, grafo, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construtor da busca em um grafo não direcionado.
+     *
+     * @param grafo Grafo a ser percorrido
+     * @param pool Pool de threads utilizado em cada nível
+     */
+    public BuscaLarguraParalela(Adjacencias grafo, ForkJoinPool pool) {
+        this(grafo, grafo, pool);
+    }
+
+    /**
+     * Construtor da busca.
+     *
+     * @param grafo Grafo a ser percorrido (arcos de saída)
+     * @param reverso Arcos de entrada de cada vértice (o próprio
+     *                grafo, se não for direcionado)
+     * @param pool Pool de threads utilizado em cada nível
+     */
+    public BuscaLarguraParalela(Adjacencias grafo, Adjacencias reverso, ForkJoinPool pool) {
+        this.grafo = grafo;
+        this.reverso = reverso;
+        this.pool = pool;
+    }
+
+    /**
+     * Executa a busca em largura a partir de um vértice, até
+     * que o destino seja alcançado ou todos os vértices
+     * alcançáveis sejam visitados.
+     *
+     * @param origem Vértice inicial da busca
+     * @param destino Vértice a ser alcançado, ou -1 para percorrer todo o grafo
+     * @return pais Pai de cada vértice (NULO para a origem e os não alcançados)
+     */
+    public int[] buscar(int origem, int destino) {
+        int numVertices = this.grafo.getNumVertices();
+        int numPalavras = (numVertices + 63) >>> 6;
+
+        this.visitados = new long[numPalavras];
+        this.proxima = new long[numPalavras];
+        this.pais = new int[numVertices];
+        this.fila = new int[numVertices];
+        this.posicoes = new int[numVertices];
+        this.novos = new int[numVertices];
+        this.numNovos = new AtomicInteger();
+
+        Arrays.fill(this.pais, NULO);
+
+        this.visitados[origem >>> 6] |= 1L << origem;
+        this.fila[0] = origem;
+        this.posicoes[origem] = 0;
+        this.inicioNivel = 0;
+        this.fimNivel = 1;
+
+        // Tamanho da fronteira em arcos, e arcos de vértices não visitados
+        long arcosFronteira = this.grau(origem);
+        long arcosRestantes = this.grafo.getNumArcos() - arcosFronteira;
+
+        boolean bottomUp = false;
+
+        while (this.fimNivel > this.inicioNivel) {
+            // Destino alcançado: seu pai já está definido
+            if (destino >= 0 && (this.visitados[destino >>> 6] & (1L << destino)) != 0) {
+                break;
+            }
+
+            int verticesFronteira = this.fimNivel - this.inicioNivel;
+
+            // Escolha da direção do passo (heurística de Beamer)
+            if (bottomUp == false && arcosFronteira > arcosRestantes / ALFA) {
+                bottomUp = true;
+            } else if (bottomUp && verticesFronteira < numVertices / BETA) {
+                bottomUp = false;
+            }
+
+            this.numNovos.set(0);
+
+            if (bottomUp) {
+                this.pool.invoke(new PassoBottomUp(0, numPalavras));
+            } else if (verticesFronteira <= VERTICES_POR_TAREFA) {
+                // Fronteira pequena: não compensa distribuir entre threads
+                new PassoTopDown(this.inicioNivel, this.fimNivel).compute();
+            } else {
+                this.pool.invoke(new PassoTopDown(this.inicioNivel, this.fimNivel));
+            }
+
+            arcosFronteira = this.consolidar();
+            arcosRestantes -= arcosFronteira;
+        }
+
+        int[] pais = this.pais;
+
+        this.visitados = null;
+        this.proxima = null;
+        this.pais = null;
+        this.fila = null;
+        this.posicoes = null;
+        this.novos = null;
+        this.numNovos = null;
+
+        return pais;
+    }
+
+    /**
+     * Insere os vértices descobertos no nível ao final da fila,
+     * ordenados pela posição do pai e, entre irmãos, por índice
+     * crescente, reproduzindo a ordem da busca sequencial. Os
+     * vértices passam a ser visitados e formam a nova fronteira.
+     *
+     * @return arcos Quantidade de arcos da nova fronteira
+     */
+    private long consolidar() {
+        int quantidade = this.numNovos.get();
+        int verticesNivel = this.fimNivel - this.inicioNivel;
+        int[] contagem = new int[verticesNivel + 1];
+        long arcos = 0;
+
+        // Ordena por índice; a ordenação por contagem a seguir é estável
+        Arrays.sort(this.novos, 0, quantidade);
+
+        // Ordenação por contagem pela posição do pai dentro do nível
+        for (int i = 0; i < quantidade; i++) {
+            int vertice = this.novos[i];
+            contagem[this.posicoes[this.pais[vertice]] - this.inicioNivel + 1]++;
+        }
+
+        for (int i = 0; i < verticesNivel; i++) {
+            contagem[i + 1] += contagem[i];
+        }
+
+        for (int i = 0; i < quantidade; i++) {
+            int vertice = this.novos[i];
+            int posicao = this.fimNivel + contagem[this.posicoes[this.pais[vertice]] - this.inicioNivel]++;
+
+            this.fila[posicao] = vertice;
+            this.posicoes[vertice] = posicao;
+
+            // Marca como visitado e limpa o bit da próxima fronteira
+            this.visitados[vertice >>> 6] |= 1L << vertice;
+            this.proxima[vertice >>> 6] = 0;
+            arcos += this.grau(vertice);
+        }
+
+        this.inicioNivel = this.fimNivel;
+        this.fimNivel += quantidade;
+
+        return arcos;
+    }
+
+    /**
+     * Retorna o grau (quantidade de arcos) de um vértice.
+     *
+     * @param vertice Vértice a ser analisado
+     * @return grau Quantidade de arcos do vértice
+     */
+    private int grau(int vertice) {
+        return this.grafo.fim(vertice) - this.grafo.inicio(vertice);
+    }
+
+    /**
+     * Copia os vértices descobertos por uma tarefa para o array
+     * compartilhado do nível, reservando o espaço de uma só vez.
+     *
+     * @param descobertos Vértices descobertos pela tarefa
+     * @param quantidade Quantidade de vértices descobertos
+     */
+    private void publicar(int[] descobertos, int quantidade) {
+        if (quantidade > 0) {
+            int posicao = this.numNovos.getAndAdd(quantidade);
+            System.arraycopy(descobertos, 0, this.novos, posicao, quantidade);
+        }
+    }
+
+    /**
+     * Passo top-down sobre um intervalo da fronteira: cada vértice
+     * marca seus adjacentes não visitados na próxima fronteira.
+     * Vários vértices podem alcançar o mesmo adjacente, então bits
+     * e pais são atualizados atomicamente, prevalecendo o pai que
+     * vem primeiro na fila.
+     */
+    private final class PassoTopDown extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int de;
+        private final int ate;
+
+        private PassoTopDown(int de, int ate) {
+            this.de = de;
+            this.ate = ate;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.ate - this.de > VERTICES_POR_TAREFA) {
+                int meio = (this.de + this.ate) >>> 1;
+                invokeAll(new PassoTopDown(this.de, meio), new PassoTopDown(meio, this.ate));
+                return;
+            }
+
+            int[] descobertos = new int[64];
+            int quantidade = 0;
+
+            for (int i = this.de; i < this.ate; i++) {
+                int vertice = fila[i];
+
+                for (int arco = grafo.inicio(vertice); arco < grafo.fim(vertice); arco++) {
+                    int adjacente = grafo.destino(arco);
+                    int indice = adjacente >>> 6;
+                    long bit = 1L << adjacente;
+
+                    // Visitados não muda durante o passo, leitura simples é segura
+                    if ((visitados[indice] & bit) != 0) {
+                        continue;
+                    }
+
+                    // Apenas quem acende o bit registra o vértice como descoberto
+                    if (((long) PALAVRAS.getAndBitwiseOr(proxima, indice, bit) & bit) == 0) {
+                        if (quantidade == descobertos.length) {
+                            descobertos = Arrays.copyOf(descobertos, quantidade * 2);
+                        }
+
+                        descobertos[quantidade++] = adjacente;
+                    }
+
+                    // Mantém como pai o vértice que vem primeiro na fila
+                    int pai = (int) PAIS.getVolatile(pais, adjacente);
+                    while ((pai == NULO || i < posicoes[pai])
+                            && PAIS.compareAndSet(pais, adjacente, pai, vertice) == false) {
+                        pai = (int) PAIS.getVolatile(pais, adjacente);
+                    }
+                }
+            }
+
+            publicar(descobertos, quantidade);
+        }
+    }
+
+    /**
+     * Passo bottom-up sobre um intervalo de palavras: cada vértice
+     * não visitado procura, entre seus adjacentes na fronteira, o
+     * que vem primeiro na fila. Cada palavra pertence a uma única
+     * tarefa, então nenhuma operação atômica é necessária.
+     */
+    private final class PassoBottomUp extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int de;
+        private final int ate;
+
+        private PassoBottomUp(int de, int ate) {
+            this.de = de;
+            this.ate = ate;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.ate - this.de > PALAVRAS_POR_TAREFA) {
+                int meio = (this.de + this.ate) >>> 1;
+                invokeAll(new PassoBottomUp(this.de, meio), new PassoBottomUp(meio, this.ate));
+                return;
+            }
+
+            int numVertices = grafo.getNumVertices();
+            int[] descobertos = new int[64];
+            int quantidade = 0;
+
+            for (int i = this.de; i < this.ate; i++) {
+                long livres = ~visitados[i];
+
+                // Descarta bits além do último vértice
+                if (((i + 1) << 6) > numVertices) {
+                    livres &= (1L << (numVertices & 63)) - 1;
+                }
+
+                for (; livres != 0; livres &= livres - 1) {
+                    int vertice = (i << 6) + Long.numberOfTrailingZeros(livres);
+                    int pai = NULO;
+
+                    for (int arco = reverso.inicio(vertice); arco < reverso.fim(vertice); arco++) {
+                        int adjacente = reverso.destino(arco);
+
+                        // Adjacente na fronteira: visitado e com posição no nível atual
+                        if ((visitados[adjacente >>> 6] & (1L << adjacente)) != 0
+                                && posicoes[adjacente] >= inicioNivel
+                                && (pai == NULO || posicoes[adjacente] < posicoes[pai])) {
+                            pai = adjacente;
+                        }
+                    }
+
+                    if (pai != NULO) {
+                        pais[vertice] = pai;
+
+                        if (quantidade == descobertos.length) {
+                            descobertos = Arrays.copyOf(descobertos, quantidade * 2);
+                        }
+
+                        descobertos[quantidade++] = vertice;
+                    }
+                }
+            }
+
+            publicar(descobertos, quantidade);
+        }
+    }
+}
@@ -0,0 +1,397 @@
+/**
+ * Busca em largura sobre um labirinto particionado em faixas de
+ * vértices (ver {@link Particionador}), com um processo
+ * trabalhador ({@link ParticaoLabirinto}) por partição, na mesma
+ * máquina. Para labirintos que não cabem no heap de uma única JVM:
+ * cada processo guarda apenas os arcos e os pais da sua faixa.
+ *
+ * O coordenador se comunica com os trabalhadores pelos pipes de
+ * entrada e saída padrão de cada processo. A busca é síncrona por
+ * níveis: a cada nível, os vértices alcançados são entregues à
+ * partição dona (ACEITAR), as chaves dos novos vértices são
+ * intercaladas para obter a ordem global do nível, e cada
+ * partição expande seus vértices (EXPANDIR), gerando as mensagens
+ * do próximo nível, que o coordenador repassa às partições donas.
+ * Todo o trabalho por arco é feito nos trabalhadores, em paralelo.
+ *
+ * O pai de cada vértice é o adjacente do nível anterior que vem
+ * primeiro na ordem da fila da busca sequencial, de modo que o
+ * caminho é o mesmo de {@link Labirinto#getCaminho()} para as
+ * mesmas arestas, independentemente do número de partições. O
+ * caminho é reconstruído seguindo os pais partição a partição
+ * (TRECHO): cada partição devolve o trecho dentro da sua faixa.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class BuscaParticionada implements AutoCloseable {
+    // Tempo de espera pelo término dos trabalhadores
+    private static final long ESPERA_FIM_MS = 10_000;
+
+    // Quantidade de vértices do labirinto e de partições
+    private final int numVertices;
+    private final int numParticoes;
+
+    // Vértices de cada partição
+    private final int tamanhoParticao;
+
+    // Processos trabalhadores e seus pipes
+    private final Process[] processos;
+    private final DataInputStream[] entradas;
+    private final DataOutputStream[] saidas;
+
+    // Quantidade total de arcos, informada pelos trabalhadores
+    private long numArcos;
+
+    // Mensagens (w, pai, posPai) do próximo nível, por partição dona
+    private final int[][] mensagens;
+    private final int[] tamanhosMensagens;
+
+    // Estatísticas da última busca
+    private int niveis;
+    private long numMensagens;
+
+    /**
+     * Construtor, que inicia um trabalhador por partição (com o
+     * mesmo classpath deste processo) e aguarda o carregamento
+     * de todas as partições.
+     *
+     * @param diretorio Diretório com os arquivos das partições
+     * @param opcoesJvm Opções da JVM dos trabalhadores (como -Xmx)
+     * @throws IOException Em caso de erro de leitura ou ao iniciar os processos
+     */
+    public BuscaParticionada(Path diretorio, List<String> opcoesJvm) throws IOException {
+        int[] cabecalho = ParticaoLabirinto.lerCabecalho(ParticaoLabirinto.getArquivo(diretorio, 0));
+
+        this.numVertices = cabecalho[0];
+        this.numParticoes = cabecalho[1];
+        this.tamanhoParticao = ParticaoLabirinto.getTamanhoParticao(this.numVertices, this.numParticoes);
+
+        this.processos = new Process[this.numParticoes];
+        this.entradas = new DataInputStream[this.numParticoes];
+        this.saidas = new DataOutputStream[this.numParticoes];
+        this.mensagens = new int[this.numParticoes][48];
+        this.tamanhosMensagens = new int[this.numParticoes];
+
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+
+        try {
+            for (int i = 0; i < this.numParticoes; i++) {
+                List<String> comando = new ArrayList<>();
+                comando.add(java);
+                comando.addAll(opcoesJvm);
+                comando.add("-cp");
+                comando.add(System.getProperty("java.class.path"));
+                comando.add("ParticaoLabirinto");
+                comando.add(ParticaoLabirinto.getArquivo(diretorio, i).toString());
+
+                // Erros dos trabalhadores vão para a saída de erro deste processo
+                this.processos[i] = new ProcessBuilder(comando)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+
+                this.entradas[i] = new DataInputStream(new BufferedInputStream(
+                    this.processos[i].getInputStream(), ParticaoLabirinto.TAMANHO_BUFFER));
+                this.saidas[i] = new DataOutputStream(new BufferedOutputStream(
+                    this.processos[i].getOutputStream(), ParticaoLabirinto.TAMANHO_BUFFER));
+            }
+
+            // Cada trabalhador informa seus arcos após carregar a partição
+            this.numArcos = 0;
+            for (int i = 0; i < this.numParticoes; i++) {
+                this.numArcos += this.entradas[i].readInt();
+            }
+        } catch (IOException e) {
+            for (Process processo : this.processos) {
+                if (processo != null) {
+                    processo.destroyForcibly();
+                }
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * @return numVertices Quantidade de vértices do labirinto
+     */
+    public int getNumVertices() {
+        return this.numVertices;
+    }
+
+    /**
+     * @return numParticoes Quantidade de partições (processos)
+     */
+    public int getNumParticoes() {
+        return this.numParticoes;
+    }
+
+    /**
+     * @return numArcos Quantidade de arcos de todas as partições
+     */
+    public long getNumArcos() {
+        return this.numArcos;
+    }
+
+    /**
+     * @return niveis Quantidade de níveis percorridos pela última busca
+     */
+    public int getNiveis() {
+        return this.niveis;
+    }
+
+    /**
+     * @return numMensagens Quantidade de mensagens de fronteira da última busca
+     */
+    public long getNumMensagens() {
+        return this.numMensagens;
+    }
+
+    /**
+     * Busca em largura da origem até o destino.
+     *
+     * @param origem Vértice inicial
+     * @param destino Vértice procurado
+     * @return caminho Caminho com menos arestas, ou vazio se não existir
+     * @throws IOException Em caso de erro de comunicação com os trabalhadores
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     */
+    public Caminho buscar(int origem, int destino) throws IOException {
+        if (origem < 0 || origem >= this.numVertices || destino < 0 || destino >= this.numVertices) {
+            throw new ArrayIndexOutOfBoundsException("Vértice inexistente: " + origem + ", " + destino);
+        }
+
+        for (DataOutputStream saida : this.saidas) {
+            saida.writeInt(ParticaoLabirinto.INICIAR);
+            saida.writeInt(destino);
+        }
+
+        // Primeiro nível: apenas a origem, sem pai
+        Arrays.fill(this.tamanhosMensagens, 0);
+        this.adicionarMensagem(origem, ParticaoLabirinto.NULO, 0);
+
+        this.niveis = 0;
+        this.numMensagens = 0;
+
+        // Quantidade de novos vértices e chaves de cada partição no nível
+        int[] novos = new int[this.numParticoes];
+        long[][] chaves = new long[this.numParticoes][];
+
+        while (true) {
+            // Entrega dos vértices alcançados às partições donas
+            for (int i = 0; i < this.numParticoes; i++) {
+                DataOutputStream saida = this.saidas[i];
+                int[] mensagens = this.mensagens[i];
+
+                saida.writeInt(ParticaoLabirinto.ACEITAR);
+                saida.writeInt(this.tamanhosMensagens[i] / 3);
+
+                for (int j = 0; j < this.tamanhosMensagens[i]; j++) {
+                    saida.writeInt(mensagens[j]);
+                }
+
+                saida.flush();
+            }
+
+            boolean encontrou = false;
+            long total = 0;
+
+            for (int i = 0; i < this.numParticoes; i++) {
+                DataInputStream entrada = this.entradas[i];
+
+                // A partição que alcançou o destino não envia chaves
+                boolean encontrouParticao = (entrada.readInt() != 0);
+                novos[i] = entrada.readInt();
+                total += novos[i];
+
+                chaves[i] = new long[encontrouParticao ? 0 : novos[i]];
+
+                for (int j = 0; j < chaves[i].length; j++) {
+                    chaves[i][j] = entrada.readLong();
+                }
+
+                encontrou |= encontrouParticao;
+            }
+
+            // Destino alcançado: seu pai não muda mais
+            if (encontrou) {
+                break;
+            }
+
+            // Nenhum vértice novo: destino inalcançável
+            if (total == 0) {
+                return new Caminho(0);
+            }
+
+            this.niveis++;
+
+            // Posições globais do nível, enviadas junto do pedido de expansão
+            int[][] posicoes = this.intercalar(chaves);
+
+            for (int i = 0; i < this.numParticoes; i++) {
+                DataOutputStream saida = this.saidas[i];
+
+                saida.writeInt(ParticaoLabirinto.EXPANDIR);
+
+                for (int posicao : posicoes[i]) {
+                    saida.writeInt(posicao);
+                }
+
+                saida.flush();
+            }
+
+            // Mensagens do próximo nível, agrupadas pela partição dona
+            Arrays.fill(this.tamanhosMensagens, 0);
+
+            for (int i = 0; i < this.numParticoes; i++) {
+                DataInputStream entrada = this.entradas[i];
+
+                for (int particao = 0; particao < this.numParticoes; particao++) {
+                    int quantidade = entrada.readInt();
+                    this.numMensagens += quantidade;
+
+                    for (int j = 0; j < quantidade; j++) {
+                        this.adicionarMensagem(entrada.readInt(), entrada.readInt(), entrada.readInt());
+                    }
+                }
+            }
+        }
+
+        return this.reconstruir(destino);
+    }
+
+    /**
+     * Intercala as chaves (ordenadas) de cada partição, atribuindo
+     * a cada uma sua posição na ordem global do nível. As partições
+     * são mantidas em um heap pela sua menor chave ainda não
+     * posicionada.
+     *
+     * @param chaves Chaves de cada partição, em ordem crescente
+     * @return posicoes Posição global de cada chave, por partição
+     */
+    private int[][] intercalar(long[][] chaves) {
+        int[][] posicoes = new int[this.numParticoes][];
+        int[] proximas = new int[this.numParticoes];
+        HeapIndexado heap = new HeapIndexado(this.numParticoes);
+
+        for (int i = 0; i < this.numParticoes; i++) {
+            posicoes[i] = new int[chaves[i].length];
+
+            if (chaves[i].length > 0) {
+                heap.inserirOuDiminuir(i, chaves[i][0]);
+            }
+        }
+
+        int posicao = 0;
+
+        while (heap.isEmpty() == false) {
+            int i = heap.removerMinimo();
+            posicoes[i][proximas[i]++] = posicao++;
+
+            if (proximas[i] < chaves[i].length) {
+                heap.inserirOuDiminuir(i, chaves[i][proximas[i]]);
+            }
+        }
+
+        return posicoes;
+    }
+
+    /**
+     * Reconstrói o caminho até o destino, pedindo a cada partição
+     * o trecho dentro da sua faixa, até a raiz.
+     *
+     * @param destino Último vértice do caminho
+     * @return caminho Caminho da origem até o destino
+     * @throws IOException Em caso de erro de comunicação com os trabalhadores
+     */
+    private Caminho reconstruir(int destino) throws IOException {
+        Caminho caminho = new Caminho();
+
+        for (int vertice = destino; vertice != ParticaoLabirinto.NULO; ) {
+            int particao = vertice / this.tamanhoParticao;
+            DataOutputStream saida = this.saidas[particao];
+            DataInputStream entrada = this.entradas[particao];
+
+            saida.writeInt(ParticaoLabirinto.TRECHO);
+            saida.writeInt(vertice);
+            saida.flush();
+
+            int quantidade = entrada.readInt();
+            for (int i = 0; i < quantidade; i++) {
+                caminho.adicionar(entrada.readInt());
+            }
+
+            vertice = entrada.readInt();
+        }
+
+        // Trechos recebidos do destino para a origem
+        caminho.inverter();
+
+        return caminho;
+    }
+
+    /**
+     * Acrescenta uma mensagem (w, pai, posPai) para a partição dona de w.
+     */
+    private void adicionarMensagem(int vertice, int pai, int posicaoPai) {
+        int particao = vertice / this.tamanhoParticao;
+        int tamanho = this.tamanhosMensagens[particao];
+
+        if (tamanho + 3 > this.mensagens[particao].length) {
+            this.mensagens[particao] = Arrays.copyOf(this.mensagens[particao], this.mensagens[particao].length * 2);
+        }
+
+        this.mensagens[particao][tamanho] = vertice;
+        this.mensagens[particao][tamanho + 1] = pai;
+        this.mensagens[particao][tamanho + 2] = posicaoPai;
+        this.tamanhosMensagens[particao] = tamanho + 3;
+    }
+
+    /**
+     * Encerra os trabalhadores (comando FIM), aguardando o término
+     * de cada processo.
+     *
+     * @throws IOException Em caso de erro de comunicação com os trabalhadores
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            for (DataOutputStream saida : this.saidas) {
+                saida.writeInt(ParticaoLabirinto.FIM);
+                saida.close();
+            }
+        } finally {
+            this.encerrar();
+        }
+    }
+
+    /**
+     * Aguarda o término dos processos, destruindo os que não
+     * terminarem a tempo.
+     */
+    private void encerrar() {
+        for (Process processo : this.processos) {
+            try {
+                if (processo.waitFor(ESPERA_FIM_MS, TimeUnit.MILLISECONDS) == false) {
+                    processo.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                processo.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/**
+ * Caminho do labirinto, armazenado em um array de int (sem
+ * objetos por vértice). Os caminhos montados a partir de um
+ * array de pais têm o tamanho exato: o array é percorrido uma
+ * vez para contar os vértices e outra para preenchê-los de trás
+ * para frente, sem inserções no início de uma lista.
+ *
+ * A escrita das arestas ("a --> b") formata os números direto
+ * em um buffer de caracteres, que é repassado ao Writer de uma
+ * só vez, sem concatenação de Strings.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+public class Caminho {
+    // Valor nulo para pais dos vértices
+    private static final int NULO = Integer.MIN_VALUE;
+
+    // Separador entre dois vértices do caminho
+    private static final char[] SEPARADOR = " --> ".toCharArray();
+
+    // Fim de linha da plataforma (o mesmo de println)
+    private static final char[] FIM_LINHA = System.lineSeparator().toCharArray();
+
+    // Vértices do caminho, do primeiro ao último
+    private int[] vertices;
+
+    // Quantidade de vértices do caminho
+    private int tamanho;
+
+    /**
+     * Construtor de um caminho vazio.
+     */
+    public Caminho() {
+        this(16);
+    }
+
+    /**
+     * Construtor de um caminho vazio, com capacidade inicial.
+     *
+     * @param capacidade Quantidade de vértices prevista
+     * @throws IllegalArgumentException Em caso de capacidade negativa
+     */
+    public Caminho(int capacidade) {
+        if (capacidade < 0) {
+            throw new IllegalArgumentException("Capacidade negativa: " + capacidade);
+        }
+
+        this.vertices = new int[capacidade];
+        this.tamanho = 0;
+    }
+
+    /**
+     * Reconstrói o caminho até um vértice, percorrendo o array
+     * de pais a partir dele. Não verifica a raiz: um destino não
+     * alcançado resultaria em um caminho com apenas ele, então o
+     * acesso é pela versão com origem.
+     *
+     * @param pais Pai de cada vértice (Integer.MIN_VALUE para a raiz)
+     * @param destino Último vértice do caminho
+     * @return caminho Caminho da raiz até o destino
+     */
+    private static Caminho daArvore(int[] pais, int destino) {
+        // Contando os vértices até a raiz
+        int tamanho = 0;
+
+        for (int vertice = destino; vertice != NULO; vertice = pais[vertice]) {
+            tamanho++;
+        }
+
+        // Preenchendo do último para o primeiro
+        Caminho caminho = new Caminho(tamanho);
+        int i = tamanho;
+
+        for (int vertice = destino; vertice != NULO; vertice = pais[vertice]) {
+            caminho.vertices[--i] = vertice;
+        }
+
+        caminho.tamanho = tamanho;
+
+        return caminho;
+    }
+
+    /**
+     * Reconstrói o caminho de uma origem até um vértice, percorrendo
+     * o array de pais a partir dele. Se a raiz alcançada não for
+     * a origem (destino não alcançado pela busca), retorna um
+     * caminho vazio, e não um caminho com apenas o destino.
+     *
+     * @param pais Pai de cada vértice (Integer.MIN_VALUE para a raiz)
+     * @param origem Primeiro vértice esperado do caminho
+     * @param destino Último vértice do caminho
+     * @return caminho Caminho da origem até o destino, ou vazio se não existir
+     */
+    public static Caminho daArvore(int[] pais, int origem, int destino) {
+        // Raiz da árvore que contém o destino
+        int raiz = destino;
+
+        while (pais[raiz] != NULO) {
+            raiz = pais[raiz];
+        }
+
+        if (raiz != origem) {
+            return new Caminho(0);
+        }
+
+        return daArvore(pais, destino);
+    }
+
+    /**
+     * Reconstrói o caminho de uma origem até um vértice, como em
+     * {@link #daArvore(int[], int, int)}, a partir de pais
+     * armazenados fora do heap.
+     *
+     * @param pais Pai de cada vértice (Integer.MIN_VALUE para a raiz)
+     * @param origem Primeiro vértice esperado do caminho
+     * @param destino Último vértice do caminho
+     * @return caminho Caminho da origem até o destino, ou vazio se não existir
+     */
+    public static Caminho daArvore(VetorInteirosDireto pais, int origem, int destino) {
+        // Contando os vértices até a raiz
+        int tamanho = 1;
+        int raiz = destino;
+
+        while (pais.get(raiz) != NULO) {
+            raiz = pais.get(raiz);
+            tamanho++;
+        }
+
+        if (raiz != origem) {
+            return new Caminho(0);
+        }
+
+        // Preenchendo do último para o primeiro
+        Caminho caminho = new Caminho(tamanho);
+        int i = tamanho;
+
+        for (int vertice = destino; vertice != NULO; vertice = pais.get(vertice)) {
+            caminho.vertices[--i] = vertice;
+        }
+
+        caminho.tamanho = tamanho;
+
+        return caminho;
+    }
+
+    /**
+     * Acrescenta um vértice ao final do caminho.
+     *
+     * @param vertice Próximo vértice do caminho
+     */
+    public void adicionar(int vertice) {
+        if (this.tamanho == this.vertices.length) {
+            this.vertices = Arrays.copyOf(this.vertices, Math.max(16, this.tamanho * 2));
+        }
+
+        this.vertices[this.tamanho++] = vertice;
+    }
+
+    /**
+     * Inverte a ordem dos vértices, para caminhos montados do
+     * último vértice para o primeiro.
+     */
+    public void inverter() {
+        for (int i = 0, j = this.tamanho - 1; i < j; i++, j--) {
+            int temp = this.vertices[i];
+            this.vertices[i] = this.vertices[j];
+            this.vertices[j] = temp;
+        }
+    }
+
+    /**
+     * @return tamanho Quantidade de vértices do caminho
+     */
+    public int getTamanho() {
+        return this.tamanho;
+    }
+
+    /**
+     * Verifica se o caminho está vazio, o que indica que o
+     * destino não é alcançável a partir da origem.
+     *
+     * @return true se o caminho não tiver vértices
+     */
+    public boolean isVazio() {
+        return this.tamanho == 0;
+    }
+
+    /**
+     * Retorna um vértice do caminho.
+     *
+     * @param i Posição do vértice no caminho
+     * @return vertice Vértice na posição i
+     * @throws ArrayIndexOutOfBoundsException Em caso de posição inexistente
+     */
+    public int getVertice(int i) {
+        if (i < 0 || i >= this.tamanho) {
+            throw new ArrayIndexOutOfBoundsException("Posição inexistente: " + i);
+        }
+
+        return this.vertices[i];
+    }
+
+    /**
+     * @return vertices Cópia dos vértices do caminho, em ordem
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(this.vertices, this.tamanho);
+    }
+
+    /**
+     * Escreve uma linha "a --> b" para cada aresta do caminho.
+     * Um caminho com um único vértice não escreve nada.
+     *
+     * @param out Saída (bufferizada) das arestas
+     */
+    public void escreverArestas(PrintWriter out) {
+        // Maior linha: dois int com sinal, separador e fim de linha
+        char[] linha = new char[22 + SEPARADOR.length + FIM_LINHA.length];
+
+        for (int i = 0; i < this.tamanho - 1; i++) {
+            int fim = escreverNumero(linha, 0, this.vertices[i]);
+            fim = escrever(linha, fim, SEPARADOR);
+            fim = escreverNumero(linha, fim, this.vertices[i + 1]);
+            fim = escrever(linha, fim, FIM_LINHA);
+
+            out.write(linha, 0, fim);
+        }
+    }
+
+    /**
+     * Escreve o caminho inteiro em uma única linha "a --> b --> c".
+     *
+     * @param out Saída (bufferizada) do caminho
+     */
+    public void escreverLinha(PrintWriter out) {
+        char[] trecho = new char[11 + SEPARADOR.length];
+
+        for (int i = 0; i < this.tamanho; i++) {
+            int fim = (i > 0) ? escrever(trecho, 0, SEPARADOR) : 0;
+            fim = escreverNumero(trecho, fim, this.vertices[i]);
+
+            out.write(trecho, 0, fim);
+        }
+
+        out.write(FIM_LINHA, 0, FIM_LINHA.length);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder();
+
+        for (int i = 0; i < this.tamanho; i++) {
+            if (i > 0) {
+                texto.append(" --> ");
+            }
+            texto.append(this.vertices[i]);
+        }
+
+        return texto.toString();
+    }
+
+    /**
+     * Copia caracteres para o buffer.
+     *
+     * @param buffer Buffer de destino
+     * @param posicao Primeira posição livre do buffer
+     * @param texto Caracteres a serem copiados
+     * @return posicao Primeira posição livre após a cópia
+     */
+    private static int escrever(char[] buffer, int posicao, char[] texto) {
+        System.arraycopy(texto, 0, buffer, posicao, texto.length);
+
+        return posicao + texto.length;
+    }
+
+    /**
+     * Escreve os dígitos decimais de um número no buffer.
+     *
+     * @param buffer Buffer de destino (pelo menos 11 posições livres)
+     * @param posicao Primeira posição livre do buffer
+     * @param numero Número a ser escrito
+     * @return posicao Primeira posição livre após o número
+     */
+    private static int escreverNumero(char[] buffer, int posicao, int numero) {
+        // Valor absoluto em long, válido também para Integer.MIN_VALUE
+        long valor = numero;
+
+        if (valor < 0) {
+            buffer[posicao++] = '-';
+            valor = -valor;
+        }
+
+        // Quantidade de dígitos
+        int digitos = 1;
+        for (long limite = 10; limite <= valor; limite *= 10) {
+            digitos++;
+        }
+
+        // Dígitos escritos do menos para o mais significativo
+        for (int i = posicao + digitos - 1; i >= posicao; i--) {
+            buffer[i] = (char) ('0' + (valor % 10));
+            valor /= 10;
+        }
+
+        return posicao + digitos;
+    }
+}
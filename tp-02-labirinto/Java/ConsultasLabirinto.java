@@ -0,0 +1,167 @@
+/**
+ * Serviço de consultas de caminhos sobre um mesmo labirinto:
+ * o labirinto é carregado uma única vez e cada consulta
+ * (origem, destino) é respondida a partir da árvore de caminhos
+ * mínimos da origem. As árvores mais recentes são mantidas em
+ * uma cache LRU de capacidade limitada, de modo que consultas
+ * repetidas a partir da mesma origem não refazem a busca.
+ *
+ * Cada árvore ocupa um inteiro por vértice: a capacidade deve
+ * ser escolhida de acordo com o tamanho do labirinto.
+ *
+ * Uma consulta cujo destino não é alcançável a partir da origem
+ * resulta em um caminho vazio (e não em um caminho com apenas o
+ * destino), contado nas estatísticas como caminho inexistente.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ConsultasLabirinto {
+    // Labirinto consultado
+    private final Labirinto labirinto;
+
+    // Árvores por custo (Dijkstra) ao invés de número de arestas
+    private final boolean ponderado;
+
+    // Árvores de caminhos por origem, em ordem de acesso (LRU)
+    private final LinkedHashMap<Integer, int[]> arvores;
+
+    // Versão do labirinto na qual as árvores foram calculadas
+    private int versao;
+
+    // Estatísticas da cache
+    private long acertos;
+    private long falhas;
+    private long remocoes;
+
+    // Consultas sem caminho (destino inalcançável)
+    private long inexistentes;
+
+    /**
+     * Construtor do serviço.
+     *
+     * @param labirinto Labirinto a ser consultado
+     * @param capacidade Quantidade máxima de árvores na cache
+     * @param ponderado true para caminhos de menor custo (Dijkstra),
+     *                  false para caminhos com menos arestas
+     * @throws IllegalArgumentException Em caso de capacidade não positiva
+     */
+    public ConsultasLabirinto(Labirinto labirinto, final int capacidade, boolean ponderado) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade da cache deve ser positiva: " + capacidade);
+        }
+
+        this.labirinto = labirinto;
+        this.ponderado = ponderado;
+        this.versao = labirinto.getVersao();
+        this.acertos = 0;
+        this.falhas = 0;
+        this.remocoes = 0;
+
+        // Remove a árvore acessada há mais tempo quando a cache excede a capacidade
+        this.arvores = new LinkedHashMap<Integer, int[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, int[]> maisAntiga) {
+                if (size() > capacidade) {
+                    ConsultasLabirinto.this.remocoes++;
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Caminho mínimo entre dois vértices quaisquer do labirinto.
+     *
+     * @param origem Primeiro vértice do caminho
+     * @param destino Último vértice do caminho
+     * @return caminho Caminho da origem até o destino, ou vazio se não existir
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     */
+    public Caminho getCaminho(int origem, int destino) {
+        Caminho caminho = this.labirinto.getCaminho(this.getArvore(origem), origem, destino);
+
+        if (caminho.isVazio()) {
+            this.inexistentes++;
+        }
+
+        return caminho;
+    }
+
+    /**
+     * Retorna a árvore de caminhos de uma origem, calculando-a
+     * apenas se ela não estiver na cache.
+     *
+     * @param origem Raiz da árvore
+     * @return pais Pai de cada vértice na árvore
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     */
+    private int[] getArvore(int origem) {
+        // Labirinto modificado: árvores antigas não valem mais
+        if (this.versao != this.labirinto.getVersao()) {
+            this.arvores.clear();
+            this.versao = this.labirinto.getVersao();
+        }
+
+        int[] arvore = this.arvores.get(origem);
+
+        if (arvore != null) {
+            this.acertos++;
+            return arvore;
+        }
+
+        this.falhas++;
+
+        arvore = this.ponderado ? this.labirinto.getArvorePonderada(origem) : this.labirinto.getArvore(origem);
+        this.arvores.put(origem, arvore);
+
+        return arvore;
+    }
+
+    /**
+     * @return acertos Consultas respondidas por árvores da cache
+     */
+    public long getAcertos() {
+        return this.acertos;
+    }
+
+    /**
+     * @return falhas Consultas que precisaram de uma nova busca
+     */
+    public long getFalhas() {
+        return this.falhas;
+    }
+
+    /**
+     * @return remocoes Árvores descartadas por falta de capacidade
+     */
+    public long getRemocoes() {
+        return this.remocoes;
+    }
+
+    /**
+     * @return inexistentes Consultas cujo destino não é alcançável
+     */
+    public long getInexistentes() {
+        return this.inexistentes;
+    }
+
+    /**
+     * Resumo das estatísticas da cache.
+     *
+     * @return estatisticas Acertos, falhas, taxa de acerto, remoções e caminhos inexistentes
+     */
+    public String getEstatisticas() {
+        long consultas = this.acertos + this.falhas;
+        double taxa = (consultas == 0) ? 0 : 100.0 * this.acertos / consultas;
+
+        return String.format("Consultas: %d, acertos: %d, falhas: %d (%.1f%% de acerto), remoções: %d, "
+            + "caminhos inexistentes: %d", consultas, this.acertos, this.falhas, taxa, this.remocoes, this.inexistentes);
+    }
+}
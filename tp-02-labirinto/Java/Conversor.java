@@ -0,0 +1,37 @@
+/**
+ * Conversor do labirinto do formato texto (o mesmo lido por
+ * Main: digrafo, número de vértices, arestas "origem,destino,peso"
+ * e FIM) para o formato binário de {@link GrafoCsrMapeado}.
+ *
+ * Uso: java Conversor saida.lab < entrada.in
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+public class Conversor {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Uso: java Conversor saida.lab < entrada.in");
+        }
+
+        // Criando leitor de bytes para leitura da entrada padrão
+        LeitorBytes in = new LeitorBytes(System.in);
+
+        // Lendo boolean de dígrafo e número de vértices
+        boolean digrafo = in.lerBooleano();
+        int numVertices = in.lerInteiro();
+
+        // Criando grafo e lendo arestas até FIM
+        Labirinto labirinto = new Labirinto(numVertices, digrafo);
+        in.lerArestas(labirinto::inserir);
+
+        in.close();
+
+        // Gravando grafo compactado no formato binário
+        labirinto.salvar(Paths.get(args[0]));
+    }
+}
@@ -0,0 +1,263 @@
+/**
+ * Distâncias entre todos os pares de vértices do labirinto, para
+ * labirintos pequenos e médios (alguns milhares de vértices).
+ * Cada linha da matriz é calculada por uma busca a partir do
+ * vértice da linha (largura ou Dijkstra), e as buscas são
+ * distribuídas entre as threads com fork-join. Em labirintos
+ * esparsos, V buscas custam O(V E log V), bem menos que os O(V³)
+ * do Floyd-Warshall.
+ *
+ * As matrizes são guardadas linha a linha em arrays únicos: a
+ * distância (int) e o pai do destino na árvore da busca a partir
+ * da origem (char, 16 bits), ocupando 6 bytes por par. Cada busca
+ * escreve apenas a sua linha. Um caminho é reconstruído apenas
+ * pela linha da sua origem: com arestas de peso zero, empates são
+ * resolvidos de formas diferentes em cada árvore, e combinar
+ * linhas de origens diferentes poderia formar um ciclo.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.1
+ */
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class DistanciasTodosPares {
+    // Maior quantidade de vértices (pai em 16 bits)
+    public static final int MAXIMO_VERTICES = 0xFFFE;
+
+    // Distância de pares sem caminho
+    private static final int INFINITO = Integer.MAX_VALUE;
+
+    // Pai da origem e de vértices não alcançados
+    private static final char SEM_PAI = 0xFFFF;
+
+    // Quantidade de origens processadas por tarefa
+    private static final int ORIGENS_POR_TAREFA = 8;
+
+    private final Adjacencias grafo;
+    private final boolean ponderado;
+    private final int numVertices;
+
+    // Distância e pai do destino de cada par (origem * numVertices + destino)
+    private final int[] distancias;
+    private final char[] pais;
+
+    /**
+     * Construtor, que calcula todas as linhas utilizando o pool
+     * comum do fork-join.
+     *
+     * @param grafo Grafo no formato CSR
+     * @param ponderado true para custo pela soma dos pesos, false
+     *                  para custo pelo número de arestas
+     * @throws IllegalArgumentException Se o labirinto for grande demais para as matrizes
+     * @throws IllegalStateException Em caso de aresta com peso negativo
+     */
+    public DistanciasTodosPares(Adjacencias grafo, boolean ponderado) {
+        this(grafo, ponderado, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construtor, que calcula todas as linhas.
+     *
+     * @param grafo Grafo no formato CSR
+     * @param ponderado true para custo pela soma dos pesos, false
+     *                  para custo pelo número de arestas
+     * @param pool Pool de threads utilizado nas buscas
+     * @throws IllegalArgumentException Se o labirinto for grande demais para as matrizes
+     * @throws IllegalStateException Em caso de aresta com peso negativo
+     */
+    public DistanciasTodosPares(Adjacencias grafo, boolean ponderado, ForkJoinPool pool) {
+        int n = grafo.getNumVertices();
+
+        if (n > MAXIMO_VERTICES || (long) n * n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Labirinto grande demais para todos os pares: " + n);
+        }
+
+        this.grafo = grafo;
+        this.ponderado = ponderado;
+        this.numVertices = n;
+        this.distancias = new int[n * n];
+        this.pais = new char[n * n];
+
+        pool.invoke(new Linhas(0, n));
+    }
+
+    /**
+     * Distância entre dois vértices, em tempo constante.
+     *
+     * @param origem Primeiro vértice
+     * @param destino Último vértice
+     * @return distancia Custo do caminho mínimo, ou Long.MAX_VALUE se não houver caminho
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     */
+    public long getDistancia(int origem, int destino) {
+        int distancia = this.distancias[this.posicao(origem, destino)];
+
+        return (distancia == INFINITO) ? Long.MAX_VALUE : distancia;
+    }
+
+    /**
+     * Caminho mínimo entre dois vértices, seguindo os pais da linha
+     * da origem do destino até a origem. Assim como
+     * {@link Labirinto#getCaminho()}, um destino inalcançável
+     * (distância infinita) resulta em um caminho vazio.
+     *
+     * @param origem Primeiro vértice do caminho
+     * @param destino Último vértice do caminho
+     * @return caminho Caminho da origem até o destino, ou vazio se não existir
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     */
+    public Caminho getCaminho(int origem, int destino) {
+        if (this.distancias[this.posicao(origem, destino)] == INFINITO) {
+            return new Caminho(0);
+        }
+
+        int linha = origem * this.numVertices;
+        Caminho caminho = new Caminho();
+
+        for (int vertice = destino; vertice != origem; vertice = this.pais[linha + vertice]) {
+            caminho.adicionar(vertice);
+        }
+
+        caminho.adicionar(origem);
+        caminho.inverter();
+
+        return caminho;
+    }
+
+    /**
+     * Posição de um par nas matrizes.
+     *
+     * @param origem Vértice da linha
+     * @param destino Vértice da coluna
+     * @return posicao Posição do par
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     */
+    private int posicao(int origem, int destino) {
+        if (origem < 0 || origem >= this.numVertices || destino < 0 || destino >= this.numVertices) {
+            throw new ArrayIndexOutOfBoundsException("Vértice inexistente: " + origem + ", " + destino);
+        }
+
+        return origem * this.numVertices + destino;
+    }
+
+    /**
+     * Cálculo de um intervalo de linhas, dividido ao meio até
+     * ORIGENS_POR_TAREFA origens. Cada tarefa folha aloca seus
+     * próprios arrays de busca, reaproveitados entre suas origens.
+     */
+    private final class Linhas extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int de;
+        private final int ate;
+
+        private Linhas(int de, int ate) {
+            this.de = de;
+            this.ate = ate;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.ate - this.de > ORIGENS_POR_TAREFA) {
+                int meio = (this.de + this.ate) >>> 1;
+                invokeAll(new Linhas(this.de, meio), new Linhas(meio, this.ate));
+                return;
+            }
+
+            // Fila da busca em largura, ou custos e heap do Dijkstra
+            int[] fila = ponderado ? null : new int[numVertices];
+            long[] custos = ponderado ? new long[numVertices] : null;
+            HeapIndexado heap = ponderado ? new HeapIndexado(numVertices) : null;
+
+            for (int origem = this.de; origem < this.ate; origem++) {
+                int linha = origem * numVertices;
+
+                for (int v = 0; v < numVertices; v++) {
+                    distancias[linha + v] = INFINITO;
+                    pais[linha + v] = SEM_PAI;
+                }
+
+                if (ponderado) {
+                    this.dijkstra(origem, custos, heap);
+                } else {
+                    this.largura(origem, fila);
+                }
+            }
+        }
+
+        /**
+         * Busca em largura a partir da origem, preenchendo a linha
+         * de distâncias (número de arestas) e de pais.
+         */
+        private void largura(int origem, int[] fila) {
+            int linha = origem * numVertices;
+            int inicio = 0;
+            int fim = 0;
+
+            distancias[linha + origem] = 0;
+            fila[fim++] = origem;
+
+            while (inicio < fim) {
+                int vertice = fila[inicio++];
+
+                for (int arco = grafo.inicio(vertice); arco < grafo.fim(vertice); arco++) {
+                    int adjacente = grafo.destino(arco);
+
+                    if (distancias[linha + adjacente] == INFINITO) {
+                        distancias[linha + adjacente] = distancias[linha + vertice] + 1;
+                        pais[linha + adjacente] = (char) vertice;
+                        fila[fim++] = adjacente;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Dijkstra a partir da origem, preenchendo a linha de
+         * distâncias (soma dos pesos) e de pais.
+         *
+         * @throws IllegalStateException Em caso de aresta com peso negativo
+         * @throws ArithmeticException Se alguma distância não couber em um int
+         */
+        private void dijkstra(int origem, long[] custos, HeapIndexado heap) {
+            int linha = origem * numVertices;
+
+            for (int v = 0; v < numVertices; v++) {
+                custos[v] = Long.MAX_VALUE;
+            }
+
+            custos[origem] = 0;
+            heap.inserirOuDiminuir(origem, 0);
+
+            while (heap.isEmpty() == false) {
+                int vertice = heap.removerMinimo();
+
+                if (custos[vertice] >= INFINITO) {
+                    throw new ArithmeticException("Distância maior que um int: " + origem + ", " + vertice);
+                }
+
+                distancias[linha + vertice] = (int) custos[vertice];
+
+                for (int arco = grafo.inicio(vertice); arco < grafo.fim(vertice); arco++) {
+                    int adjacente = grafo.destino(arco);
+                    int peso = grafo.peso(arco);
+
+                    if (peso < 0) {
+                        throw new IllegalStateException("Aresta com peso negativo: " + vertice + ", " + adjacente);
+                    }
+
+                    long custo = custos[vertice] + peso;
+
+                    // Vértices já definidos (na linha) não são relaxados novamente
+                    if (custo < custos[adjacente] && distancias[linha + adjacente] == INFINITO) {
+                        custos[adjacente] = custo;
+                        pais[linha + adjacente] = (char) vertice;
+                        heap.inserirOuDiminuir(adjacente, custo);
+                    }
+                }
+            }
+        }
+    }
+}
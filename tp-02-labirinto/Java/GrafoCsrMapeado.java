@@ -0,0 +1,203 @@
+/**
+ * Grafo CSR lido diretamente de um arquivo binário mapeado em
+ * memória ({@link FileChannel#map}): as buscas acessam as
+ * páginas do arquivo, sem interpretação de texto e sem cópia
+ * dos arrays para o heap.
+ *
+ * Formato do arquivo (inteiros de 32 bits, little-endian):
+ * <pre>
+ * cabeçalho  -> MAGICO, VERSAO, opções, numVertices, numArcos
+ * inicio     -> numVertices + 1 inteiros (posição do primeiro arco)
+ * destinos   -> numArcos inteiros
+ * pesos      -> numArcos inteiros
+ * </pre>
+ * As opções indicam se o grafo é um dígrafo (bit DIGRAFO); caso
+ * contrário, cada aresta aparece como dois arcos.
+ * Cada seção é mapeada separadamente, limitada a 2 GB
+ * (cerca de 536 milhões de arcos).
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class GrafoCsrMapeado implements Adjacencias {
+    // Identificação do formato ("LABI")
+    public static final int MAGICO = 0x4C414249;
+    public static final int VERSAO = 1;
+
+    // Bit das opções que indica um dígrafo (arcos de um único sentido)
+    public static final int DIGRAFO = 1;
+
+    // Tamanho do cabeçalho, em bytes
+    private static final int CABECALHO = 5 * Integer.BYTES;
+
+    // Seções do arquivo
+    private final IntBuffer inicio;
+    private final IntBuffer destinos;
+    private final IntBuffer pesos;
+
+    private final int numVertices;
+    private final int numArcos;
+    private final boolean digrafo;
+
+    /**
+     * Construtor do grafo, que mapeia o arquivo em memória. O
+     * mapeamento permanece válido após o fechamento do canal.
+     *
+     * @param arquivo Arquivo no formato binário do labirinto
+     * @throws IOException Em caso de erro de leitura ou formato inválido
+     */
+    public GrafoCsrMapeado(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            if (canal.size() < CABECALHO) {
+                throw new IOException("Arquivo não está no formato do labirinto: " + arquivo);
+            }
+
+            IntBuffer cabecalho = mapear(canal, FileChannel.MapMode.READ_ONLY, 0, CABECALHO);
+
+            if (cabecalho.get(0) != MAGICO) {
+                throw new IOException("Arquivo não está no formato do labirinto: " + arquivo);
+            }
+
+            if (cabecalho.get(1) != VERSAO) {
+                throw new IOException("Versão do formato não suportada: " + cabecalho.get(1));
+            }
+
+            this.digrafo = (cabecalho.get(2) & DIGRAFO) != 0;
+            this.numVertices = cabecalho.get(3);
+            this.numArcos = cabecalho.get(4);
+
+            if (this.numVertices < 0 || this.numArcos < 0) {
+                throw new IOException("Cabeçalho inválido: " + arquivo);
+            }
+
+            long posicao = CABECALHO;
+            long tamanhoInicio = (long) (this.numVertices + 1) * Integer.BYTES;
+            long tamanhoArcos = (long) this.numArcos * Integer.BYTES;
+
+            if (canal.size() != posicao + tamanhoInicio + 2 * tamanhoArcos) {
+                throw new IOException("Tamanho do arquivo não confere com o cabeçalho: " + arquivo);
+            }
+
+            this.inicio = mapear(canal, FileChannel.MapMode.READ_ONLY, posicao, tamanhoInicio);
+            posicao += tamanhoInicio;
+
+            this.destinos = mapear(canal, FileChannel.MapMode.READ_ONLY, posicao, tamanhoArcos);
+            posicao += tamanhoArcos;
+
+            this.pesos = mapear(canal, FileChannel.MapMode.READ_ONLY, posicao, tamanhoArcos);
+        }
+    }
+
+    /**
+     * Grava um grafo no formato binário, mapeando o arquivo de
+     * saída em memória.
+     *
+     * @param grafo Grafo a ser gravado
+     * @param digrafo true se os arcos tiverem um único sentido
+     * @param arquivo Arquivo de destino (sobrescrito se existir)
+     * @throws IOException Em caso de erro de escrita
+     */
+    public static void salvar(Adjacencias grafo, boolean digrafo, Path arquivo) throws IOException {
+        int numVertices = grafo.getNumVertices();
+        int numArcos = grafo.getNumArcos();
+
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+            IntBuffer cabecalho = mapear(canal, FileChannel.MapMode.READ_WRITE, 0, CABECALHO);
+            cabecalho.put(MAGICO).put(VERSAO).put(digrafo ? DIGRAFO : 0).put(numVertices).put(numArcos);
+
+            long posicao = CABECALHO;
+            long tamanhoInicio = (long) (numVertices + 1) * Integer.BYTES;
+            long tamanhoArcos = (long) numArcos * Integer.BYTES;
+
+            IntBuffer inicio = mapear(canal, FileChannel.MapMode.READ_WRITE, posicao, tamanhoInicio);
+            for (int v = 0; v < numVertices; v++) {
+                inicio.put(grafo.inicio(v));
+            }
+            inicio.put(numArcos);
+            posicao += tamanhoInicio;
+
+            IntBuffer destinos = mapear(canal, FileChannel.MapMode.READ_WRITE, posicao, tamanhoArcos);
+            posicao += tamanhoArcos;
+
+            IntBuffer pesos = mapear(canal, FileChannel.MapMode.READ_WRITE, posicao, tamanhoArcos);
+
+            for (int arco = 0; arco < numArcos; arco++) {
+                destinos.put(grafo.destino(arco));
+                pesos.put(grafo.peso(arco));
+            }
+        }
+    }
+
+    /**
+     * Mapeia uma seção do arquivo como inteiros little-endian.
+     *
+     * @param canal Canal do arquivo
+     * @param modo Modo de mapeamento
+     * @param posicao Posição inicial da seção, em bytes
+     * @param tamanho Tamanho da seção, em bytes
+     * @return buffer Visão de inteiros da seção
+     * @throws IOException Em caso de erro de mapeamento
+     */
+    private static IntBuffer mapear(FileChannel canal, FileChannel.MapMode modo, long posicao, long tamanho)
+        throws IOException {
+
+        if (tamanho > Integer.MAX_VALUE) {
+            throw new IOException("Seção do arquivo maior que 2 GB");
+        }
+
+        MappedByteBuffer buffer = canal.map(modo, posicao, tamanho);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        return buffer.asIntBuffer();
+    }
+
+    /**
+     * Verifica se o grafo gravado é um dígrafo.
+     *
+     * @return true se os arcos tiverem um único sentido
+     */
+    public boolean isDigrafo() {
+        return this.digrafo;
+    }
+
+    @Override
+    public int getNumVertices() {
+        return this.numVertices;
+    }
+
+    @Override
+    public int getNumArcos() {
+        return this.numArcos;
+    }
+
+    @Override
+    public int inicio(int vertice) {
+        return this.inicio.get(vertice);
+    }
+
+    @Override
+    public int fim(int vertice) {
+        return this.inicio.get(vertice + 1);
+    }
+
+    @Override
+    public int destino(int arco) {
+        return this.destinos.get(arco);
+    }
+
+    @Override
+    public int peso(int arco) {
+        return this.pesos.get(arco);
+    }
+}
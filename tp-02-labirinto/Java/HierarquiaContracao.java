@@ -0,0 +1,1055 @@
+/**
+ * Índice de hierarquia de contração (contraction hierarchies,
+ * Geisberger et al.) para consultas repetidas de caminho mínimo
+ * entre dois vértices quaisquer do labirinto.
+ *
+ * No pré-processamento, os vértices são contraídos um a um, em
+ * ordem de importância (diferença de arestas): ao remover um
+ * vértice, atalhos são criados entre seus vizinhos sempre que o
+ * caminho mínimo passava por ele. Cada vértice recebe um nível
+ * (sua posição na ordem de contração), e o índice guarda apenas
+ * os arcos que sobem de nível.
+ *
+ * As buscas de testemunha são limitadas pela quantidade de
+ * vértices assentados e de arcos, e a contração para quando os
+ * vértices restantes ficam densos (labirintos aleatórios): esse
+ * núcleo ocupa os últimos níveis e guarda todos os arcos entre
+ * seus vértices.
+ *
+ * Uma consulta é um Dijkstra bidirecional que só sobe de nível
+ * nas duas direções (no núcleo, um Dijkstra bidirecional comum),
+ * visitando uma pequena fração dos vértices.
+ * Os atalhos do caminho encontrado são expandidos por meio do
+ * vértice intermediário de cada um.
+ *
+ * O índice pode ser gravado em disco (inteiros de 32 bits,
+ * little-endian):
+ * <pre>
+ * cabeçalho -> MAGICO, VERSAO, opções, numVertices, numArcosSubida,
+ *              numArcosDescida, numAtalhos
+ * niveis    -> numVertices inteiros
+ * subida    -> inicio (numVertices + 1), destinos, pesos, meios
+ * descida   -> inicio (numVertices + 1), origens, pesos, meios
+ * </pre>
+ * As opções indicam se o custo é a soma dos pesos (bit PONDERADO)
+ * ou o número de arestas.
+ *
+ * Labirintos não direcionados também guardam a descida: como as
+ * buscas de testemunha são limitadas, os atalhos criados nos dois
+ * sentidos de um par de vizinhos nem sempre coincidem.
+ *
+ * As consultas reaproveitam os arrays da busca anterior: uma
+ * instância não deve executar duas consultas ao mesmo tempo.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.1
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class HierarquiaContracao {
+    // Identificação do formato ("LABH")
+    public static final int MAGICO = 0x4C414248;
+    public static final int VERSAO = 1;
+
+    // Bit das opções que indica custo pela soma dos pesos
+    public static final int PONDERADO = 1;
+
+    // Tamanho do cabeçalho, em bytes
+    private static final int CABECALHO = 7 * Integer.BYTES;
+
+    // Quantidade máxima de vértices assentados por busca de testemunha,
+    // na contração e na estimativa de prioridade
+    private static final int LIMITE_ASSENTADOS = 500;
+    private static final int LIMITE_SIMULACAO = 50;
+
+    // Quantidade máxima de arcos dos caminhos testemunha, na contração
+    // e na estimativa de prioridade
+    private static final int LIMITE_SALTOS = 5;
+    private static final int SALTOS_SIMULACAO = 2;
+
+    // Grau médio (arcos de saída por vértice) a partir do qual os
+    // vértices restantes formam o núcleo, que não é contraído
+    private static final int GRAU_NUCLEO = 16;
+
+    // Valor nulo para pais dos vértices
+    private static final int NULO = Integer.MIN_VALUE;
+
+    // Meio de um arco original (não é atalho)
+    private static final int SEM_MEIO = -1;
+
+    private final int numVertices;
+    private final boolean ponderado;
+    private final int numAtalhos;
+
+    // Posição de cada vértice na ordem de contração
+    private final int[] niveis;
+
+    // Arcos v -> w com nível de w maior (busca a partir da origem)
+    private final int[] inicioSubida;
+    private final int[] destinosSubida;
+    private final int[] pesosSubida;
+    private final int[] meiosSubida;
+
+    // Arcos u -> v com nível de u maior, guardados em v (busca a partir do destino)
+    private final int[] inicioDescida;
+    private final int[] destinosDescida;
+    private final int[] pesosDescida;
+    private final int[] meiosDescida;
+
+    // Estado das consultas, alocado na primeira consulta
+    private long[] distanciasOrigem;
+    private long[] distanciasDestino;
+    private int[] paisOrigem;
+    private int[] paisDestino;
+    private int[] arcosOrigem;
+    private int[] arcosDestino;
+    private HeapIndexado heapOrigem;
+    private HeapIndexado heapDestino;
+    private int[] tocados;
+    private int numTocados;
+
+    /**
+     * Construtor a partir das estruturas já calculadas.
+     */
+    private HierarquiaContracao(int numVertices, boolean ponderado, int numAtalhos, int[] niveis,
+            int[][] subida, int[][] descida) {
+
+        this.numVertices = numVertices;
+        this.ponderado = ponderado;
+        this.numAtalhos = numAtalhos;
+        this.niveis = niveis;
+        this.inicioSubida = subida[0];
+        this.destinosSubida = subida[1];
+        this.pesosSubida = subida[2];
+        this.meiosSubida = subida[3];
+        this.inicioDescida = descida[0];
+        this.destinosDescida = descida[1];
+        this.pesosDescida = descida[2];
+        this.meiosDescida = descida[3];
+    }
+
+    /**
+     * Constrói a hierarquia de um grafo (pré-processamento).
+     *
+     * @param grafo Grafo no formato CSR (nos dois sentidos, se não for dígrafo)
+     * @param ponderado true para custo pela soma dos pesos, false
+     *                  para custo pelo número de arestas
+     * @return hierarquia Índice pronto para consultas
+     * @throws IllegalStateException Em caso de aresta com peso negativo
+     */
+    public static HierarquiaContracao construir(Adjacencias grafo, boolean ponderado) {
+        Contracao contracao = new Contracao(grafo, ponderado);
+        contracao.contrairTodos();
+
+        int[][] subida = contracao.compactar(contracao.saidaVertices, contracao.saidaPesos,
+            contracao.saidaMeios, contracao.numSaida);
+        int[][] descida = contracao.compactar(contracao.entradaVertices, contracao.entradaPesos,
+            contracao.entradaMeios, contracao.numEntrada);
+
+        return new HierarquiaContracao(grafo.getNumVertices(), ponderado, contracao.numAtalhos,
+            contracao.niveis, subida, descida);
+    }
+
+    /**
+     * Carrega um índice gravado por {@link #salvar(Path)}.
+     *
+     * @param arquivo Arquivo do índice
+     * @return hierarquia Índice pronto para consultas
+     * @throws IOException Em caso de erro de leitura ou formato inválido
+     */
+    public static HierarquiaContracao carregar(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            if (canal.size() < CABECALHO) {
+                throw new IOException("Arquivo não é um índice do labirinto: " + arquivo);
+            }
+
+            int[] cabecalho = ler(canal, 0, 7);
+
+            if (cabecalho[0] != MAGICO) {
+                throw new IOException("Arquivo não é um índice do labirinto: " + arquivo);
+            }
+
+            if (cabecalho[1] != VERSAO) {
+                throw new IOException("Versão do formato não suportada: " + cabecalho[1]);
+            }
+
+            boolean ponderado = (cabecalho[2] & PONDERADO) != 0;
+            int numVertices = cabecalho[3];
+            int numArcosSubida = cabecalho[4];
+            int numArcosDescida = cabecalho[5];
+
+            if (numVertices < 0 || numArcosSubida < 0 || numArcosDescida < 0) {
+                throw new IOException("Cabeçalho inválido: " + arquivo);
+            }
+
+            long tamanho = CABECALHO + (long) Integer.BYTES * (numVertices
+                + 2L * (numVertices + 1) + 3L * numArcosSubida + 3L * numArcosDescida);
+
+            if (canal.size() != tamanho) {
+                throw new IOException("Tamanho do arquivo não confere com o cabeçalho: " + arquivo);
+            }
+
+            long posicao = CABECALHO;
+            int[] niveis = ler(canal, posicao, numVertices);
+            posicao += (long) numVertices * Integer.BYTES;
+
+            int[][] subida = lerArcos(canal, posicao, numVertices, numArcosSubida);
+            posicao += (long) Integer.BYTES * ((numVertices + 1) + 3L * numArcosSubida);
+
+            int[][] descida = lerArcos(canal, posicao, numVertices, numArcosDescida);
+
+            return new HierarquiaContracao(numVertices, ponderado, cabecalho[6], niveis, subida, descida);
+        }
+    }
+
+    /**
+     * Grava o índice em um arquivo.
+     *
+     * @param arquivo Arquivo de destino (sobrescrito se existir)
+     * @throws IOException Em caso de erro de escrita
+     */
+    public void salvar(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            int[] cabecalho = {MAGICO, VERSAO, this.ponderado ? PONDERADO : 0, this.numVertices,
+                this.destinosSubida.length, this.destinosDescida.length, this.numAtalhos};
+
+            gravar(canal, cabecalho);
+            gravar(canal, this.niveis);
+            gravar(canal, this.inicioSubida);
+            gravar(canal, this.destinosSubida);
+            gravar(canal, this.pesosSubida);
+            gravar(canal, this.meiosSubida);
+            gravar(canal, this.inicioDescida);
+            gravar(canal, this.destinosDescida);
+            gravar(canal, this.pesosDescida);
+            gravar(canal, this.meiosDescida);
+        }
+    }
+
+    /**
+     * Grava um array de inteiros little-endian no canal, em blocos.
+     *
+     * @param canal Canal do arquivo
+     * @param dados Inteiros a serem gravados
+     * @throws IOException Em caso de erro de escrita
+     */
+    private static void gravar(FileChannel canal, int[] dados) throws IOException {
+        ByteBuffer bloco = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        IntBuffer inteiros = bloco.asIntBuffer();
+
+        for (int i = 0; i < dados.length; i += inteiros.capacity()) {
+            int quantidade = Math.min(inteiros.capacity(), dados.length - i);
+
+            inteiros.clear();
+            inteiros.put(dados, i, quantidade);
+
+            bloco.clear();
+            bloco.limit(quantidade * Integer.BYTES);
+
+            while (bloco.hasRemaining()) {
+                canal.write(bloco);
+            }
+        }
+    }
+
+    /**
+     * Lê inteiros little-endian de uma seção do arquivo, mapeada
+     * em memória, copiando-os para um array.
+     *
+     * @param canal Canal do arquivo
+     * @param posicao Posição inicial da seção, em bytes
+     * @param quantidade Quantidade de inteiros
+     * @return dados Inteiros lidos
+     * @throws IOException Em caso de erro de leitura
+     */
+    private static int[] ler(FileChannel canal, long posicao, int quantidade) throws IOException {
+        int[] dados = new int[quantidade];
+
+        if (quantidade > 0) {
+            if ((long) quantidade * Integer.BYTES > Integer.MAX_VALUE) {
+                throw new IOException("Seção do arquivo maior que 2 GB");
+            }
+
+            canal.map(FileChannel.MapMode.READ_ONLY, posicao, (long) quantidade * Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(dados);
+        }
+
+        return dados;
+    }
+
+    /**
+     * Lê um conjunto de arcos (início, destinos, pesos e meios).
+     *
+     * @param canal Canal do arquivo
+     * @param posicao Posição inicial do conjunto, em bytes
+     * @param numVertices Quantidade de vértices
+     * @param numArcos Quantidade de arcos
+     * @return arcos Arrays de início, destinos, pesos e meios
+     * @throws IOException Em caso de erro de leitura
+     */
+    private static int[][] lerArcos(FileChannel canal, long posicao, int numVertices, int numArcos)
+        throws IOException {
+
+        int[][] arcos = new int[4][];
+        arcos[0] = ler(canal, posicao, numVertices + 1);
+        posicao += (long) (numVertices + 1) * Integer.BYTES;
+
+        for (int i = 1; i < 4; i++) {
+            arcos[i] = ler(canal, posicao, numArcos);
+            posicao += (long) numArcos * Integer.BYTES;
+        }
+
+        return arcos;
+    }
+
+    /**
+     * Verifica se o custo dos caminhos é a soma dos pesos.
+     *
+     * @return true para soma dos pesos, false para número de arestas
+     */
+    public boolean isPonderado() {
+        return this.ponderado;
+    }
+
+    /**
+     * Retorna a quantidade de atalhos criados no pré-processamento.
+     *
+     * @return numAtalhos Quantidade de atalhos
+     */
+    public int getNumAtalhos() {
+        return this.numAtalhos;
+    }
+
+    /**
+     * Retorna a quantidade de arcos guardados no índice.
+     *
+     * @return numArcos Arcos de subida e de descida
+     */
+    public int getNumArcos() {
+        return this.destinosSubida.length + this.destinosDescida.length;
+    }
+
+    /**
+     * Retorna o tamanho do índice gravado em disco.
+     *
+     * @return tamanho Tamanho, em bytes
+     */
+    public long getTamanhoBytes() {
+        long inteiros = 7 + this.numVertices + 2L * (this.numVertices + 1)
+            + 3L * (this.destinosSubida.length + this.destinosDescida.length);
+
+        return inteiros * Integer.BYTES;
+    }
+
+    /**
+     * Retorna a quantidade de vértices alcançados pela última
+     * consulta, nas duas direções.
+     *
+     * @return visitados Vértices tocados pela última consulta
+     */
+    public int getVisitados() {
+        return this.numTocados;
+    }
+
+    /**
+     * Custo do caminho mínimo entre dois vértices.
+     *
+     * @param origem Primeiro vértice do caminho
+     * @param destino Último vértice do caminho
+     * @return distancia Custo do caminho, ou Long.MAX_VALUE se não houver caminho
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     */
+    public long getDistancia(int origem, int destino) {
+        int encontro = this.buscar(origem, destino);
+
+        return (encontro == NULO) ? Long.MAX_VALUE
+            : this.distanciasOrigem[encontro] + this.distanciasDestino[encontro];
+    }
+
+    /**
+     * Caminho mínimo entre dois vértices, com os atalhos expandidos.
+     * Assim como {@link Labirinto#getCaminho()}, um destino
+     * inalcançável resulta em um caminho vazio.
+     *
+     * @param origem Primeiro vértice do caminho
+     * @param destino Último vértice do caminho
+     * @return caminho Caminho da origem até o destino, ou vazio se não existir
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     */
+    public Caminho getCaminho(int origem, int destino) {
+        int encontro = this.buscar(origem, destino);
+
+        if (encontro == NULO) {
+            return new Caminho(0);
+        }
+
+        Caminho caminho = new Caminho();
+
+        // Vértices da busca a partir da origem, do encontro até a origem
+        int[] subida = new int[16];
+        int tamanhoSubida = 0;
+
+        for (int vertice = encontro; vertice != NULO; vertice = this.paisOrigem[vertice]) {
+            if (tamanhoSubida == subida.length) {
+                subida = Arrays.copyOf(subida, tamanhoSubida * 2);
+            }
+
+            subida[tamanhoSubida++] = vertice;
+        }
+
+        // Trecho da origem até o encontro, expandindo cada arco
+        caminho.adicionar(origem);
+        for (int i = tamanhoSubida - 1; i > 0; i--) {
+            int vertice = subida[i - 1];
+            this.expandir(subida[i], vertice, this.meiosSubida[this.arcosOrigem[vertice]], caminho);
+        }
+
+        // Trecho do encontro até o destino, seguindo a busca reversa
+        for (int vertice = encontro; this.paisDestino[vertice] != NULO; vertice = this.paisDestino[vertice]) {
+            int arco = this.arcosDestino[vertice];
+            this.expandir(vertice, this.paisDestino[vertice], this.meiosDescida[arco], caminho);
+        }
+
+        return caminho;
+    }
+
+    /**
+     * Expande o arco origem -> destino, acrescentando ao caminho os
+     * vértices após a origem, até o destino (inclusive). Um atalho
+     * com meio m equivale aos arcos origem -> m (guardado na descida
+     * de m) e m -> destino (guardado na subida de m). A expansão
+     * utiliza uma pilha, sem recursão.
+     *
+     * @param origem Origem do arco
+     * @param destino Destino do arco
+     * @param meio Vértice intermediário do atalho, ou SEM_MEIO
+     * @param caminho Caminho a ser completado
+     */
+    private void expandir(int origem, int destino, int meio, Caminho caminho) {
+        // Pilha de arcos (origem, destino, meio) ainda não expandidos
+        int[] pilha = new int[48];
+        int topo = 0;
+
+        pilha[topo++] = origem;
+        pilha[topo++] = destino;
+        pilha[topo++] = meio;
+
+        while (topo > 0) {
+            int m = pilha[--topo];
+            int b = pilha[--topo];
+            int a = pilha[--topo];
+
+            if (m == SEM_MEIO) {
+                caminho.adicionar(b);
+                continue;
+            }
+
+            if (topo + 6 > pilha.length) {
+                pilha = Arrays.copyOf(pilha, pilha.length * 2);
+            }
+
+            // Empilha m -> b antes de a -> m, para expandir a -> m primeiro
+            pilha[topo++] = m;
+            pilha[topo++] = b;
+            pilha[topo++] = this.meiosSubida[this.procurar(this.inicioSubida, this.destinosSubida, m, b)];
+
+            pilha[topo++] = a;
+            pilha[topo++] = m;
+            pilha[topo++] = this.meiosDescida[this.procurar(this.inicioDescida, this.destinosDescida, m, a)];
+        }
+    }
+
+    /**
+     * Procura, entre os arcos de um vértice, aquele que liga ao
+     * vértice informado.
+     *
+     * @param inicio Início dos arcos de cada vértice
+     * @param destinos Vértice ligado por cada arco
+     * @param vertice Vértice dono dos arcos
+     * @param procurado Vértice procurado
+     * @return arco Posição do arco
+     * @throws IllegalStateException Se o arco não existir (índice inconsistente)
+     */
+    private int procurar(int[] inicio, int[] destinos, int vertice, int procurado) {
+        for (int arco = inicio[vertice]; arco < inicio[vertice + 1]; arco++) {
+            if (destinos[arco] == procurado) {
+                return arco;
+            }
+        }
+
+        throw new IllegalStateException("Índice inconsistente: arco " + vertice + ", " + procurado);
+    }
+
+    /**
+     * Dijkstra bidirecional sobre os arcos que sobem de nível (e os
+     * arcos do núcleo). A busca de cada lado para quando sua menor
+     * distância não é melhor que o melhor encontro.
+     *
+     * @param origem Vértice inicial
+     * @param destino Vértice final
+     * @return encontro Vértice de encontro do caminho mínimo, ou NULO
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     */
+    private int buscar(int origem, int destino) {
+        if (origem < 0 || origem >= this.numVertices || destino < 0 || destino >= this.numVertices) {
+            throw new ArrayIndexOutOfBoundsException("Vértice inexistente: " + origem + ", " + destino);
+        }
+
+        this.preparar();
+
+        this.tocar(origem);
+        this.distanciasOrigem[origem] = 0;
+        this.tocar(destino);
+        this.distanciasDestino[destino] = 0;
+        this.heapOrigem.inserirOuDiminuir(origem, 0);
+        this.heapDestino.inserirOuDiminuir(destino, 0);
+
+        long melhor = Long.MAX_VALUE;
+        int encontro = NULO;
+
+        while (true) {
+            boolean continuarOrigem = this.heapOrigem.isEmpty() == false
+                && this.heapOrigem.getChaveMinima() < melhor;
+            boolean continuarDestino = this.heapDestino.isEmpty() == false
+                && this.heapDestino.getChaveMinima() < melhor;
+
+            if (continuarOrigem == false && continuarDestino == false) {
+                break;
+            }
+
+            // Avança o lado de menor distância
+            boolean ladoOrigem = continuarOrigem && (continuarDestino == false
+                || this.heapOrigem.getChaveMinima() <= this.heapDestino.getChaveMinima());
+
+            HeapIndexado heap = ladoOrigem ? this.heapOrigem : this.heapDestino;
+            long[] distancias = ladoOrigem ? this.distanciasOrigem : this.distanciasDestino;
+            long[] distanciasOutra = ladoOrigem ? this.distanciasDestino : this.distanciasOrigem;
+            int[] pais = ladoOrigem ? this.paisOrigem : this.paisDestino;
+            int[] arcosPais = ladoOrigem ? this.arcosOrigem : this.arcosDestino;
+            int[] inicio = ladoOrigem ? this.inicioSubida : this.inicioDescida;
+            int[] destinos = ladoOrigem ? this.destinosSubida : this.destinosDescida;
+            int[] pesos = ladoOrigem ? this.pesosSubida : this.pesosDescida;
+
+            int vertice = heap.removerMinimo();
+
+            // Vértice alcançado pelas duas buscas: candidato a encontro
+            if (distanciasOutra[vertice] != Long.MAX_VALUE
+                    && distancias[vertice] + distanciasOutra[vertice] < melhor) {
+                melhor = distancias[vertice] + distanciasOutra[vertice];
+                encontro = vertice;
+            }
+
+            for (int arco = inicio[vertice]; arco < inicio[vertice + 1]; arco++) {
+                int adjacente = destinos[arco];
+                long distancia = distancias[vertice] + pesos[arco];
+
+                if (distancia < distancias[adjacente]) {
+                    if (this.distanciasOrigem[adjacente] == Long.MAX_VALUE
+                            && this.distanciasDestino[adjacente] == Long.MAX_VALUE) {
+                        this.tocar(adjacente);
+                    }
+
+                    distancias[adjacente] = distancia;
+                    pais[adjacente] = vertice;
+                    arcosPais[adjacente] = arco;
+                    heap.inserirOuDiminuir(adjacente, distancia);
+                }
+            }
+        }
+
+        return encontro;
+    }
+
+    /**
+     * Aloca o estado das consultas (na primeira vez) ou desfaz as
+     * alterações da consulta anterior, apenas nos vértices tocados.
+     */
+    private void preparar() {
+        if (this.tocados == null) {
+            this.distanciasOrigem = new long[this.numVertices];
+            this.distanciasDestino = new long[this.numVertices];
+            this.paisOrigem = new int[this.numVertices];
+            this.paisDestino = new int[this.numVertices];
+            this.arcosOrigem = new int[this.numVertices];
+            this.arcosDestino = new int[this.numVertices];
+            this.heapOrigem = new HeapIndexado(this.numVertices);
+            this.heapDestino = new HeapIndexado(this.numVertices);
+            this.tocados = new int[this.numVertices];
+
+            Arrays.fill(this.distanciasOrigem, Long.MAX_VALUE);
+            Arrays.fill(this.distanciasDestino, Long.MAX_VALUE);
+            Arrays.fill(this.paisOrigem, NULO);
+            Arrays.fill(this.paisDestino, NULO);
+        } else {
+            for (int i = 0; i < this.numTocados; i++) {
+                int vertice = this.tocados[i];
+                this.distanciasOrigem[vertice] = Long.MAX_VALUE;
+                this.distanciasDestino[vertice] = Long.MAX_VALUE;
+                this.paisOrigem[vertice] = NULO;
+                this.paisDestino[vertice] = NULO;
+            }
+
+            while (this.heapOrigem.isEmpty() == false) {
+                this.heapOrigem.removerMinimo();
+            }
+
+            while (this.heapDestino.isEmpty() == false) {
+                this.heapDestino.removerMinimo();
+            }
+        }
+
+        this.numTocados = 0;
+    }
+
+    /**
+     * Registra um vértice alterado pela consulta atual.
+     *
+     * @param vertice Vértice tocado
+     */
+    private void tocar(int vertice) {
+        if (this.distanciasOrigem[vertice] == Long.MAX_VALUE && this.distanciasDestino[vertice] == Long.MAX_VALUE) {
+            this.tocados[this.numTocados++] = vertice;
+        }
+    }
+
+    /**
+     * Estado do pré-processamento: grafo dinâmico (listas de arcos
+     * de saída e de entrada de cada vértice, com atalhos), fila de
+     * prioridade da contração e buscas de testemunha.
+     */
+    private static final class Contracao {
+        private final int numVertices;
+
+        // Arcos de saída de cada vértice: destino, peso e meio
+        private final int[][] saidaVertices;
+        private final int[][] saidaPesos;
+        private final int[][] saidaMeios;
+        private final int[] numSaida;
+
+        // Arcos de entrada de cada vértice: origem, peso e meio
+        private final int[][] entradaVertices;
+        private final int[][] entradaPesos;
+        private final int[][] entradaMeios;
+        private final int[] numEntrada;
+
+        // Nível de cada vértice, quantidade de vizinhos já contraídos
+        // e profundidade (maior profundidade de um vizinho contraído + 1)
+        private final int[] niveis;
+        private final int[] vizinhosContraidos;
+        private final int[] profundidades;
+
+        // Marcação de vizinhos já atualizados em cada contração
+        private final int[] marcas;
+
+        // Busca de testemunha: distâncias, arcos desde a origem, heap e vértices tocados
+        private final long[] distancias;
+        private final int[] saltos;
+        private final HeapIndexado heap;
+        private final int[] tocados;
+        private int numTocados;
+
+        private int numAtalhos;
+
+        // Arcos entre vértices ainda não contraídos
+        private long arcosRestantes;
+
+        /**
+         * Copia os arcos do grafo para as listas dinâmicas,
+         * ignorando laços.
+         */
+        private Contracao(Adjacencias grafo, boolean ponderado) {
+            int n = grafo.getNumVertices();
+
+            this.numVertices = n;
+            this.saidaVertices = new int[n][];
+            this.saidaPesos = new int[n][];
+            this.saidaMeios = new int[n][];
+            this.numSaida = new int[n];
+            this.entradaVertices = new int[n][];
+            this.entradaPesos = new int[n][];
+            this.entradaMeios = new int[n][];
+            this.numEntrada = new int[n];
+            this.niveis = new int[n];
+            this.vizinhosContraidos = new int[n];
+            this.profundidades = new int[n];
+            this.marcas = new int[n];
+            this.distancias = new long[n];
+            this.saltos = new int[n];
+            this.heap = new HeapIndexado(n);
+            this.tocados = new int[n];
+            this.numAtalhos = 0;
+            this.arcosRestantes = 0;
+
+            Arrays.fill(this.niveis, -1);
+            Arrays.fill(this.marcas, -1);
+            Arrays.fill(this.distancias, Long.MAX_VALUE);
+
+            // Capacidade inicial de cada lista: grau do vértice no grafo
+            int[] grausEntrada = new int[n];
+            for (int arco = 0; arco < grafo.getNumArcos(); arco++) {
+                grausEntrada[grafo.destino(arco)]++;
+            }
+
+            for (int v = 0; v < n; v++) {
+                int grau = Math.max(1, grafo.fim(v) - grafo.inicio(v));
+                this.saidaVertices[v] = new int[grau];
+                this.saidaPesos[v] = new int[grau];
+                this.saidaMeios[v] = new int[grau];
+
+                int grauEntrada = Math.max(1, grausEntrada[v]);
+                this.entradaVertices[v] = new int[grauEntrada];
+                this.entradaPesos[v] = new int[grauEntrada];
+                this.entradaMeios[v] = new int[grauEntrada];
+            }
+
+            for (int v = 0; v < n; v++) {
+                for (int arco = grafo.inicio(v); arco < grafo.fim(v); arco++) {
+                    int adjacente = grafo.destino(arco);
+                    int peso = ponderado ? grafo.peso(arco) : 1;
+
+                    if (peso < 0) {
+                        throw new IllegalStateException("Aresta com peso negativo: " + v + ", " + adjacente);
+                    }
+
+                    if (adjacente != v) {
+                        this.adicionarArco(v, adjacente, peso, SEM_MEIO);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Contrai os vértices, sempre escolhendo o de menor
+         * prioridade. As prioridades são recalculadas ao retirar o
+         * vértice da fila (atualização preguiçosa) e, para os
+         * vizinhos, após cada contração.
+         *
+         * Quando o grau médio dos vértices restantes passa de
+         * GRAU_NUCLEO (grafos aleatórios, cujo restante fica denso
+         * rapidamente), a contração para: cada vértice do núcleo
+         * recebe um dos últimos níveis e mantém todos os seus arcos
+         * para o núcleo, nos dois sentidos. Assim, dentro do núcleo,
+         * a consulta é um Dijkstra bidirecional comum.
+         */
+        private void contrairTodos() {
+            HeapIndexado fila = new HeapIndexado(this.numVertices);
+
+            for (int v = 0; v < this.numVertices; v++) {
+                fila.inserirOuDiminuir(v, this.prioridade(v));
+            }
+
+            int nivel = 0;
+
+            while (fila.isEmpty() == false) {
+                // Núcleo denso: níveis em ordem de prioridade, sem contração
+                if (this.arcosRestantes > (long) GRAU_NUCLEO * (this.numVertices - nivel)) {
+                    while (fila.isEmpty() == false) {
+                        this.niveis[fila.removerMinimo()] = nivel++;
+                    }
+
+                    break;
+                }
+
+                int vertice = fila.removerMinimo();
+                long prioridade = this.prioridade(vertice);
+
+                // Prioridade desatualizada: volta para a fila
+                if (fila.isEmpty() == false && prioridade > fila.getChaveMinima()) {
+                    fila.inserirOuDiminuir(vertice, prioridade);
+                    continue;
+                }
+
+                this.contrair(vertice, false);
+                this.niveis[vertice] = nivel++;
+                this.remover(vertice);
+                this.arcosRestantes -= this.numSaida[vertice] + this.numEntrada[vertice];
+
+                // Atualiza a prioridade de cada vizinho uma única vez
+                this.atualizarVizinhos(vertice, this.saidaVertices[vertice], this.numSaida[vertice], fila);
+                this.atualizarVizinhos(vertice, this.entradaVertices[vertice], this.numEntrada[vertice], fila);
+            }
+        }
+
+        /**
+         * Recalcula a prioridade dos vizinhos de um vértice contraído.
+         */
+        private void atualizarVizinhos(int vertice, int[] vizinhos, int quantidade, HeapIndexado fila) {
+            for (int i = 0; i < quantidade; i++) {
+                int vizinho = vizinhos[i];
+
+                if (this.marcas[vizinho] != vertice) {
+                    this.marcas[vizinho] = vertice;
+                    this.vizinhosContraidos[vizinho]++;
+                    this.profundidades[vizinho] = Math.max(this.profundidades[vizinho],
+                        this.profundidades[vertice] + 1);
+                    fila.alterar(vizinho, this.prioridade(vizinho));
+                }
+            }
+        }
+
+        /**
+         * Prioridade de contração: atalhos necessários menos arcos
+         * removidos (diferença de arestas, com peso 2), mais a
+         * quantidade de vizinhos já contraídos e a profundidade,
+         * para espalhar a contração pelo labirinto.
+         *
+         * @param vertice Vértice a ser avaliado
+         * @return prioridade Menor valor é contraído primeiro
+         */
+        private long prioridade(int vertice) {
+            int atalhos = this.contrair(vertice, true);
+
+            return 2L * (atalhos - this.numSaida[vertice] - this.numEntrada[vertice])
+                + this.vizinhosContraidos[vertice] + this.profundidades[vertice];
+        }
+
+        /**
+         * Contrai um vértice: para cada par de vizinhos u -> v -> w,
+         * cria o atalho u -> w caso a busca de testemunha (que evita
+         * v) não encontre um caminho tão curto quanto o que passa
+         * por v.
+         *
+         * @param vertice Vértice v a ser contraído
+         * @param simular true para apenas contar os atalhos
+         * @return atalhos Quantidade de atalhos necessários
+         */
+        private int contrair(int vertice, boolean simular) {
+            int atalhos = 0;
+
+            for (int i = 0; i < this.numEntrada[vertice]; i++) {
+                int u = this.entradaVertices[vertice][i];
+                long pesoEntrada = this.entradaPesos[vertice][i];
+
+                // Maior custo de um caminho u -> v -> w
+                long limite = -1;
+                for (int j = 0; j < this.numSaida[vertice]; j++) {
+                    if (this.saidaVertices[vertice][j] != u) {
+                        limite = Math.max(limite, pesoEntrada + this.saidaPesos[vertice][j]);
+                    }
+                }
+
+                if (limite == -1) {
+                    continue;
+                }
+
+                if (simular) {
+                    this.buscarTestemunha(u, vertice, limite, LIMITE_SIMULACAO, SALTOS_SIMULACAO);
+                } else {
+                    this.buscarTestemunha(u, vertice, limite, LIMITE_ASSENTADOS, LIMITE_SALTOS);
+                }
+
+                for (int j = 0; j < this.numSaida[vertice]; j++) {
+                    int w = this.saidaVertices[vertice][j];
+                    long custo = pesoEntrada + this.saidaPesos[vertice][j];
+
+                    if (w != u && this.distancias[w] > custo) {
+                        atalhos++;
+
+                        if (simular == false && this.adicionarArco(u, w, Math.toIntExact(custo), vertice)) {
+                            this.numAtalhos++;
+                        }
+                    }
+                }
+
+                this.limparTestemunha();
+            }
+
+            return atalhos;
+        }
+
+        /**
+         * Dijkstra local a partir de u, sem passar pelo vértice em
+         * contração, limitado pelo custo máximo, pela quantidade de
+         * vértices assentados e pela quantidade de arcos de cada
+         * caminho. As distâncias ficam em distancias: uma testemunha
+         * não encontrada apenas cria um atalho a mais.
+         */
+        private void buscarTestemunha(int origem, int ignorado, long limite, int limiteAssentados,
+                int limiteSaltos) {
+
+            this.distancias[origem] = 0;
+            this.saltos[origem] = 0;
+            this.tocados[this.numTocados++] = origem;
+            this.heap.inserirOuDiminuir(origem, 0);
+
+            int assentados = 0;
+
+            while (this.heap.isEmpty() == false && assentados < limiteAssentados) {
+                if (this.heap.getChaveMinima() > limite) {
+                    break;
+                }
+
+                int vertice = this.heap.removerMinimo();
+                assentados++;
+
+                // Caminho já com o máximo de arcos: não é estendido
+                if (this.saltos[vertice] == limiteSaltos) {
+                    continue;
+                }
+
+                for (int i = 0; i < this.numSaida[vertice]; i++) {
+                    int adjacente = this.saidaVertices[vertice][i];
+
+                    if (adjacente == ignorado) {
+                        continue;
+                    }
+
+                    long distancia = this.distancias[vertice] + this.saidaPesos[vertice][i];
+
+                    if (distancia < this.distancias[adjacente]) {
+                        if (this.distancias[adjacente] == Long.MAX_VALUE) {
+                            this.tocados[this.numTocados++] = adjacente;
+                        }
+
+                        this.distancias[adjacente] = distancia;
+                        this.saltos[adjacente] = this.saltos[vertice] + 1;
+                        this.heap.inserirOuDiminuir(adjacente, distancia);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Desfaz a busca de testemunha, apenas nos vértices tocados.
+         */
+        private void limparTestemunha() {
+            for (int i = 0; i < this.numTocados; i++) {
+                this.distancias[this.tocados[i]] = Long.MAX_VALUE;
+            }
+
+            this.numTocados = 0;
+
+            while (this.heap.isEmpty() == false) {
+                this.heap.removerMinimo();
+            }
+        }
+
+        /**
+         * Adiciona o arco u -> w ou, se ele já existir com peso maior,
+         * substitui seu peso e meio.
+         *
+         * @return true se o arco foi adicionado ou substituído
+         */
+        private boolean adicionarArco(int u, int w, int peso, int meio) {
+            for (int i = 0; i < this.numSaida[u]; i++) {
+                if (this.saidaVertices[u][i] == w) {
+                    if (this.saidaPesos[u][i] <= peso) {
+                        return false;
+                    }
+
+                    this.saidaPesos[u][i] = peso;
+                    this.saidaMeios[u][i] = meio;
+
+                    // Atualiza a cópia do arco na lista de entrada de w
+                    for (int j = 0; j < this.numEntrada[w]; j++) {
+                        if (this.entradaVertices[w][j] == u) {
+                            this.entradaPesos[w][j] = peso;
+                            this.entradaMeios[w][j] = meio;
+                        }
+                    }
+
+                    return true;
+                }
+            }
+
+            this.acrescentar(this.saidaVertices, this.saidaPesos, this.saidaMeios, this.numSaida, u, w, peso, meio);
+            this.acrescentar(this.entradaVertices, this.entradaPesos, this.entradaMeios, this.numEntrada,
+                w, u, peso, meio);
+            this.arcosRestantes++;
+
+            return true;
+        }
+
+        /**
+         * Acrescenta um arco à lista de um vértice, dobrando sua
+         * capacidade quando cheia.
+         */
+        private void acrescentar(int[][] vertices, int[][] pesos, int[][] meios, int[] quantidades,
+                int dono, int vizinho, int peso, int meio) {
+
+            int posicao = quantidades[dono];
+
+            if (posicao == vertices[dono].length) {
+                vertices[dono] = Arrays.copyOf(vertices[dono], posicao * 2);
+                pesos[dono] = Arrays.copyOf(pesos[dono], posicao * 2);
+                meios[dono] = Arrays.copyOf(meios[dono], posicao * 2);
+            }
+
+            vertices[dono][posicao] = vizinho;
+            pesos[dono][posicao] = peso;
+            meios[dono][posicao] = meio;
+            quantidades[dono]++;
+        }
+
+        /**
+         * Remove um vértice contraído das listas de seus vizinhos.
+         * As listas do próprio vértice são mantidas: elas contêm
+         * exatamente os arcos para vértices de nível maior.
+         */
+        private void remover(int vertice) {
+            for (int i = 0; i < this.numSaida[vertice]; i++) {
+                int w = this.saidaVertices[vertice][i];
+                this.retirar(this.entradaVertices, this.entradaPesos, this.entradaMeios, this.numEntrada, w, vertice);
+            }
+
+            for (int i = 0; i < this.numEntrada[vertice]; i++) {
+                int u = this.entradaVertices[vertice][i];
+                this.retirar(this.saidaVertices, this.saidaPesos, this.saidaMeios, this.numSaida, u, vertice);
+            }
+        }
+
+        /**
+         * Retira um vizinho da lista de um vértice, movendo o último
+         * arco da lista para sua posição.
+         */
+        private void retirar(int[][] vertices, int[][] pesos, int[][] meios, int[] quantidades,
+                int dono, int vizinho) {
+
+            for (int i = 0; i < quantidades[dono]; i++) {
+                if (vertices[dono][i] == vizinho) {
+                    int ultimo = --quantidades[dono];
+                    vertices[dono][i] = vertices[dono][ultimo];
+                    pesos[dono][i] = pesos[dono][ultimo];
+                    meios[dono][i] = meios[dono][ultimo];
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Compacta as listas finais no formato CSR.
+         *
+         * @return arcos Arrays de início, vizinhos, pesos e meios
+         */
+        private int[][] compactar(int[][] vertices, int[][] pesos, int[][] meios, int[] quantidades) {
+            int[] inicio = new int[this.numVertices + 1];
+
+            for (int v = 0; v < this.numVertices; v++) {
+                inicio[v + 1] = inicio[v] + quantidades[v];
+            }
+
+            int numArcos = inicio[this.numVertices];
+            int[] vizinhos = new int[numArcos];
+            int[] pesosArcos = new int[numArcos];
+            int[] meiosArcos = new int[numArcos];
+
+            for (int v = 0; v < this.numVertices; v++) {
+                System.arraycopy(vertices[v], 0, vizinhos, inicio[v], quantidades[v]);
+                System.arraycopy(pesos[v], 0, pesosArcos, inicio[v], quantidades[v]);
+                System.arraycopy(meios[v], 0, meiosArcos, inicio[v], quantidades[v]);
+            }
+
+            return new int[][] {inicio, vizinhos, pesosArcos, meiosArcos};
+        }
+    }
+}
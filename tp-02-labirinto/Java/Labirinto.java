@@ -1,169 +1,881 @@
 /**
  * Grafo para implementação e busca em um labirinto,
- * utilizando matriz de adjacência. Considera-se o
- * vértice 0 como a entrada do labirinto, e o último
- * vértice como a saída.
+ * armazenado no formato CSR (ver {@link Adjacencias}).
+ * Considera-se o vértice 0 como a entrada do labirinto,
+ * e o último vértice como a saída.
+ *
+ * O labirinto pode ser direcionado (corredores de mão única):
+ * nesse caso apenas os arcos de saída são armazenados, e o
+ * índice reverso (arcos de entrada) só é construído quando uma
+ * busca precisa percorrer os arcos ao contrário. Em labirintos
+ * não direcionados, cada aresta é inserida uma única vez e o
+ * CSR oferece a visão simétrica, que também serve de índice
+ * reverso.
+ *
+ * As componentes conexas são mantidas com conjuntos disjuntos
+ * (ver {@link ConjuntosDisjuntos}) à medida que as arestas são
+ * inseridas. Se a entrada e a saída estiverem em componentes
+ * diferentes, não existe caminho: a busca nem é iniciada, e o
+ * caminho retornado é vazio. No dígrafo, as componentes ignoram
+ * o sentido dos arcos, então estar na mesma componente não
+ * garante um caminho; nesse caso a busca decide, e também
+ * retorna um caminho vazio se não alcançar a saída.
+ *
+ * Opcionalmente, o labirinto fica fora do heap: arestas, grafo
+ * compactado ({@link GrafoCsrDireto}), componentes e os pais,
+ * distâncias e fila da busca em largura ({@link #getCaminho()})
+ * ficam em ByteBuffers diretos, de modo que o heap não cresce com
+ * o tamanho do labirinto e o coletor de lixo não percorre esses
+ * dados. As demais buscas utilizam o mesmo grafo, mas mantêm seus
+ * arrays de pais e distâncias no heap.
  *
  * @author Luigi D. C. Soares
  * @version 1.0
  */
 
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Path;
 import java.util.Arrays;
-import java.util.List;
-import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
 
 public class Labirinto {
-    // Matriz de adjacência
-    private int[][] grafo;
+    // Quantidade de vértices do labirinto
+    private final int tamanho;
+
+    // Labirinto direcionado (dígrafo) ou não
+    private final boolean digrafo;
+
+    // Arestas, grafo e busca em largura fora do heap ou não
+    private final boolean foraDoHeap;
+
+    // Arestas ainda não compactadas (um arco por aresta), ou
+    // null se todas as arestas estiverem apenas no grafo compactado
+    private ConstrutorCsr arestas;
+
+    // Grafo compactado no formato CSR, ou null se houver arestas novas
+    private Adjacencias grafo;
+
+    // Arcos de entrada de cada vértice (dígrafo), construídos sob demanda
+    private Adjacencias reverso;
+
+    // Componentes conexas (ignorando o sentido dos arcos), ou null se
+    // ainda não construídas a partir do grafo compactado
+    private ConjuntosDisjuntos componentes;
 
-    // Valor nulo para pesos das arestas
+    // Quantidade de modificações (arestas inseridas) do labirinto
+    private int versao;
+
+    // Valor nulo para pais dos vértices
     private final int NULO = Integer.MIN_VALUE;
 
     /**
-     * Construtor do labirinto, que cria a matriz de adjacência.
+     * Construtor do labirinto não direcionado.
      *
      * @param tamanho Quantidade de vértices existentes no grafo
      */
     public Labirinto(int tamanho) {
-        this.grafo = new int[tamanho][tamanho];
+        this(tamanho, false);
+    }
 
-        // Inicializa todas as posições (pesos das arestas) como NULO
-        for (int i = 0; i < tamanho; i++) {
-            for (int j = 0; j < tamanho; j++) {
-                this.grafo[i][j] = this.NULO;
-            }
-        }
+    /**
+     * Construtor do labirinto. Nenhuma estrutura proporcional
+     * a V² é alocada: as arestas são acumuladas e compactadas
+     * em CSR apenas quando o caminho é solicitado.
+     *
+     * @param tamanho Quantidade de vértices existentes no grafo
+     * @param digrafo true se as arestas tiverem um único sentido
+     */
+    public Labirinto(int tamanho, boolean digrafo) {
+        this(tamanho, digrafo, false);
+    }
+
+    /**
+     * Construtor do labirinto, no heap ou fora dele (ver
+     * {@link VetorInteirosDireto}).
+     *
+     * @param tamanho Quantidade de vértices existentes no grafo
+     * @param digrafo true se as arestas tiverem um único sentido
+     * @param foraDoHeap true para manter arestas, grafo e busca em largura fora do heap
+     */
+    public Labirinto(int tamanho, boolean digrafo, boolean foraDoHeap) {
+        this.tamanho = tamanho;
+        this.digrafo = digrafo;
+        this.foraDoHeap = foraDoHeap;
+        this.arestas = new ConstrutorCsr(0, foraDoHeap);
+        this.grafo = null;
+        this.reverso = null;
+        this.componentes = new ConjuntosDisjuntos(tamanho, foraDoHeap);
+        this.versao = 0;
+    }
+
+    /**
+     * Construtor do labirinto não direcionado a partir de um
+     * grafo já compactado.
+     *
+     * @param grafo Grafo no formato CSR, com os arcos nos dois sentidos
+     */
+    public Labirinto(Adjacencias grafo) {
+        this(grafo, false);
+    }
+
+    /**
+     * Construtor do labirinto a partir de um grafo já compactado.
+     * Novas arestas podem ser inseridas: nesse caso, os arcos são
+     * copiados do grafo para os arrays de arestas.
+     *
+     * @param grafo Grafo no formato CSR (nos dois sentidos, se não for dígrafo)
+     * @param digrafo true se os arcos tiverem um único sentido
+     */
+    public Labirinto(Adjacencias grafo, boolean digrafo) {
+        this(grafo, digrafo, false);
     }
 
     /**
-     * Insere um peso referente à uma aresta do grafo.
-     * Inserção realizada na posição [origem][destino] e
-     * na posição espelhada [destino][origem], levando em
-     * consideração apenas grafos não direcionados.
+     * Construtor do labirinto a partir de um grafo já compactado,
+     * com as novas arestas, componentes e busca em largura no
+     * heap ou fora dele.
+     *
+     * @param grafo Grafo no formato CSR (nos dois sentidos, se não for dígrafo)
+     * @param digrafo true se os arcos tiverem um único sentido
+     * @param foraDoHeap true para manter arestas, grafo e busca em largura fora do heap
+     */
+    public Labirinto(Adjacencias grafo, boolean digrafo, boolean foraDoHeap) {
+        this.tamanho = grafo.getNumVertices();
+        this.digrafo = digrafo;
+        this.foraDoHeap = foraDoHeap;
+        this.arestas = null;
+        this.grafo = grafo;
+        this.reverso = null;
+        this.componentes = null;
+        this.versao = 0;
+    }
+
+    /**
+     * Carrega um labirinto gravado no formato binário (ver
+     * {@link GrafoCsrMapeado}), mapeando o arquivo em memória.
+     * A busca pode começar imediatamente, sem leitura de texto.
+     *
+     * @param arquivo Arquivo no formato binário
+     * @return labirinto Labirinto lido do arquivo
+     * @throws IOException Em caso de erro de leitura
+     */
+    public static Labirinto carregar(Path arquivo) throws IOException {
+        return carregar(arquivo, false);
+    }
+
+    /**
+     * Carrega um labirinto gravado no formato binário, como em
+     * {@link #carregar(Path)}. O arquivo mapeado já fica fora do
+     * heap; foraDoHeap define onde ficam as estruturas da busca.
+     *
+     * @param arquivo Arquivo no formato binário
+     * @param foraDoHeap true para manter componentes e busca em largura fora do heap
+     * @return labirinto Labirinto lido do arquivo
+     * @throws IOException Em caso de erro de leitura
+     */
+    public static Labirinto carregar(Path arquivo, boolean foraDoHeap) throws IOException {
+        GrafoCsrMapeado grafo = new GrafoCsrMapeado(arquivo);
+
+        return new Labirinto(grafo, grafo.isDigrafo(), foraDoHeap);
+    }
+
+    /**
+     * Grava o labirinto no formato binário (ver {@link GrafoCsrMapeado}).
+     *
+     * @param arquivo Arquivo de destino
+     * @throws IOException Em caso de erro de escrita
+     */
+    public void salvar(Path arquivo) throws IOException {
+        GrafoCsrMapeado.salvar(this.getGrafo(), this.digrafo, arquivo);
+    }
+
+    /**
+     * Insere uma aresta no grafo. A aresta é guardada uma única
+     * vez e, em labirintos não direcionados, espelhada
+     * ([destino][origem]) na compactação.
      *
      * @param origem Vértice de origem
      * @param destino Vértice de destino
      * @param peso Peso da aresta
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
      */
     public void inserir(int origem, int destino, int peso) {
-        this.grafo[origem][destino] = peso;
-        this.grafo[destino][origem] = peso;
+        this.validar(origem);
+        this.validar(destino);
+
+        // Arestas apenas no grafo compactado: volta para os arrays
+        if (this.arestas == null) {
+            this.descompactar();
+        }
+
+        this.arestas.adicionar(origem, destino, peso);
+
+        // Mantém as componentes (se ainda não existirem, serão construídas a partir do grafo)
+        if (this.componentes != null) {
+            this.componentes.unir(origem, destino);
+        }
+
+        // Grafo compactado deixa de ser válido
+        this.grafo = null;
+        this.reverso = null;
+        this.versao++;
     }
 
     /**
-     * Retorna os vértices adjacentes de determinado vértice.
+     * Copia as arestas do grafo compactado para os arrays de
+     * arestas, para que novas arestas possam ser acrescentadas.
+     * Em labirintos não direcionados, apenas um dos dois arcos
+     * de cada aresta (origem <= destino) é copiado.
+     */
+    private void descompactar() {
+        Adjacencias grafo = this.grafo;
+        this.arestas = new ConstrutorCsr(grafo.getNumArcos(), this.foraDoHeap);
+
+        for (int vertice = 0; vertice < this.tamanho; vertice++) {
+            for (int arco = grafo.inicio(vertice); arco < grafo.fim(vertice); arco++) {
+                int adjacente = grafo.destino(arco);
+
+                if (this.digrafo || vertice <= adjacente) {
+                    this.arestas.adicionar(vertice, adjacente, grafo.peso(arco));
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifica se o labirinto é direcionado.
      *
-     * @param vertice Vértice a ser analisado
-     * @return adjacentes Vértices adjacentes
+     * @return true se as arestas tiverem um único sentido
      */
-    private List<Integer> getAdjacentes(int vertice) {
-        // ArrayList para vértices adjacentes
-        List<Integer> adjacentes = new ArrayList<>();
+    public boolean isDigrafo() {
+        return this.digrafo;
+    }
 
-        // Percoresre linha referente ao vértice na matriz de adjacência
-        for (int i = 0; i < this.grafo.length; i++) {
+    /**
+     * Retorna a quantidade de vértices do labirinto.
+     *
+     * @return tamanho Quantidade de vértices
+     */
+    public int getTamanho() {
+        return this.tamanho;
+    }
 
-            // Se aresta existir, adiciona vertice adjacente à lista
-            if (this.grafo[vertice][i] != this.NULO) {
-                adjacentes.add(i);
+    /**
+     * Retorna a versão do labirinto, incrementada a cada aresta
+     * inserida. Resultados calculados em uma versão anterior
+     * (como árvores de caminhos) deixam de ser válidos.
+     *
+     * @return versao Versão atual do labirinto
+     */
+    public int getVersao() {
+        return this.versao;
+    }
+
+    /**
+     * Verifica se um vértice existe no labirinto.
+     *
+     * @param vertice Vértice a ser verificado
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     */
+    private void validar(int vertice) {
+        if (vertice < 0 || vertice >= this.tamanho) {
+            throw new ArrayIndexOutOfBoundsException("Vértice inexistente: " + vertice);
+        }
+    }
+
+    /**
+     * Retorna o grafo compactado em CSR, construindo-o caso
+     * existam arestas inseridas após a última compactação.
+     * No dígrafo, cada aresta gera apenas o arco origem -> destino;
+     * caso contrário, gera os arcos origem -> destino e destino -> origem.
+     * Após a compactação, os arrays de arestas são descartados, de
+     * modo que as arestas fiquem armazenadas apenas no CSR.
+     *
+     * @return grafo Grafo no formato CSR
+     */
+    private Adjacencias getGrafo() {
+        if (this.grafo != null) {
+            return this.grafo;
+        }
+
+        Metricas.EventoFase fase = Metricas.iniciarFase("construcao");
+
+        if (this.digrafo) {
+            this.grafo = this.arestas.construir(this.tamanho);
+        } else {
+            this.grafo = this.arestas.construirSimetrico(this.tamanho);
+        }
+
+        this.liberarArestas();
+        Metricas.encerrarFase(fase);
+
+        return this.grafo;
+    }
+
+    /**
+     * Descarta os arrays de arestas, já compactadas no grafo.
+     */
+    private void liberarArestas() {
+        this.arestas = null;
+    }
+
+    /**
+     * Retorna as componentes conexas, construindo-as a partir
+     * do grafo compactado caso o labirinto não tenha sido
+     * montado aresta a aresta (como ao carregar um arquivo).
+     *
+     * @return componentes Conjuntos disjuntos dos vértices
+     */
+    private ConjuntosDisjuntos getComponentes() {
+        if (this.componentes == null) {
+            Adjacencias grafo = this.getGrafo();
+            this.componentes = new ConjuntosDisjuntos(this.tamanho, this.foraDoHeap);
+
+            for (int vertice = 0; vertice < this.tamanho; vertice++) {
+                for (int arco = grafo.inicio(vertice); arco < grafo.fim(vertice); arco++) {
+                    this.componentes.unir(vertice, grafo.destino(arco));
+                }
             }
         }
-        
-        return adjacentes;
+
+        return this.componentes;
+    }
+
+    /**
+     * Verifica se dois vértices estão na mesma componente conexa,
+     * em O(α(n)), sem nenhuma busca. Se não estiverem, não existe
+     * caminho entre eles. No dígrafo, o sentido dos arcos é
+     * ignorado: estar na mesma componente não garante um caminho.
+     *
+     * @param origem Primeiro vértice
+     * @param destino Segundo vértice
+     * @return true se os vértices estiverem na mesma componente
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     */
+    public boolean isConectado(int origem, int destino) {
+        this.validar(origem);
+        this.validar(destino);
+
+        return this.getComponentes().isConectado(origem, destino);
+    }
+
+    /**
+     * Retorna os arcos de entrada de cada vértice (grafo
+     * transposto), para buscas que percorrem os arcos ao
+     * contrário. Em labirintos não direcionados é o próprio grafo.
+     *
+     * @return reverso Grafo transposto no formato CSR
+     */
+    private Adjacencias getGrafoReverso() {
+        Adjacencias grafo = this.getGrafo();
+
+        if (this.digrafo == false) {
+            return grafo;
+        }
+
+        if (this.reverso == null) {
+            this.reverso = this.foraDoHeap ? GrafoCsrDireto.transpor(grafo) : ConstrutorCsr.transpor(grafo);
+        }
+
+        return this.reverso;
     }
 
     /**
      * Algoritmo de busca em largura, para encontrar o caminho
      * do labirinto. Considera-se o vértice inicial como o vértice
-     * 0 e o final como a última posição da matriz (último vértice).
+     * 0 e o final como o último vértice. A busca é encerrada assim
+     * que a saída é descoberta. Se a saída estiver em outra
+     * componente, retorna um caminho vazio sem realizar a busca.
      *
-     * @return caminho Caminho do labirinto
+     * @return caminho Caminho do labirinto, ou vazio se não existir
      * @throws NoSuchElementException Em caso de lista vazia
      */
-    public List<Integer> getCaminho() 
+    public Caminho getCaminho() 
         throws NoSuchElementException {
 
-        // Array para setar cores de cada vértice durante a busca
-        String[] cores = new String[this.grafo.length];
+        int saida = this.tamanho - 1;
+
+        if (this.isConectado(0, saida) == false) {
+            return new Caminho(0);
+        }
+
+        if (this.foraDoHeap) {
+            return Caminho.daArvore(this.buscarLarguraForaDoHeap(0, saida), 0, saida);
+        }
+
+        return Caminho.daArvore(this.buscarLargura(0, saida), 0, saida);
+    }
+
+    /**
+     * Árvore de caminhos mínimos (em número de arestas) a partir
+     * de um vértice, cobrindo todo o labirinto. Permite responder
+     * consultas de qualquer destino a partir da mesma origem (ver
+     * {@link #getCaminho(int[], int, int)}).
+     *
+     * @param origem Raiz da árvore
+     * @return pais Pai de cada vértice na árvore
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     */
+    public int[] getArvore(int origem) {
+        this.validar(origem);
+
+        return this.buscarLargura(origem, -1);
+    }
+
+    /**
+     * Árvore de caminhos de menor custo (soma dos pesos) a partir
+     * de um vértice, cobrindo todo o labirinto.
+     *
+     * @param origem Raiz da árvore
+     * @return pais Pai de cada vértice na árvore
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     * @throws IllegalStateException Em caso de aresta com peso negativo
+     */
+    public int[] getArvorePonderada(int origem) {
+        this.validar(origem);
+
+        return this.buscarDijkstra(origem, -1);
+    }
+
+    /**
+     * Pré-processa o labirinto em um índice de hierarquia de
+     * contração (ver {@link HierarquiaContracao}), para consultas
+     * repetidas entre vértices quaisquer.
+     *
+     * @param ponderado true para custo pela soma dos pesos, false
+     *                  para custo pelo número de arestas
+     * @return hierarquia Índice do labirinto
+     * @throws IllegalStateException Em caso de aresta com peso negativo
+     */
+    public HierarquiaContracao getHierarquia(boolean ponderado) {
+        return HierarquiaContracao.construir(this.getGrafo(), ponderado);
+    }
+
+    /**
+     * Cópia dinâmica do labirinto (ver {@link LabirintoDinamico}),
+     * cujas passagens podem ser abertas e fechadas com correção
+     * incremental do caminho até a saída.
+     *
+     * @param ponderado true para custo pela soma dos pesos, false
+     *                  para custo pelo número de arestas
+     * @return dinamico Labirinto dinâmico com as mesmas passagens
+     * @throws IllegalArgumentException Em caso de aresta com peso negativo
+     */
+    public LabirintoDinamico getDinamico(boolean ponderado) {
+        return new LabirintoDinamico(this.getGrafo(), this.digrafo, ponderado);
+    }
+
+    /**
+     * Calcula as distâncias entre todos os pares de vértices (ver
+     * {@link DistanciasTodosPares}), para labirintos pequenos e médios.
+     *
+     * @param ponderado true para custo pela soma dos pesos, false
+     *                  para custo pelo número de arestas
+     * @return distancias Distâncias e caminhos de todos os pares
+     * @throws IllegalArgumentException Se o labirinto for grande demais para as matrizes
+     */
+    public DistanciasTodosPares getTodosPares(boolean ponderado) {
+        return new DistanciasTodosPares(this.getGrafo(), ponderado);
+    }
+
+    /**
+     * Caminho da raiz de uma árvore (ver {@link #getArvore(int)})
+     * até um vértice.
+     *
+     * @param arvore Pai de cada vértice na árvore
+     * @param origem Raiz da árvore
+     * @param destino Último vértice do caminho
+     * @return caminho Caminho da raiz até o destino, ou vazio se o destino não for alcançável
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     */
+    public Caminho getCaminho(int[] arvore, int origem, int destino) {
+        this.validar(origem);
+        this.validar(destino);
+
+        return Caminho.daArvore(arvore, origem, destino);
+    }
+
+    /**
+     * Busca em largura a partir de um vértice, marcando os vértices
+     * descobertos em um bitset (um bit por vértice), como na busca
+     * paralela. A busca é encerrada assim que o destino é
+     * descoberto.
+     *
+     * @param origem Vértice inicial da busca
+     * @param destino Vértice procurado, ou -1 para percorrer todo o labirinto
+     * @return pais Pai de cada vértice alcançado
+     * @throws NoSuchElementException Em caso de fila vazia
+     */
+    private int[] buscarLargura(int origem, int destino) {
+        // Grafo compactado
+        Adjacencias grafo = this.getGrafo();
 
-        // Array para distâncias
-        int[] distancias = new int[this.grafo.length];
+        // Vértices já descobertos (bit 1), os demais ainda não analisados
+        long[] descobertos = new long[(this.tamanho + 63) >>> 6];
 
         // Array para manter o pais de cada vértice.
-        int[] pais = new int[this.grafo.length];
+        int[] pais = new int[this.tamanho];
 
-        // LinkedList utilizada como fila, para utilização na busca
-        List<Integer> fila = new LinkedList<>();
+        // Fila de inteiros primitivos, para utilização na busca
+        FilaInteiros fila = new FilaInteiros();
 
         /*
-         * Seta cores, distância e pai iniciais para cada vértice diferente
-         * do vértice de origem (início do labirinto).
+         * Métricas da busca, contadas por vértice expandido (e não
+         * por aresta), para não pesar no laço interno. Sem as
+         * métricas, o JIT elimina os contadores.
          */
-        for (int i = 1; i < this.grafo.length; i++) {
-            cores[i] = "branco";
-            distancias[i] = Integer.MAX_VALUE;
-            pais[i] = this.NULO;
-        }
+        Metricas.EventoBusca evento = Metricas.ATIVAS ? Metricas.iniciarBusca("largura") : null;
+        long expandidos = 0;
+        long arestas = 0;
+        int pico = 0;
 
-        // Seta cores, distância e pai para vértice inicial
-        cores[0] = "cinza";
-        distancias[0] = 0;
-        pais[0] = this.NULO;
+        // Seta pai inicial para cada vértice
+        Arrays.fill(pais, this.NULO);
+
+        // Marca vértice inicial como descoberto
+        descobertos[origem >>> 6] |= 1L << origem;
 
         // Coloca vértice inicial na fila
-        fila.add(0);
+        fila.adicionar(origem);
 
         /*
          * Busca por largura, para encontrar caminho do labirinto
          * Enquanto fila não estiver vazia, realiza processo de busca.
          */
+        busca:
         while (fila.isEmpty() == false) {
             // Vértice a ser analisado
-            int vertice = fila.remove(0);
+            int vertice = fila.remover();
 
-            // Lista de vértices adjacentes
-            List<Integer> adjacentes = this.getAdjacentes(vertice);
+            // Tamanho da fila antes da remoção
+            expandidos++;
+            arestas += grafo.fim(vertice) - grafo.inicio(vertice);
+            pico = Math.max(pico, fila.getTamanho() + 1);
 
             // Para cada vértice adjacente, realizar processo de busca
-            for (int adjacente : adjacentes) {
-
-                // Se vértice não foi analisado ainda (cores branca)
-                if (cores[adjacente].equals("branco")) {
-                    // Seta cores cinza
-                    cores[adjacente] = "cinza";
+            for (int arco = grafo.inicio(vertice); arco < grafo.fim(vertice); arco++) {
+                int adjacente = grafo.destino(arco);
 
-                    // Seta distância como distância do vértice + peso da aresta
-                    distancias[adjacente] = distancias[vertice] + this.grafo[vertice][adjacente];
+                // Se vértice não foi descoberto ainda
+                if ((descobertos[adjacente >>> 6] & (1L << adjacente)) == 0) {
+                    // Marca como descoberto
+                    descobertos[adjacente >>> 6] |= 1L << adjacente;
 
                     // Seta pais do vértice adjacente
                     pais[adjacente] = vertice;
 
+                    // Destino encontrado: seu pai não muda mais
+                    if (adjacente == destino) {
+                        arestas -= grafo.fim(vertice) - arco - 1;
+                        break busca;
+                    }
+
                     // Coloca vértice adjacente na fila
-                    fila.add(adjacente);
+                    fila.adicionar(adjacente);
                 }
             }
+        }
 
-            // Seta cores do vértice analisado para preto
-            cores[vertice] = "preto";
+        if (Metricas.ATIVAS) {
+            pico = Math.max(pico, fila.getTamanho());
+            Metricas.encerrarBusca(evento, this.tamanho, expandidos, arestas, pico);
         }
 
-        // Criando caminho para vértice final
-        List<Integer> caminho = new LinkedList<>();
+        return pais;
+    }
+
+    /**
+     * Busca em largura a partir de um vértice, como em
+     * buscarLargura, com pais, distâncias e fila fora do heap
+     * (ver {@link VetorInteirosDireto}). Cada vértice entra na
+     * fila no máximo uma vez, então a fila é um vetor de V
+     * posições. Distância -1 indica vértice não visitado.
+     *
+     * @param origem Vértice inicial da busca
+     * @param destino Vértice procurado, ou -1 para percorrer todo o labirinto
+     * @return pais Pai de cada vértice alcançado
+     */
+    private VetorInteirosDireto buscarLarguraForaDoHeap(int origem, int destino) {
+        // Grafo compactado
+        Adjacencias grafo = this.getGrafo();
+
+        // Distância (em arestas) e pai de cada vértice, e fila da busca
+        VetorInteirosDireto distancias = new VetorInteirosDireto(this.tamanho);
+        VetorInteirosDireto pais = new VetorInteirosDireto(this.tamanho);
+        VetorInteirosDireto fila = new VetorInteirosDireto(this.tamanho);
+        int inicio = 0;
+        int fim = 0;
+
+        // Métricas da busca, por vértice expandido, como em buscarLargura
+        Metricas.EventoBusca evento = Metricas.ATIVAS ? Metricas.iniciarBusca("largura-fora-do-heap") : null;
+        long arestas = 0;
+        int pico = 0;
+
+        distancias.preencher(-1);
+        pais.preencher(this.NULO);
+
+        distancias.set(origem, 0);
+        fila.set(fim++, origem);
+
+        busca:
+        while (inicio < fim) {
+            pico = Math.max(pico, fim - inicio);
+            int vertice = fila.get(inicio++);
+            int distancia = distancias.get(vertice) + 1;
+            arestas += grafo.fim(vertice) - grafo.inicio(vertice);
 
-        // Inicia caminho com vértice final
-        int vertice = this.grafo.length - 1;
+            for (int arco = grafo.inicio(vertice); arco < grafo.fim(vertice); arco++) {
+                int adjacente = grafo.destino(arco);
 
-        while (vertice != this.NULO) {
-            // Inserção feita sempre no início
-            caminho.add(0, vertice);
+                // Vértice ainda não visitado
+                if (distancias.get(adjacente) == -1) {
+                    distancias.set(adjacente, distancia);
+                    pais.set(adjacente, vertice);
 
-            // Próximo vértice do caminho
-            vertice = pais[vertice];
+                    // Destino encontrado: seu pai não muda mais
+                    if (adjacente == destino) {
+                        arestas -= grafo.fim(vertice) - arco - 1;
+                        break busca;
+                    }
+
+                    fila.set(fim++, adjacente);
+                }
+            }
+        }
+
+        // Vértices expandidos: retirados da fila
+        if (Metricas.ATIVAS) {
+            pico = Math.max(pico, fim - inicio);
+            Metricas.encerrarBusca(evento, this.tamanho, inicio, arestas, pico);
+        }
+
+        return pais;
+    }
+
+    /**
+     * Busca em largura paralela (ver {@link BuscaLarguraParalela}),
+     * para labirintos muito grandes. Retorna o mesmo caminho de
+     * {@link #getCaminho()}.
+     *
+     * @return caminho Caminho do labirinto, ou vazio se não existir
+     */
+    public Caminho getCaminhoParalelo() {
+        if (this.isConectado(0, this.tamanho - 1) == false) {
+            return new Caminho(0);
+        }
+
+        BuscaLarguraParalela busca = new BuscaLarguraParalela(this.getGrafo(), this.getGrafoReverso(),
+            ForkJoinPool.commonPool());
+        int[] pais = busca.buscar(0, this.tamanho - 1);
+
+        return Caminho.daArvore(pais, 0, this.tamanho - 1);
+    }
+
+    /**
+     * Busca em largura bidirecional: as fronteiras crescem a partir
+     * da entrada (vértice 0) e da saída (último vértice), sempre
+     * expandindo a menor delas nível a nível, até que se encontrem.
+     * A busca a partir da saída percorre os arcos de entrada (índice
+     * reverso), que no labirinto não direcionado são as mesmas
+     * listas de adjacência.
+     *
+     * Retorna um caminho com o menor número de arestas, não
+     * necessariamente o mesmo de {@link #getCaminho()} em caso
+     * de empate.
+     *
+     * @return caminho Caminho do labirinto, ou vazio se não existir
+     */
+    public Caminho getCaminhoBidirecional() {
+        int saida = this.tamanho - 1;
+
+        if (this.isConectado(0, saida) == false) {
+            return new Caminho(0);
+        }
+
+        // Grafo compactado e arcos de entrada de cada vértice
+        Adjacencias grafo = this.getGrafo();
+        Adjacencias reverso = this.getGrafoReverso();
+
+        // Pais e distâncias em cada uma das buscas (-1 = não visitado)
+        int[] paisInicio = new int[this.tamanho];
+        int[] paisSaida = new int[this.tamanho];
+        int[] distanciasInicio = new int[this.tamanho];
+        int[] distanciasSaida = new int[this.tamanho];
+
+        // Filas de cada busca: cada vértice entra no máximo uma vez
+        int[] filaInicio = new int[this.tamanho];
+        int[] filaSaida = new int[this.tamanho];
+
+        for (int i = 0; i < this.tamanho; i++) {
+            paisInicio[i] = this.NULO;
+            paisSaida[i] = this.NULO;
+            distanciasInicio[i] = -1;
+            distanciasSaida[i] = -1;
+        }
+
+        distanciasInicio[0] = 0;
+        distanciasSaida[saida] = 0;
+        filaInicio[0] = 0;
+        filaSaida[0] = saida;
+
+        // Início e fim (exclusivo) do nível atual em cada fila
+        int inicioNivelInicio = 0;
+        int fimInicio = 1;
+        int inicioNivelSaida = 0;
+        int fimSaida = 1;
+
+        // Melhor encontro: arco (encontroInicio -> encontroSaida)
+        int encontroInicio = (saida == 0) ? 0 : -1;
+        int encontroSaida = (saida == 0) ? 0 : -1;
+        int melhor = (saida == 0) ? 0 : Integer.MAX_VALUE;
+
+        while (encontroInicio == -1 && inicioNivelInicio < fimInicio && inicioNivelSaida < fimSaida) {
+            // Expande a menor fronteira
+            boolean expandirInicio = (fimInicio - inicioNivelInicio) <= (fimSaida - inicioNivelSaida);
+
+            int[] fila = expandirInicio ? filaInicio : filaSaida;
+            int[] pais = expandirInicio ? paisInicio : paisSaida;
+            int[] distancias = expandirInicio ? distanciasInicio : distanciasSaida;
+            int[] distanciasOutra = expandirInicio ? distanciasSaida : distanciasInicio;
+            int inicioNivel = expandirInicio ? inicioNivelInicio : inicioNivelSaida;
+            int fimNivel = expandirInicio ? fimInicio : fimSaida;
+            int fim = fimNivel;
+
+            // A busca a partir da saída segue os arcos ao contrário
+            Adjacencias arcos = expandirInicio ? grafo : reverso;
+
+            // Processa o nível inteiro, guardando o melhor encontro
+            for (int i = inicioNivel; i < fimNivel; i++) {
+                int vertice = fila[i];
+
+                for (int arco = arcos.inicio(vertice); arco < arcos.fim(vertice); arco++) {
+                    int adjacente = arcos.destino(arco);
+
+                    // Vértice já alcançado pela outra busca: fronteiras se encontraram
+                    if (distanciasOutra[adjacente] != -1) {
+                        int tamanhoCaminho = distancias[vertice] + 1 + distanciasOutra[adjacente];
+
+                        if (tamanhoCaminho < melhor) {
+                            melhor = tamanhoCaminho;
+                            encontroInicio = expandirInicio ? vertice : adjacente;
+                            encontroSaida = expandirInicio ? adjacente : vertice;
+                        }
+                    }
+
+                    if (distancias[adjacente] == -1) {
+                        distancias[adjacente] = distancias[vertice] + 1;
+                        pais[adjacente] = vertice;
+                        fila[fim++] = adjacente;
+                    }
+                }
+            }
+
+            if (expandirInicio) {
+                inicioNivelInicio = fimNivel;
+                fimInicio = fim;
+            } else {
+                inicioNivelSaida = fimNivel;
+                fimSaida = fim;
+            }
+        }
+
+        // Fronteiras não se encontraram: saída inalcançável
+        if (encontroInicio == -1) {
+            return new Caminho(0);
+        }
+
+        // Trecho da entrada até o encontro
+        Caminho caminho = Caminho.daArvore(paisInicio, 0, encontroInicio);
+
+        // Trecho do encontro até a saída, seguindo os pais da busca reversa
+        for (int vertice = (encontroSaida == encontroInicio) ? paisSaida[encontroSaida] : encontroSaida;
+                vertice != this.NULO; vertice = paisSaida[vertice]) {
+            caminho.adicionar(vertice);
         }
 
         return caminho;
     }
+
+    /**
+     * Algoritmo de Dijkstra, para encontrar o caminho de menor
+     * custo (soma dos pesos) do labirinto, ao invés do caminho
+     * com menos arestas. Utiliza um heap binário indexado sobre
+     * os vértices, sem objetos por entrada da fila, com custo
+     * O(E log V). Os pesos das arestas não podem ser negativos.
+     *
+     * @return caminho Caminho de menor custo do labirinto, ou vazio se não existir
+     * @throws IllegalStateException Em caso de aresta com peso negativo
+     */
+    public Caminho getCaminhoPonderado() {
+        int saida = this.tamanho - 1;
+
+        if (this.isConectado(0, saida) == false) {
+            return new Caminho(0);
+        }
+
+        return Caminho.daArvore(this.buscarDijkstra(0, saida), 0, saida);
+    }
+
+    /**
+     * Algoritmo de Dijkstra a partir de um vértice, encerrado
+     * assim que o destino tem sua distância definitiva.
+     *
+     * @param origem Vértice inicial da busca
+     * @param destino Vértice procurado, ou -1 para percorrer todo o labirinto
+     * @return pais Pai de cada vértice alcançado
+     * @throws IllegalStateException Em caso de aresta com peso negativo
+     */
+    private int[] buscarDijkstra(int origem, int destino) {
+        // Grafo compactado
+        Adjacencias grafo = this.getGrafo();
+
+        // Distância (custo) de cada vértice até a origem
+        long[] distancias = new long[this.tamanho];
+
+        // Array para manter o pai de cada vértice
+        int[] pais = new int[this.tamanho];
+
+        // Fila de prioridade pelas distâncias
+        HeapIndexado heap = new HeapIndexado(this.tamanho);
+
+        for (int i = 0; i < this.tamanho; i++) {
+            distancias[i] = Long.MAX_VALUE;
+            pais[i] = this.NULO;
+        }
+
+        distancias[origem] = 0;
+        heap.inserirOuDiminuir(origem, 0);
+
+        while (heap.isEmpty() == false) {
+            // Vértice de menor distância tem sua distância definitiva
+            int vertice = heap.removerMinimo();
+
+            // Destino alcançado: nenhum outro vértice melhora seu caminho
+            if (vertice == destino) {
+                break;
+            }
+
+            for (int arco = grafo.inicio(vertice); arco < grafo.fim(vertice); arco++) {
+                int adjacente = grafo.destino(arco);
+                int peso = grafo.peso(arco);
+
+                if (peso < 0) {
+                    throw new IllegalStateException("Aresta com peso negativo: " + vertice + ", " + adjacente);
+                }
+
+                // Relaxamento da aresta
+                long distancia = distancias[vertice] + peso;
+
+                if (distancia < distancias[adjacente]) {
+                    distancias[adjacente] = distancia;
+                    pais[adjacente] = vertice;
+                    heap.inserirOuDiminuir(adjacente, distancia);
+                }
+            }
+        }
+
+        return pais;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,529 @@
+/**
+ * Labirinto dinâmico, cujas passagens abrem e fecham durante a
+ * execução. Mantém a árvore de caminhos mínimos a partir da
+ * entrada (vértice 0) e a corrige a cada alteração, no lugar de
+ * refazer a busca em todo o labirinto:
+ *
+ * - passagem aberta (ou mais barata): a melhora se propaga a
+ *   partir do destino do arco, como no Dijkstra, e só percorre
+ *   os vértices cuja distância diminui;
+ * - passagem fechada (ou mais cara) que não está na árvore:
+ *   nenhuma distância muda;
+ * - passagem fechada (ou mais cara) da árvore: apenas a subárvore
+ *   abaixo do arco perde seus caminhos. Cada vértice da subárvore
+ *   recebe a melhor distância pelos arcos de entrada vindos de
+ *   fora dela, e um Dijkstra restrito à subárvore completa o
+ *   restante (como em Ramalingam-Reps, com a árvore no lugar do
+ *   DAG de caminhos mínimos).
+ *
+ * O custo de cada alteração é proporcional à região afetada (e
+ * aos seus arcos), e não ao tamanho do labirinto. Em caso de
+ * empate, o caminho pode ser diferente do de
+ * {@link Labirinto#getCaminho()}, mas tem o mesmo custo.
+ *
+ * Os arcos de cada vértice ficam em arrays próprios, que crescem
+ * e diminuem com as alterações. No dígrafo, os arcos de entrada
+ * são guardados à parte; no labirinto não direcionado, são as
+ * próprias listas de adjacência.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.util.Arrays;
+
+public class LabirintoDinamico {
+    // Valor nulo para pais dos vértices
+    private static final int NULO = Integer.MIN_VALUE;
+
+    // Distância de vértices inalcançáveis
+    private static final long INFINITO = Long.MAX_VALUE;
+
+    // Peso retornado para arcos inexistentes
+    private static final int AUSENTE = -1;
+
+    // Quantidade de vértices do labirinto
+    private final int tamanho;
+
+    // Labirinto direcionado (dígrafo) ou não
+    private final boolean digrafo;
+
+    // Custo pela soma dos pesos ao invés do número de arestas
+    private final boolean ponderado;
+
+    // Arcos de saída e de entrada de cada vértice
+    private final Arcos saidas;
+    private final Arcos entradas;
+
+    // Árvore de caminhos mínimos a partir da entrada
+    private final long[] distancias;
+    private final int[] pais;
+
+    // Fila de prioridade das propagações
+    private final HeapIndexado heap;
+
+    // Vértices da subárvore em reconstrução, marcados com a rodada atual
+    private final int[] subarvore;
+    private final int[] marcas;
+    private int rodada;
+
+    // Vértices percorridos pela última alteração
+    private int afetados;
+
+    /**
+     * Construtor do labirinto sem nenhuma passagem: apenas a
+     * entrada é alcançável.
+     *
+     * @param tamanho Quantidade de vértices do labirinto
+     * @param digrafo true se as passagens tiverem um único sentido
+     * @param ponderado true para custo pela soma dos pesos, false
+     *                  para custo pelo número de arestas
+     */
+    public LabirintoDinamico(int tamanho, boolean digrafo, boolean ponderado) {
+        this.tamanho = tamanho;
+        this.digrafo = digrafo;
+        this.ponderado = ponderado;
+        this.saidas = new Arcos(tamanho);
+        this.entradas = digrafo ? new Arcos(tamanho) : this.saidas;
+        this.distancias = new long[tamanho];
+        this.pais = new int[tamanho];
+        this.heap = new HeapIndexado(tamanho);
+        this.subarvore = new int[tamanho];
+        this.marcas = new int[tamanho];
+        this.rodada = 0;
+        this.afetados = 0;
+
+        for (int i = 0; i < tamanho; i++) {
+            this.distancias[i] = INFINITO;
+            this.pais[i] = NULO;
+        }
+
+        if (tamanho > 0) {
+            this.distancias[0] = 0;
+        }
+    }
+
+    /**
+     * Construtor a partir de um grafo compactado, com uma busca
+     * completa para a árvore inicial.
+     *
+     * @param grafo Grafo no formato CSR (nos dois sentidos, se não for dígrafo)
+     * @param digrafo true se os arcos tiverem um único sentido
+     * @param ponderado true para custo pela soma dos pesos, false
+     *                  para custo pelo número de arestas
+     * @throws IllegalArgumentException Em caso de aresta com peso negativo
+     */
+    public LabirintoDinamico(Adjacencias grafo, boolean digrafo, boolean ponderado) {
+        this(grafo.getNumVertices(), digrafo, ponderado);
+
+        // Cópia dos arcos (no labirinto não direcionado, o CSR já tem os dois sentidos)
+        for (int vertice = 0; vertice < this.tamanho; vertice++) {
+            for (int arco = grafo.inicio(vertice); arco < grafo.fim(vertice); arco++) {
+                int adjacente = grafo.destino(arco);
+                int peso = grafo.peso(arco);
+
+                this.validarPeso(vertice, adjacente, peso);
+                this.saidas.inserir(vertice, adjacente, peso);
+
+                if (digrafo) {
+                    this.entradas.inserir(adjacente, vertice, peso);
+                }
+            }
+        }
+
+        // Árvore inicial: propagação a partir da entrada
+        if (this.tamanho > 0) {
+            this.heap.inserirOuDiminuir(0, 0);
+            this.propagar();
+        }
+    }
+
+    /**
+     * Abre uma passagem ou altera o seu peso, corrigindo a árvore
+     * de caminhos. Em labirintos não direcionados, a passagem vale
+     * nos dois sentidos.
+     *
+     * @param origem Vértice de origem
+     * @param destino Vértice de destino
+     * @param peso Peso da passagem
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     * @throws IllegalArgumentException Em caso de peso negativo
+     */
+    public void inserir(int origem, int destino, int peso) {
+        this.validar(origem);
+        this.validar(destino);
+        this.validarPeso(origem, destino, peso);
+
+        this.afetados = 0;
+
+        // Alteração das listas antes da correção (nos dois sentidos, se for o caso)
+        int anterior = this.inserirArco(origem, destino, peso);
+        int anteriorVolta = (this.digrafo || origem == destino) ? AUSENTE
+            : this.inserirArco(destino, origem, peso);
+
+        // Arco da árvore mais caro: a subárvore abaixo dele é refeita
+        if (anterior != AUSENTE && this.custo(peso) > this.custo(anterior) && this.pais[destino] == origem) {
+            this.reconstruir(destino);
+        } else if (anteriorVolta != AUSENTE && this.custo(peso) > this.custo(anteriorVolta)
+                && this.pais[origem] == destino) {
+            this.reconstruir(origem);
+        }
+
+        // Arco novo ou mais barato: melhora propagada a partir dele
+        this.relaxar(origem, destino, peso);
+
+        if (this.digrafo == false) {
+            this.relaxar(destino, origem, peso);
+        }
+    }
+
+    /**
+     * Fecha uma passagem, corrigindo a árvore de caminhos.
+     *
+     * @param origem Vértice de origem
+     * @param destino Vértice de destino
+     * @return true se a passagem existia
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     */
+    public boolean remover(int origem, int destino) {
+        this.validar(origem);
+        this.validar(destino);
+
+        this.afetados = 0;
+
+        if (this.removerArco(origem, destino) == AUSENTE) {
+            return false;
+        }
+
+        if (this.digrafo == false && origem != destino) {
+            this.removerArco(destino, origem);
+        }
+
+        // Só arcos da árvore alteram distâncias (no máximo um dos sentidos)
+        if (this.pais[destino] == origem) {
+            this.reconstruir(destino);
+        } else if (this.digrafo == false && this.pais[origem] == destino) {
+            this.reconstruir(origem);
+        }
+
+        return true;
+    }
+
+    /**
+     * Caminho mínimo da entrada até a saída, segundo a árvore atual.
+     *
+     * @return caminho Caminho do labirinto, ou vazio se a saída não for alcançável
+     */
+    public Caminho getCaminho() {
+        return Caminho.daArvore(this.pais, 0, this.tamanho - 1);
+    }
+
+    /**
+     * Distância da entrada até um vértice.
+     *
+     * @param vertice Vértice a ser analisado
+     * @return distancia Custo do caminho mínimo, ou Long.MAX_VALUE se não houver caminho
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     */
+    public long getDistancia(int vertice) {
+        this.validar(vertice);
+
+        return this.distancias[vertice];
+    }
+
+    /**
+     * @return afetados Vértices percorridos pela última alteração
+     */
+    public int getAfetados() {
+        return this.afetados;
+    }
+
+    /**
+     * @return tamanho Quantidade de vértices do labirinto
+     */
+    public int getTamanho() {
+        return this.tamanho;
+    }
+
+    /**
+     * @return true se as passagens tiverem um único sentido
+     */
+    public boolean isDigrafo() {
+        return this.digrafo;
+    }
+
+    /**
+     * @return true para custo pela soma dos pesos
+     */
+    public boolean isPonderado() {
+        return this.ponderado;
+    }
+
+    /**
+     * Insere (ou atualiza) um arco nas listas de saída e de entrada.
+     *
+     * @return anterior Peso anterior do arco, ou AUSENTE se for novo
+     */
+    private int inserirArco(int origem, int destino, int peso) {
+        int anterior = this.saidas.inserir(origem, destino, peso);
+
+        if (this.digrafo) {
+            this.entradas.inserir(destino, origem, peso);
+        }
+
+        return anterior;
+    }
+
+    /**
+     * Remove um arco das listas de saída e de entrada.
+     *
+     * @return peso Peso do arco removido, ou AUSENTE se não existir
+     */
+    private int removerArco(int origem, int destino) {
+        int peso = this.saidas.remover(origem, destino);
+
+        if (this.digrafo && peso != AUSENTE) {
+            this.entradas.remover(destino, origem);
+        }
+
+        return peso;
+    }
+
+    /**
+     * Relaxa um arco e, se o destino melhorar, propaga a melhora.
+     */
+    private void relaxar(int origem, int destino, int peso) {
+        if (this.distancias[origem] == INFINITO) {
+            return;
+        }
+
+        long distancia = this.distancias[origem] + this.custo(peso);
+
+        if (distancia < this.distancias[destino]) {
+            this.distancias[destino] = distancia;
+            this.pais[destino] = origem;
+            this.heap.inserirOuDiminuir(destino, distancia);
+            this.propagar();
+        }
+    }
+
+    /**
+     * Refaz os caminhos da subárvore de um vértice, cujo arco
+     * até o pai deixou de existir ou ficou mais caro.
+     *
+     * @param raiz Vértice cuja subárvore perdeu o caminho
+     */
+    private void reconstruir(int raiz) {
+        int marca = this.novaRodada();
+
+        // Vértices da subárvore: filhos são os adjacentes cujo pai é o vértice
+        int quantidade = 0;
+        this.subarvore[quantidade++] = raiz;
+        this.marcas[raiz] = marca;
+
+        for (int i = 0; i < quantidade; i++) {
+            int vertice = this.subarvore[i];
+            int[] destinos = this.saidas.destinos[vertice];
+
+            for (int j = 0; j < this.saidas.graus[vertice]; j++) {
+                int adjacente = destinos[j];
+
+                if (this.pais[adjacente] == vertice && this.marcas[adjacente] != marca) {
+                    this.marcas[adjacente] = marca;
+                    this.subarvore[quantidade++] = adjacente;
+                }
+            }
+        }
+
+        for (int i = 0; i < quantidade; i++) {
+            this.distancias[this.subarvore[i]] = INFINITO;
+            this.pais[this.subarvore[i]] = NULO;
+        }
+
+        // Melhor caminho de cada vértice vindo de fora da subárvore
+        for (int i = 0; i < quantidade; i++) {
+            int vertice = this.subarvore[i];
+            int[] origens = this.entradas.destinos[vertice];
+            int[] pesos = this.entradas.pesos[vertice];
+
+            for (int j = 0; j < this.entradas.graus[vertice]; j++) {
+                int anterior = origens[j];
+
+                if (this.marcas[anterior] != marca && this.distancias[anterior] != INFINITO) {
+                    long distancia = this.distancias[anterior] + this.custo(pesos[j]);
+
+                    if (distancia < this.distancias[vertice]) {
+                        this.distancias[vertice] = distancia;
+                        this.pais[vertice] = anterior;
+                    }
+                }
+            }
+
+            if (this.distancias[vertice] != INFINITO) {
+                this.heap.inserirOuDiminuir(vertice, this.distancias[vertice]);
+            }
+        }
+
+        // Vértices fora da subárvore não melhoram: a propagação fica restrita a ela
+        this.afetados += quantidade;
+        this.propagar();
+    }
+
+    /**
+     * Dijkstra a partir dos vértices do heap, cujas distâncias já
+     * estão atualizadas. Só continua por arcos que melhoram o destino.
+     */
+    private void propagar() {
+        while (this.heap.isEmpty() == false) {
+            int vertice = this.heap.removerMinimo();
+            int[] destinos = this.saidas.destinos[vertice];
+            int[] pesos = this.saidas.pesos[vertice];
+
+            this.afetados++;
+
+            for (int i = 0; i < this.saidas.graus[vertice]; i++) {
+                int adjacente = destinos[i];
+                long distancia = this.distancias[vertice] + this.custo(pesos[i]);
+
+                if (distancia < this.distancias[adjacente]) {
+                    this.distancias[adjacente] = distancia;
+                    this.pais[adjacente] = vertice;
+                    this.heap.inserirOuDiminuir(adjacente, distancia);
+                }
+            }
+        }
+    }
+
+    /**
+     * Custo de um arco: o peso, ou 1 se o labirinto não for ponderado.
+     */
+    private long custo(int peso) {
+        return this.ponderado ? peso : 1;
+    }
+
+    /**
+     * Inicia uma nova rodada de marcação, limpando as marcas
+     * apenas quando o contador dá a volta.
+     *
+     * @return rodada Marca dos vértices desta rodada
+     */
+    private int novaRodada() {
+        if (++this.rodada == Integer.MAX_VALUE) {
+            Arrays.fill(this.marcas, 0);
+            this.rodada = 1;
+        }
+
+        return this.rodada;
+    }
+
+    /**
+     * Verifica se um vértice existe no labirinto.
+     *
+     * @param vertice Vértice a ser verificado
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     */
+    private void validar(int vertice) {
+        if (vertice < 0 || vertice >= this.tamanho) {
+            throw new ArrayIndexOutOfBoundsException("Vértice inexistente: " + vertice);
+        }
+    }
+
+    /**
+     * Verifica se o peso de uma passagem não é negativo.
+     *
+     * @throws IllegalArgumentException Em caso de peso negativo
+     */
+    private void validarPeso(int origem, int destino, int peso) {
+        if (peso < 0) {
+            throw new IllegalArgumentException("Aresta com peso negativo: " + origem + ", " + destino);
+        }
+    }
+
+    /**
+     * Listas de arcos de cada vértice, em arrays que crescem sob
+     * demanda. A remoção troca o arco removido pelo último da lista.
+     * Há no máximo um arco por par de vértices: inserir um arco
+     * existente altera o seu peso (como na compactação do CSR).
+     */
+    private static final class Arcos {
+        // Capacidade inicial da lista de um vértice
+        private static final int CAPACIDADE_INICIAL = 4;
+
+        private final int[][] destinos;
+        private final int[][] pesos;
+        private final int[] graus;
+
+        private Arcos(int tamanho) {
+            this.destinos = new int[tamanho][];
+            this.pesos = new int[tamanho][];
+            this.graus = new int[tamanho];
+
+            for (int i = 0; i < tamanho; i++) {
+                this.destinos[i] = new int[0];
+                this.pesos[i] = new int[0];
+            }
+        }
+
+        /**
+         * @return posicao Posição do arco na lista do vértice, ou -1
+         */
+        private int procurar(int vertice, int adjacente) {
+            int[] destinos = this.destinos[vertice];
+
+            for (int i = 0; i < this.graus[vertice]; i++) {
+                if (destinos[i] == adjacente) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        /**
+         * @return anterior Peso anterior do arco, ou AUSENTE se for novo
+         */
+        private int inserir(int vertice, int adjacente, int peso) {
+            int posicao = this.procurar(vertice, adjacente);
+
+            if (posicao != -1) {
+                int anterior = this.pesos[vertice][posicao];
+                this.pesos[vertice][posicao] = peso;
+
+                return anterior;
+            }
+
+            int grau = this.graus[vertice];
+
+            if (grau == this.destinos[vertice].length) {
+                int capacidade = Math.max(CAPACIDADE_INICIAL, grau * 2);
+                this.destinos[vertice] = Arrays.copyOf(this.destinos[vertice], capacidade);
+                this.pesos[vertice] = Arrays.copyOf(this.pesos[vertice], capacidade);
+            }
+
+            this.destinos[vertice][grau] = adjacente;
+            this.pesos[vertice][grau] = peso;
+            this.graus[vertice]++;
+
+            return AUSENTE;
+        }
+
+        /**
+         * @return peso Peso do arco removido, ou AUSENTE se não existir
+         */
+        private int remover(int vertice, int adjacente) {
+            int posicao = this.procurar(vertice, adjacente);
+
+            if (posicao == -1) {
+                return AUSENTE;
+            }
+
+            int peso = this.pesos[vertice][posicao];
+            int ultimo = --this.graus[vertice];
+
+            this.destinos[vertice][posicao] = this.destinos[vertice][ultimo];
+            this.pesos[vertice][posicao] = this.pesos[vertice][ultimo];
+
+            return peso;
+        }
+    }
+}
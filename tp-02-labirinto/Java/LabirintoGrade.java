@@ -0,0 +1,434 @@
+/**
+ * Labirinto em formato de grade retangular, armazenado
+ * implicitamente: cada célula ocupa um único byte, com um bit
+ * para cada direção (norte, sul, leste, oeste) indicando se
+ * existe passagem para a célula vizinha. Os adjacentes de uma
+ * célula são calculados a partir de sua posição na grade.
+ *
+ * As células são numeradas linha a linha (linha * largura +
+ * coluna), sendo a célula 0 a entrada e a última a saída. A
+ * grade considera custo uniforme: cada passo custa 1, e os
+ * pesos informados na inserção são ignorados.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+public class LabirintoGrade {
+    // Bits de passagem de cada célula
+    private static final byte NORTE = 1;
+    private static final byte OESTE = 2;
+    private static final byte LESTE = 4;
+    private static final byte SUL = 8;
+
+    // Valor nulo para pais das células
+    private static final int NULO = Integer.MIN_VALUE;
+
+    // Dimensões da grade
+    private final int largura;
+    private final int altura;
+
+    // Passagens de cada célula
+    private final byte[] celulas;
+
+    /**
+     * Construtor da grade, com todas as passagens fechadas.
+     *
+     * @param largura Quantidade de colunas
+     * @param altura Quantidade de linhas
+     */
+    public LabirintoGrade(int largura, int altura) {
+        if (largura <= 0 || altura <= 0) {
+            throw new IllegalArgumentException("Dimensões inválidas: " + largura + "x" + altura);
+        }
+
+        this.largura = largura;
+        this.altura = altura;
+        this.celulas = new byte[largura * altura];
+    }
+
+    /**
+     * Abre a passagem entre duas células vizinhas na grade.
+     *
+     * @param origem Célula de origem
+     * @param destino Célula de destino
+     * @param peso Peso da aresta (ignorado, custo uniforme)
+     * @throws IllegalArgumentException Se as células não forem vizinhas
+     */
+    public void inserir(int origem, int destino, int peso) {
+        if (origem < 0 || origem >= this.celulas.length || destino < 0 || destino >= this.celulas.length) {
+            throw new ArrayIndexOutOfBoundsException("Vértice inexistente: " + origem + ", " + destino);
+        }
+
+        // Garante origem < destino: passagem para leste ou para o sul
+        if (origem > destino) {
+            int troca = origem;
+            origem = destino;
+            destino = troca;
+        }
+
+        if (destino == origem + 1 && destino % this.largura != 0) {
+            this.celulas[origem] |= LESTE;
+            this.celulas[destino] |= OESTE;
+        } else if (destino == origem + this.largura) {
+            this.celulas[origem] |= SUL;
+            this.celulas[destino] |= NORTE;
+        } else {
+            throw new IllegalArgumentException("Células não vizinhas na grade: " + origem + ", " + destino);
+        }
+    }
+
+    /**
+     * Retorna a célula vizinha em uma direção, ou -1 caso a
+     * passagem esteja fechada.
+     *
+     * @param celula Célula a ser analisada
+     * @param direcao Direção (NORTE, OESTE, LESTE ou SUL)
+     * @return vizinha Célula vizinha ou -1
+     */
+    private int vizinha(int celula, int direcao) {
+        if ((this.celulas[celula] & direcao) == 0) {
+            return -1;
+        }
+
+        switch (direcao) {
+            case NORTE:
+                return celula - this.largura;
+            case OESTE:
+                return celula - 1;
+            case LESTE:
+                return celula + 1;
+            default:
+                return celula + this.largura;
+        }
+    }
+
+    /**
+     * Verifica se existe passagem de uma célula em uma direção.
+     * Células fora da grade (-1) não possuem passagem.
+     *
+     * @param celula Célula a ser analisada, ou -1
+     * @param direcao Direção da passagem
+     * @return true se a passagem estiver aberta
+     */
+    private boolean aberta(int celula, int direcao) {
+        return celula >= 0 && (this.celulas[celula] & direcao) != 0;
+    }
+
+    /**
+     * Distância de Manhattan entre duas células.
+     *
+     * @param a Primeira célula
+     * @param b Segunda célula
+     * @return distancia Quantidade mínima de passos sem paredes
+     */
+    private int manhattan(int a, int b) {
+        return Math.abs(a % this.largura - b % this.largura) + Math.abs(a / this.largura - b / this.largura);
+    }
+
+    /**
+     * Busca em largura sobre a grade. Os adjacentes são visitados
+     * em ordem crescente (norte, oeste, leste, sul), de modo que
+     * o caminho é o mesmo de {@link Labirinto#getCaminho()} para
+     * as mesmas arestas.
+     *
+     * @return caminho Caminho da entrada até a saída, ou vazio se não existir
+     */
+    public Caminho getCaminho() {
+        int saida = this.celulas.length - 1;
+        int[] pais = this.novosPais();
+        int[] fila = new int[this.celulas.length];
+        boolean[] visitados = new boolean[this.celulas.length];
+        int inicio = 0;
+        int fim = 0;
+
+        fila[fim++] = 0;
+        visitados[0] = true;
+
+        busca:
+        while (inicio < fim) {
+            int celula = fila[inicio++];
+
+            for (int direcao = NORTE; direcao <= SUL; direcao <<= 1) {
+                int vizinha = this.vizinha(celula, direcao);
+
+                if (vizinha != -1 && visitados[vizinha] == false) {
+                    visitados[vizinha] = true;
+                    pais[vizinha] = celula;
+
+                    if (vizinha == saida) {
+                        break busca;
+                    }
+
+                    fila[fim++] = vizinha;
+                }
+            }
+        }
+
+        return Caminho.daArvore(pais, 0, saida);
+    }
+
+    /**
+     * Algoritmo A*, utilizando a distância de Manhattan até a
+     * saída como heurística (admissível com custo uniforme).
+     * Em empates de custo estimado, prioriza a célula mais
+     * próxima da saída.
+     *
+     * @return caminho Caminho mínimo da entrada até a saída, ou vazio se não existir
+     */
+    public Caminho getCaminhoAEstrela() {
+        int saida = this.celulas.length - 1;
+        int[] pais = this.novosPais();
+        int[] custos = new int[this.celulas.length];
+        HeapIndexado heap = new HeapIndexado(this.celulas.length);
+
+        for (int i = 0; i < custos.length; i++) {
+            custos[i] = Integer.MAX_VALUE;
+        }
+
+        custos[0] = 0;
+        heap.inserirOuDiminuir(0, this.prioridade(0, 0, saida));
+
+        while (heap.isEmpty() == false) {
+            int celula = heap.removerMinimo();
+
+            if (celula == saida) {
+                break;
+            }
+
+            for (int direcao = NORTE; direcao <= SUL; direcao <<= 1) {
+                int vizinha = this.vizinha(celula, direcao);
+
+                if (vizinha != -1 && custos[celula] + 1 < custos[vizinha]) {
+                    custos[vizinha] = custos[celula] + 1;
+                    pais[vizinha] = celula;
+                    heap.inserirOuDiminuir(vizinha, this.prioridade(vizinha, custos[vizinha], saida));
+                }
+            }
+        }
+
+        return Caminho.daArvore(pais, 0, saida);
+    }
+
+    /**
+     * Jump point search para grades com 4 direções e custo
+     * uniforme. Ao invés de inserir cada célula na fila de
+     * prioridade, a busca salta em linha reta e só para em
+     * pontos de salto: a saída, células com vizinho forçado
+     * (alcançável apenas passando pela célula) ou, nos saltos
+     * verticais, células de onde um salto horizontal encontra
+     * um ponto de salto. Corredores e salas abertas são
+     * atravessados sem passar pelo heap.
+     *
+     * @return caminho Caminho mínimo da entrada até a saída, ou vazio se não existir
+     */
+    public Caminho getCaminhoJps() {
+        int saida = this.celulas.length - 1;
+
+        // Pai de cada ponto de salto (outro ponto de salto, na mesma linha ou coluna)
+        int[] pais = this.novosPais();
+        int[] custos = new int[this.celulas.length];
+        HeapIndexado heap = new HeapIndexado(this.celulas.length);
+
+        for (int i = 0; i < custos.length; i++) {
+            custos[i] = Integer.MAX_VALUE;
+        }
+
+        custos[0] = 0;
+        heap.inserirOuDiminuir(0, this.prioridade(0, 0, saida));
+
+        while (heap.isEmpty() == false) {
+            int celula = heap.removerMinimo();
+
+            if (celula == saida) {
+                break;
+            }
+
+            // Direções a explorar: todas na entrada; depois, poda pela direção de chegada
+            int direcoes = NORTE | OESTE | LESTE | SUL;
+
+            if (pais[celula] != NULO) {
+                int chegada = this.direcao(pais[celula], celula);
+
+                if (chegada == LESTE || chegada == OESTE) {
+                    direcoes = chegada | NORTE | SUL;
+                } else {
+                    direcoes = chegada | LESTE | OESTE;
+                }
+            }
+
+            for (int direcao = NORTE; direcao <= SUL; direcao <<= 1) {
+                if ((direcoes & direcao) == 0 || this.aberta(celula, direcao) == false) {
+                    continue;
+                }
+
+                int ponto = this.saltar(celula, direcao, saida);
+
+                if (ponto != -1) {
+                    int custo = custos[celula] + this.manhattan(celula, ponto);
+
+                    if (custo < custos[ponto]) {
+                        custos[ponto] = custo;
+                        pais[ponto] = celula;
+                        heap.inserirOuDiminuir(ponto, this.prioridade(ponto, custo, saida));
+                    }
+                }
+            }
+        }
+
+        // Expande os trechos retos entre pontos de salto, da saída para a entrada
+        Caminho caminho = new Caminho();
+        int celula = saida;
+
+        // Saída não alcançada: caminho vazio (a não ser que seja a própria entrada)
+        if (pais[saida] == NULO) {
+            if (saida == 0) {
+                caminho.adicionar(saida);
+            }
+
+            return caminho;
+        }
+
+        while (pais[celula] != NULO) {
+            int pai = pais[celula];
+            int passo = this.deslocamento(this.direcao(pai, celula));
+
+            for (int atual = celula; atual != pai; atual -= passo) {
+                caminho.adicionar(atual);
+            }
+
+            celula = pai;
+        }
+
+        caminho.adicionar(celula);
+        caminho.inverter();
+
+        return caminho;
+    }
+
+    /**
+     * Salta a partir de uma célula em linha reta, retornando o
+     * primeiro ponto de salto encontrado, ou -1 se a passagem
+     * terminar sem encontrá-lo. Implementado iterativamente para
+     * não estourar a pilha em corredores longos.
+     *
+     * @param celula Célula de partida
+     * @param direcao Direção do salto
+     * @param saida Célula de saída
+     * @return ponto Ponto de salto ou -1
+     */
+    private int saltar(int celula, int direcao, int saida) {
+        boolean horizontal = (direcao == LESTE || direcao == OESTE);
+
+        // Direções perpendiculares ao salto
+        int lado1 = horizontal ? NORTE : OESTE;
+        int lado2 = horizontal ? SUL : LESTE;
+
+        int anterior = celula;
+        int atual = this.vizinha(celula, direcao);
+
+        while (atual != -1) {
+            if (atual == saida
+                    || this.forcado(anterior, atual, lado1, direcao)
+                    || this.forcado(anterior, atual, lado2, direcao)) {
+                return atual;
+            }
+
+            // Salto vertical para em células de onde um salto horizontal encontra um ponto
+            if (horizontal == false
+                    && ((this.aberta(atual, LESTE) && this.saltar(atual, LESTE, saida) != -1)
+                        || (this.aberta(atual, OESTE) && this.saltar(atual, OESTE, saida) != -1))) {
+                return atual;
+            }
+
+            anterior = atual;
+            atual = this.vizinha(atual, direcao);
+        }
+
+        return -1;
+    }
+
+    /**
+     * Verifica se a vizinha lateral de uma célula é forçada, ou
+     * seja, se a única forma de alcançá-la a partir da célula
+     * anterior com dois passos é passando pela célula atual.
+     *
+     * @param anterior Célula anterior no salto
+     * @param atual Célula atual no salto
+     * @param lado Direção da vizinha lateral
+     * @param direcao Direção do salto
+     * @return true se a vizinha lateral for forçada
+     */
+    private boolean forcado(int anterior, int atual, int lado, int direcao) {
+        return this.aberta(atual, lado)
+            && (this.aberta(anterior, lado) == false
+                || this.aberta(this.vizinha(anterior, lado), direcao) == false);
+    }
+
+    /**
+     * Direção do movimento entre duas células na mesma linha
+     * ou coluna.
+     *
+     * @param de Célula de partida
+     * @param para Célula de chegada
+     * @return direcao Direção do movimento
+     */
+    private int direcao(int de, int para) {
+        if (de / this.largura == para / this.largura) {
+            return (para > de) ? LESTE : OESTE;
+        }
+
+        return (para > de) ? SUL : NORTE;
+    }
+
+    /**
+     * Deslocamento no índice das células para um passo em
+     * uma direção.
+     *
+     * @param direcao Direção do passo
+     * @return deslocamento Diferença entre os índices
+     */
+    private int deslocamento(int direcao) {
+        switch (direcao) {
+            case NORTE:
+                return -this.largura;
+            case OESTE:
+                return -1;
+            case LESTE:
+                return 1;
+            default:
+                return this.largura;
+        }
+    }
+
+    /**
+     * Prioridade no heap: custo estimado (custo + heurística) nos
+     * bits mais significativos e heurística nos menos significativos,
+     * desempatando em favor da célula mais próxima da saída.
+     *
+     * @param celula Célula a ser inserida no heap
+     * @param custo Custo conhecido até a célula
+     * @param saida Célula de saída
+     * @return prioridade Chave para o heap
+     */
+    private long prioridade(int celula, int custo, int saida) {
+        int heuristica = this.manhattan(celula, saida);
+
+        return ((long) (custo + heuristica) << 32) | heuristica;
+    }
+
+    /**
+     * Cria o array de pais, com todas as posições nulas.
+     *
+     * @return pais Array de pais
+     */
+    private int[] novosPais() {
+        int[] pais = new int[this.celulas.length];
+
+        for (int i = 0; i < pais.length; i++) {
+            pais[i] = NULO;
+        }
+
+        return pais;
+    }
+}
@@ -0,0 +1,231 @@
+/**
+ * Labirinto armazenado como matriz de adjacência de bits,
+ * indicada para labirintos densos: cada linha da matriz é um
+ * array de long (um bit por vértice), ocupando 32 vezes menos
+ * memória que uma matriz de int. A matriz considera custo
+ * uniforme: os pesos informados na inserção são ignorados.
+ *
+ * Os adjacentes de um vértice são enumerados palavra a palavra
+ * com {@link Long#numberOfTrailingZeros(long)}, por meio de um
+ * iterador de inteiros primitivos (ver {@link Adjacentes}),
+ * sem criar listas nem objetos por vértice.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+public class LabirintoMatriz {
+    // Valor nulo para pais dos vértices
+    private static final int NULO = Integer.MIN_VALUE;
+
+    // Quantidade de vértices do labirinto
+    private final int tamanho;
+
+    // Labirinto direcionado (dígrafo) ou não
+    private final boolean digrafo;
+
+    // Quantidade de palavras (64 vértices cada) por linha
+    private final int palavrasPorLinha;
+
+    // Linhas da matriz, uma após a outra
+    private final long[] linhas;
+
+    /**
+     * Construtor da matriz, sem nenhuma aresta.
+     *
+     * @param tamanho Quantidade de vértices do labirinto
+     * @param digrafo true se as arestas tiverem um único sentido
+     * @throws IllegalArgumentException Se a matriz não couber em um array
+     */
+    public LabirintoMatriz(int tamanho, boolean digrafo) {
+        long palavras = (long) tamanho * ((tamanho + 63) >>> 6);
+
+        if (palavras > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Labirinto grande demais para a matriz de bits: " + tamanho);
+        }
+
+        this.tamanho = tamanho;
+        this.digrafo = digrafo;
+        this.palavrasPorLinha = (tamanho + 63) >>> 6;
+        this.linhas = new long[(int) palavras];
+    }
+
+    /**
+     * Insere uma aresta na matriz ([origem][destino] e, se o
+     * labirinto não for direcionado, [destino][origem]).
+     *
+     * @param origem Vértice de origem
+     * @param destino Vértice de destino
+     * @param peso Peso da aresta (ignorado, custo uniforme)
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     */
+    public void inserir(int origem, int destino, int peso) {
+        if (origem < 0 || origem >= this.tamanho || destino < 0 || destino >= this.tamanho) {
+            throw new ArrayIndexOutOfBoundsException("Vértice inexistente: " + origem + ", " + destino);
+        }
+
+        this.linhas[origem * this.palavrasPorLinha + (destino >>> 6)] |= 1L << destino;
+
+        if (this.digrafo == false) {
+            this.linhas[destino * this.palavrasPorLinha + (origem >>> 6)] |= 1L << origem;
+        }
+    }
+
+    /**
+     * Verifica se existe aresta entre dois vértices.
+     *
+     * @param origem Vértice de origem
+     * @param destino Vértice de destino
+     * @return true se houver aresta de origem para destino
+     */
+    public boolean contem(int origem, int destino) {
+        return (this.linhas[origem * this.palavrasPorLinha + (destino >>> 6)] & (1L << destino)) != 0;
+    }
+
+    /**
+     * Retorna a quantidade de adjacentes de um vértice, contando
+     * os bits da sua linha.
+     *
+     * @param vertice Vértice a ser analisado
+     * @return grau Quantidade de adjacentes
+     */
+    public int getGrau(int vertice) {
+        int grau = 0;
+        int inicio = vertice * this.palavrasPorLinha;
+
+        for (int i = inicio; i < inicio + this.palavrasPorLinha; i++) {
+            grau += Long.bitCount(this.linhas[i]);
+        }
+
+        return grau;
+    }
+
+    /**
+     * Retorna um iterador sobre os adjacentes de um vértice, em
+     * ordem crescente. O iterador pode ser reaproveitado para
+     * outros vértices (ver {@link Adjacentes#reiniciar(int)}).
+     *
+     * @param vertice Vértice a ser analisado
+     * @return adjacentes Iterador de adjacentes
+     */
+    public Adjacentes getAdjacentes(int vertice) {
+        Adjacentes adjacentes = new Adjacentes();
+        adjacentes.reiniciar(vertice);
+
+        return adjacentes;
+    }
+
+    /**
+     * Busca em largura sobre a matriz. Cada palavra da linha do
+     * vértice é combinada com os bits dos vértices ainda não
+     * visitados, de modo que apenas adjacentes novos são
+     * percorridos. Os adjacentes são visitados em ordem crescente,
+     * então o caminho é o mesmo de {@link Labirinto#getCaminho()}
+     * para as mesmas arestas.
+     *
+     * @return caminho Caminho da entrada até a saída, ou vazio se não existir
+     */
+    public Caminho getCaminho() {
+        int saida = this.tamanho - 1;
+        int[] pais = new int[this.tamanho];
+        int[] fila = new int[this.tamanho];
+        long[] visitados = new long[this.palavrasPorLinha];
+        int inicio = 0;
+        int fim = 0;
+
+        for (int i = 0; i < this.tamanho; i++) {
+            pais[i] = NULO;
+        }
+
+        fila[fim++] = 0;
+        visitados[0] |= 1L;
+
+        busca:
+        while (inicio < fim) {
+            int vertice = fila[inicio++];
+            int linha = vertice * this.palavrasPorLinha;
+
+            for (int i = 0; i < this.palavrasPorLinha; i++) {
+                // Adjacentes desta palavra ainda não visitados
+                long novos = this.linhas[linha + i] & ~visitados[i];
+                visitados[i] |= novos;
+
+                for (; novos != 0; novos &= novos - 1) {
+                    int adjacente = (i << 6) + Long.numberOfTrailingZeros(novos);
+                    pais[adjacente] = vertice;
+
+                    if (adjacente == saida) {
+                        break busca;
+                    }
+
+                    fila[fim++] = adjacente;
+                }
+            }
+        }
+
+        return Caminho.daArvore(pais, 0, saida);
+    }
+
+    /**
+     * Iterador de inteiros primitivos sobre os adjacentes de um
+     * vértice: percorre a linha palavra a palavra, removendo o
+     * bit menos significativo a cada adjacente retornado.
+     */
+    public final class Adjacentes implements PrimitiveIterator.OfInt {
+        // Posição da próxima palavra e fim (exclusivo) da linha
+        private int palavra;
+        private int fimLinha;
+
+        // Bits ainda não retornados da palavra atual
+        private long bits;
+
+        // Primeiro vértice representado pela palavra atual
+        private int base;
+
+        private Adjacentes() {
+        }
+
+        /**
+         * Posiciona o iterador no início da linha de um vértice.
+         *
+         * @param vertice Vértice cujos adjacentes serão percorridos
+         * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+         */
+        public void reiniciar(int vertice) {
+            if (vertice < 0 || vertice >= tamanho) {
+                throw new ArrayIndexOutOfBoundsException("Vértice inexistente: " + vertice);
+            }
+
+            this.palavra = vertice * palavrasPorLinha;
+            this.fimLinha = this.palavra + palavrasPorLinha;
+            this.bits = 0;
+            this.base = -64;
+        }
+
+        @Override
+        public boolean hasNext() {
+            // Avança até uma palavra com algum bit, sem passar do fim da linha
+            while (this.bits == 0 && this.palavra < this.fimLinha) {
+                this.bits = linhas[this.palavra++];
+                this.base += 64;
+            }
+
+            return this.bits != 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (this.hasNext() == false) {
+                throw new NoSuchElementException("Não há mais adjacentes");
+            }
+
+            int adjacente = this.base + Long.numberOfTrailingZeros(this.bits);
+            this.bits &= this.bits - 1;
+
+            return adjacente;
+        }
+    }
+}
@@ -6,64 +6,310 @@
  * @version 1.0
  */
 
-import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.FileInputStream;
-import java.io.InputStreamReader;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.ListIterator;
 
 public class Main {
+    // Quantidade de árvores de caminhos mantidas no modo de consultas
+    private static final int CAPACIDADE_CACHE = 64;
+
+    // Tamanho do buffer de saída, esvaziado apenas quando cheio
+    private static final int TAMANHO_BUFFER = 1 << 16;
+
     public static void main(String[] args) throws Exception, IOException {
-        // Criando BufferedReader para leitura do arquivo "pub.in".
-        BufferedReader in = new BufferedReader(new InputStreamReader
-                                (System.in));
+        /*
+         * Criando PrintWriter para escrita, sobre um único buffer grande
+         * e sem autoFlush: os caminhos são enviados à saída padrão em
+         * blocos, e não a cada linha.
+         */
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), TAMANHO_BUFFER), false);
 
-        // Criando PrintStream para escrita, com autoFlush
-        PrintStream out = new PrintStream(System.out, true);
+        // Modo de busca, informado como argumento (ver abaixo)
+        String modo = (args.length > 0) ? args[0] : "largura";
 
         /*
-         * Lendo boolean para definir se é grafo ou dígrafo.
-         * OBS: sem utilidade para esse trabalho, já que o
-         * labirinto é um grafo não-direcionado. 
+         * Modos que utilizam a grade implícita, cuja largura é o segundo
+         * argumento. Nos demais modos (exceto a matriz de bits), o segundo
+         * argumento (opcional) é um arquivo no formato binário, lido no
+         * lugar da entrada padrão.
          */
-        boolean digrafo = Boolean.parseBoolean(in.readLine());
+        boolean grade = modo.equals("aestrela") || modo.equals("jps");
+        boolean matriz = modo.equals("matriz");
+
+        // Arestas, grafo e busca em largura fora do heap (ver VetorInteirosDireto)
+        boolean foraDoHeap = modo.equals("fora-do-heap");
+
+        // Labirinto explícito (CSR), grade implícita ou matriz de bits
+        Labirinto labirinto = null;
+        LabirintoGrade labirintoGrade = null;
+        LabirintoMatriz labirintoMatriz = null;
+
+        // Criando leitor de bytes para leitura do arquivo "pub.in".
+        LeitorBytes in = new LeitorBytes(System.in);
+
+        // Consultas (origem,destino) sobre um índice pré-processado (ver Preprocessador)
+        if (modo.equals("hierarquia")) {
+            HierarquiaContracao hierarquia = HierarquiaContracao.carregar(Paths.get(args[1]));
+
+            // Quantidade de consultas e total de vértices visitados
+            long[] totais = new long[2];
+
+            in.lerArestas((origem, destino, peso) -> {
+                escreverConsulta(hierarquia.getCaminho(origem, destino), out);
+                totais[0]++;
+                totais[1] += hierarquia.getVisitados();
+            });
+
+            // Estatísticas na saída de erro, separadas dos caminhos
+            System.err.println(String.format("Consultas: %d, vértices visitados por consulta: %.1f",
+                totais[0], (totais[0] == 0) ? 0.0 : (double) totais[1] / totais[0]));
+
+            in.close();
+            out.close();
+            return;
+        }
 
-        // Lendo número de vértices do labirinto
-        int numVertices = Integer.parseInt(in.readLine());
+        // Labirinto particionado (ver Particionador): um processo por partição
+        if (modo.equals("particionado")) {
+            if (args.length < 2) {
+                throw new IllegalArgumentException("Uso: java Main particionado diretorio [opções da JVM]");
+            }
 
-        // Criando grafo
-        Labirinto labirinto = new Labirinto(numVertices);
+            List<String> opcoesJvm = Arrays.asList(args).subList(2, args.length);
 
-        // Lendo arestas e inserindo no grafo
-        for (String aresta = in.readLine(); aresta.equals("FIM") == false; aresta = in.readLine()) {
-            // Array com dados da aresta
-            String[] dadosAresta = aresta.split(",");
+            try (BuscaParticionada busca = new BuscaParticionada(Paths.get(args[1]), opcoesJvm)) {
+                Caminho caminho = busca.buscar(0, busca.getNumVertices() - 1);
 
-            // Dados da aresta a serem inseridos
-            int origem = Integer.parseInt(dadosAresta[0]);
-            int destino = Integer.parseInt(dadosAresta[1]);
-            int peso = Integer.parseInt(dadosAresta[2]);
+                if (caminho.isVazio()) {
+                    out.println("Caminho inexistente");
+                } else {
+                    caminho.escreverArestas(out);
+                }
 
-            // Inserindo aresta no grafo
-            labirinto.inserir(origem, destino, peso);
+                // Estatísticas na saída de erro, separadas do caminho
+                System.err.println(String.format("Partições: %d, níveis: %d, mensagens de fronteira: %d",
+                    busca.getNumParticoes(), busca.getNiveis(), busca.getNumMensagens()));
+            }
+
+            in.close();
+            out.close();
+            return;
         }
 
-        // Fechando BufferedReader
+        // Fase de leitura do labirinto (ver Metricas, -Dgrafos.metricas=true)
+        Metricas.EventoFase fase = Metricas.iniciarFase("leitura");
+
+        if (grade == false && matriz == false && args.length > 1) {
+            // Labirinto convertido para o formato binário (ver Conversor): sem leitura de texto
+            labirinto = Labirinto.carregar(Paths.get(args[1]), foraDoHeap);
+        } else {
+            /*
+             * Lendo boolean para definir se é grafo ou dígrafo.
+             * No dígrafo, cada aresta é um corredor de mão única.
+             */
+            boolean digrafo = in.lerBooleano();
+
+            // Lendo número de vértices do labirinto
+            int numVertices = in.lerInteiro();
+
+            // Criando grafo e lendo arestas até FIM, sem objetos por aresta
+            if (grade) {
+                int largura = Integer.parseInt(args[1]);
+
+                // Passagens da grade valem nos dois sentidos
+                if (digrafo) {
+                    throw new IllegalArgumentException("Grade implícita não suporta dígrafo");
+                }
+
+                if (numVertices % largura != 0) {
+                    throw new IllegalArgumentException("Número de vértices não forma uma grade de largura " + largura);
+                }
+
+                labirintoGrade = new LabirintoGrade(largura, numVertices / largura);
+                in.lerArestas(labirintoGrade::inserir);
+            } else if (matriz) {
+                labirintoMatriz = new LabirintoMatriz(numVertices, digrafo);
+                in.lerArestas(labirintoMatriz::inserir);
+            } else {
+                labirinto = new Labirinto(numVertices, digrafo, foraDoHeap);
+                in.lerArestas(labirinto::inserir);
+            }
+        }
+
+        Metricas.encerrarFase(fase);
+
+        // Consultas (origem,destino) após o labirinto, respondidas com a mesma cache
+        if (modo.equals("consultas") || modo.equals("consultas-dijkstra")) {
+            ConsultasLabirinto consultas = new ConsultasLabirinto(labirinto, CAPACIDADE_CACHE,
+                modo.equals("consultas-dijkstra"));
+
+            in.lerArestas((origem, destino, peso) -> escreverConsulta(consultas.getCaminho(origem, destino), out));
+
+            // Estatísticas na saída de erro, separadas dos caminhos
+            System.err.println(consultas.getEstatisticas());
+
+            in.close();
+            out.close();
+            return;
+        }
+
+        // Consultas (origem,destino) respondidas pelas matrizes de todos os pares
+        if (modo.equals("pares") || modo.equals("pares-dijkstra")) {
+            long inicio = System.nanoTime();
+            DistanciasTodosPares pares = labirinto.getTodosPares(modo.equals("pares-dijkstra"));
+            long tempo = System.nanoTime() - inicio;
+
+            in.lerArestas((origem, destino, peso) -> escreverConsulta(pares.getCaminho(origem, destino), out));
+
+            // Estatísticas na saída de erro, separadas dos caminhos
+            System.err.println(String.format("Todos os pares: %.1f ms, %d bytes", tempo / 1e6,
+                6L * labirinto.getTamanho() * labirinto.getTamanho()));
+
+            in.close();
+            out.close();
+            return;
+        }
+
+        /*
+         * Alterações de passagens após o labirinto: "origem,destino[,peso]"
+         * abre a passagem (ou altera seu peso) e peso negativo a fecha.
+         * Mostra o caminho inicial e o caminho após cada alteração.
+         */
+        if (modo.equals("dinamico") || modo.equals("dinamico-dijkstra")) {
+            LabirintoDinamico dinamico = labirinto.getDinamico(modo.equals("dinamico-dijkstra"));
+            escreverConsulta(dinamico.getCaminho(), out);
+
+            // Quantidade de alterações e total de vértices afetados
+            long[] totais = new long[2];
+
+            in.lerArestas((origem, destino, peso) -> {
+                if (peso < 0) {
+                    dinamico.remover(origem, destino);
+                } else {
+                    dinamico.inserir(origem, destino, peso);
+                }
+
+                escreverConsulta(dinamico.getCaminho(), out);
+                totais[0]++;
+                totais[1] += dinamico.getAfetados();
+            });
+
+            // Estatísticas na saída de erro, separadas dos caminhos
+            System.err.println(String.format("Alterações: %d, vértices afetados por alteração: %.1f",
+                totais[0], (totais[0] == 0) ? 0.0 : (double) totais[1] / totais[0]));
+
+            in.close();
+            out.close();
+            return;
+        }
+
+        // Fechando leitor
         in.close();
 
-        // Recuperando caminho do labirinto
-        List<Integer> caminho = labirinto.getCaminho();
+        /*
+         * Recuperando caminho do labirinto, de acordo com o modo
+         * informado como argumento:
+         * largura (padrão) [arquivo] -> menor número de arestas
+         * dijkstra [arquivo] -> menor soma dos pesos
+         * bidirecional [arquivo] -> menor número de arestas, buscando
+         *                           a partir da entrada e da saída
+         * paralelo [arquivo] -> mesmo caminho da busca em largura,
+         *                       utilizando todos os processadores
+         * aestrela <largura> -> menor número de passos na grade
+         * jps <largura> -> menor número de passos na grade, com
+         *                  jump point search
+         * matriz -> mesmo caminho da busca em largura, sobre a
+         *           matriz de adjacência de bits (labirintos densos)
+         * consultas [arquivo] -> após o labirinto, lê consultas
+         *                        "origem,destino" (uma por linha) e
+         *                        mostra o caminho de cada uma
+         * consultas-dijkstra [arquivo] -> consultas de menor custo
+         * hierarquia <indice> -> consultas "origem,destino" sobre o
+         *                        índice gravado pelo Preprocessador
+         * pares [arquivo] -> consultas "origem,destino" sobre as
+         *                    distâncias de todos os pares
+         * pares-dijkstra [arquivo] -> idem, com custo pelos pesos
+         * dinamico [arquivo] -> após o labirinto, lê alterações
+         *                       "origem,destino[,peso]" (peso
+         *                       negativo fecha a passagem) e mostra
+         *                       o caminho após cada uma
+         * dinamico-dijkstra [arquivo] -> idem, com custo pelos pesos
+         * particionado <diretorio> [opções da JVM] -> mesmo caminho
+         *                       da busca em largura, sobre as partições
+         *                       gravadas pelo Particionador, com um
+         *                       processo por partição
+         * fora-do-heap [arquivo] -> mesmo caminho da busca em largura,
+         *                           com o labirinto e a busca fora do
+         *                           heap (limite: -XX:MaxDirectMemorySize)
+         */
+        Caminho caminho;
+        fase = Metricas.iniciarFase("resolucao");
+
+        switch (modo) {
+            case "largura":
+            case "fora-do-heap":
+                caminho = labirinto.getCaminho();
+                break;
+            case "dijkstra":
+                caminho = labirinto.getCaminhoPonderado();
+                break;
+            case "bidirecional":
+                caminho = labirinto.getCaminhoBidirecional();
+                break;
+            case "paralelo":
+                caminho = labirinto.getCaminhoParalelo();
+                break;
+            case "aestrela":
+                caminho = labirintoGrade.getCaminhoAEstrela();
+                break;
+            case "jps":
+                caminho = labirintoGrade.getCaminhoJps();
+                break;
+            case "matriz":
+                caminho = labirintoMatriz.getCaminho();
+                break;
+            default:
+                throw new IllegalArgumentException("Modo de busca inválido: " + modo);
+        }
+
+        Metricas.encerrarFase(fase);
+
+        // Mostrando caminho, ou indicando que a saída é inalcançável
+        fase = Metricas.iniciarFase("escrita");
 
-        // Mostrando caminho
-        for (int i = 0; i < caminho.size() - 1; i++) {
-            out.println(caminho.get(i) + " --> " + caminho.get(i + 1));
+        if (caminho.isVazio()) {
+            out.println("Caminho inexistente");
+        } else {
+            caminho.escreverArestas(out);
         }
 
-        // Fechando PrintStream
+        // Fechando PrintWriter (esvazia o buffer)
         out.close();
+        Metricas.encerrarFase(fase);
+    }
+
+    /**
+     * Escreve a resposta de uma consulta em uma linha: o caminho
+     * "a --> b --> c", ou "Caminho inexistente" se o destino não
+     * for alcançável (caminho vazio). Um caminho com apenas um
+     * vértice é o da origem até ela mesma.
+     *
+     * @param caminho Caminho da consulta
+     * @param out Saída (bufferizada) das respostas
+     */
+    private static void escreverConsulta(Caminho caminho, PrintWriter out) {
+        if (caminho.isVazio()) {
+            out.println("Caminho inexistente");
+        } else {
+            caminho.escreverLinha(out);
+        }
     }
 }
@@ -0,0 +1,474 @@
+/**
+ * Partição (faixa de vértices) de um labirinto grande demais
+ * para um único processo, executada como processo trabalhador
+ * da busca particionada ({@link BuscaParticionada}). Cada
+ * trabalhador carrega apenas os arcos que saem dos seus vértices
+ * e guarda pais e níveis apenas para eles; os destinos dos arcos
+ * são vértices globais, possivelmente de outras partições.
+ *
+ * Os vértices são divididos em faixas contíguas de
+ * getTamanhoParticao(numVertices, numParticoes) vértices (a
+ * última pode ser menor). Em uma grade numerada por linhas, cada
+ * faixa é uma sequência de linhas da grade.
+ *
+ * Formato do arquivo de cada partição (gravado pelo
+ * {@link Particionador}, inteiros de 32 bits, big-endian):
+ * <pre>
+ * cabeçalho  -> MAGICO, VERSAO, numVertices, numParticoes, particao
+ * arcos      -> pares (origem, destino), até o fim do arquivo
+ * </pre>
+ *
+ * O trabalhador lê comandos da entrada padrão e responde na
+ * saída padrão (ambas ligadas por pipes ao coordenador):
+ * <pre>
+ * INICIAR destino                -> (sem resposta) nova busca
+ * ACEITAR n (v, pai, posPai)*n   -> encontrou, novos, chaves*novos
+ * EXPANDIR posicoes*novos        -> para cada partição: n (w, pai, posPai)*n
+ * TRECHO v                       -> n, vértices*n, próximo
+ * FIM                            -> encerra o processo
+ * </pre>
+ * Em ACEITAR, cada vértice ainda não visitado entra no nível,
+ * com o pai de menor posição (posPai) no nível anterior. A chave
+ * de cada novo vértice é (posPai, vértice), a ordem em que a busca
+ * sequencial o retiraria da fila; o coordenador intercala as
+ * chaves de todas as partições e devolve a posição global de cada
+ * vértice em EXPANDIR. As chaves só são enviadas se o destino não
+ * foi encontrado.
+ *
+ * Uso (iniciado pelo coordenador): java ParticaoLabirinto particao.par
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+public class ParticaoLabirinto {
+    // Identificação do formato ("PART")
+    public static final int MAGICO = 0x50415254;
+    public static final int VERSAO = 1;
+
+    // Tamanho do cabeçalho, em bytes
+    public static final int CABECALHO = 5 * Integer.BYTES;
+
+    // Comandos do coordenador
+    public static final int INICIAR = 1;
+    public static final int ACEITAR = 2;
+    public static final int EXPANDIR = 3;
+    public static final int TRECHO = 4;
+    public static final int FIM = 5;
+
+    // Valor nulo para pais dos vértices
+    public static final int NULO = Integer.MIN_VALUE;
+
+    // Tamanho dos buffers dos pipes
+    public static final int TAMANHO_BUFFER = 1 << 16;
+
+    // Quantidade total de vértices e de partições do labirinto
+    private final int numVertices;
+    private final int numParticoes;
+
+    // Partição deste trabalhador e sua faixa [inicio, fim) de vértices
+    private final int particao;
+    private final int inicio;
+    private final int fim;
+
+    // Vértices de cada partição (exceto possivelmente a última)
+    private final int tamanhoParticao;
+
+    // Arcos dos vértices da faixa (índice local), destinos globais
+    private final int[] primeiroArco;
+    private final int[] destinos;
+
+    // Pai e nível de cada vértice da faixa (-1 = não visitado)
+    private final int[] pais;
+    private final int[] niveis;
+
+    // Menor posição de pai (no nível anterior) de cada vértice do nível atual
+    private final int[] posicoesPai;
+
+    // Vértices (locais) do nível atual, ordenados pela chave, e suas posições globais
+    private int[] fronteira;
+    private int[] posicoes;
+    private int tamanhoFronteira;
+
+    // Nível atual e vértice procurado
+    private int nivel;
+    private int destino;
+
+    // Mensagens (w, pai, posPai) para cada partição
+    private final int[][] mensagens;
+    private final int[] tamanhosMensagens;
+
+    /**
+     * Construtor da partição, que lê o arquivo e compacta os
+     * arcos da faixa no formato CSR (ordenação por contagem
+     * pela origem, e destinos em ordem crescente em cada vértice,
+     * como em {@link GrafoCsr}).
+     *
+     * @param arquivo Arquivo da partição
+     * @throws IOException Em caso de erro de leitura ou formato inválido
+     */
+    public ParticaoLabirinto(Path arquivo) throws IOException {
+        int[] cabecalho = lerCabecalho(arquivo);
+
+        this.numVertices = cabecalho[0];
+        this.numParticoes = cabecalho[1];
+        this.particao = cabecalho[2];
+        this.tamanhoParticao = getTamanhoParticao(this.numVertices, this.numParticoes);
+        this.inicio = (int) Math.min(this.numVertices, (long) this.particao * this.tamanhoParticao);
+        this.fim = (int) Math.min(this.numVertices, (long) this.inicio + this.tamanhoParticao);
+
+        int tamanho = this.fim - this.inicio;
+        long numArcos = (Files.size(arquivo) - CABECALHO) / (2 * Integer.BYTES);
+
+        if (numArcos > Integer.MAX_VALUE - 8) {
+            throw new IOException("Partição com arcos demais: " + arquivo);
+        }
+
+        // Arcos na ordem do arquivo
+        int[] origens = new int[(int) numArcos];
+        int[] destinosArquivo = new int[(int) numArcos];
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(arquivo), TAMANHO_BUFFER))) {
+            in.skipBytes(CABECALHO);
+
+            for (int i = 0; i < numArcos; i++) {
+                origens[i] = in.readInt() - this.inicio;
+                destinosArquivo[i] = in.readInt();
+
+                if (origens[i] < 0 || origens[i] >= tamanho) {
+                    throw new IOException("Arco fora da partição: " + (origens[i] + this.inicio));
+                }
+            }
+        }
+
+        // Contagem de arcos por origem, acumulada em posições iniciais
+        this.primeiroArco = new int[tamanho + 1];
+
+        for (int i = 0; i < numArcos; i++) {
+            this.primeiroArco[origens[i] + 1]++;
+        }
+
+        for (int v = 0; v < tamanho; v++) {
+            this.primeiroArco[v + 1] += this.primeiroArco[v];
+        }
+
+        int[] proximo = Arrays.copyOf(this.primeiroArco, tamanho);
+        this.destinos = new int[(int) numArcos];
+
+        for (int i = 0; i < numArcos; i++) {
+            this.destinos[proximo[origens[i]]++] = destinosArquivo[i];
+        }
+
+        // Destinos em ordem crescente, a mesma ordem de visita da busca sequencial
+        for (int v = 0; v < tamanho; v++) {
+            Arrays.sort(this.destinos, this.primeiroArco[v], this.primeiroArco[v + 1]);
+        }
+
+        this.pais = new int[tamanho];
+        this.niveis = new int[tamanho];
+        this.posicoesPai = new int[tamanho];
+        this.fronteira = new int[16];
+        this.posicoes = new int[16];
+        this.tamanhoFronteira = 0;
+
+        this.mensagens = new int[this.numParticoes][48];
+        this.tamanhosMensagens = new int[this.numParticoes];
+    }
+
+    /**
+     * Lê o cabeçalho de um arquivo de partição.
+     *
+     * @param arquivo Arquivo da partição
+     * @return cabecalho numVertices, numParticoes e particao
+     * @throws IOException Em caso de erro de leitura ou formato inválido
+     */
+    public static int[] lerCabecalho(Path arquivo) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(arquivo))) {
+            if (in.readInt() != MAGICO) {
+                throw new IOException("Arquivo não está no formato de partição: " + arquivo);
+            }
+
+            int versao = in.readInt();
+            if (versao != VERSAO) {
+                throw new IOException("Versão do formato não suportada: " + versao);
+            }
+
+            int[] cabecalho = { in.readInt(), in.readInt(), in.readInt() };
+
+            if (cabecalho[0] < 0 || cabecalho[1] <= 0 || cabecalho[2] < 0 || cabecalho[2] >= cabecalho[1]) {
+                throw new IOException("Cabeçalho inválido: " + arquivo);
+            }
+
+            return cabecalho;
+        }
+    }
+
+    /**
+     * Quantidade de vértices de cada partição (a última pode ter menos).
+     *
+     * @param numVertices Quantidade de vértices do labirinto
+     * @param numParticoes Quantidade de partições
+     * @return tamanho Vértices por partição (pelo menos 1)
+     */
+    public static int getTamanhoParticao(int numVertices, int numParticoes) {
+        return Math.max(1, (int) (((long) numVertices + numParticoes - 1) / numParticoes));
+    }
+
+    /**
+     * Arquivo de uma partição dentro do diretório.
+     *
+     * @param diretorio Diretório das partições
+     * @param particao Número da partição
+     * @return arquivo Caminho do arquivo da partição
+     */
+    public static Path getArquivo(Path diretorio, int particao) {
+        return diretorio.resolve("particao-" + particao + ".par");
+    }
+
+    /**
+     * @return numArcos Quantidade de arcos da partição
+     */
+    public int getNumArcos() {
+        return this.destinos.length;
+    }
+
+    /**
+     * Atende os comandos do coordenador até FIM (ou até o
+     * coordenador fechar o pipe).
+     *
+     * @param in Comandos do coordenador
+     * @param out Respostas ao coordenador
+     * @throws IOException Em caso de erro de comunicação
+     */
+    public void atender(DataInputStream in, DataOutputStream out) throws IOException {
+        // Partição carregada: informa a quantidade de arcos
+        out.writeInt(this.getNumArcos());
+        out.flush();
+
+        while (true) {
+            int comando = in.readInt();
+
+            switch (comando) {
+                case INICIAR:
+                    this.iniciar(in.readInt());
+                    break;
+                case ACEITAR:
+                    this.aceitar(in, out);
+                    break;
+                case EXPANDIR:
+                    this.expandir(in, out);
+                    break;
+                case TRECHO:
+                    this.trecho(in.readInt(), out);
+                    break;
+                case FIM:
+                    return;
+                default:
+                    throw new IOException("Comando inválido: " + comando);
+            }
+
+            out.flush();
+        }
+    }
+
+    /**
+     * Prepara uma nova busca: nenhum vértice visitado.
+     *
+     * @param destino Vértice procurado
+     */
+    private void iniciar(int destino) {
+        Arrays.fill(this.niveis, -1);
+        Arrays.fill(this.pais, NULO);
+
+        this.destino = destino;
+        this.nivel = 0;
+        this.tamanhoFronteira = 0;
+    }
+
+    /**
+     * Recebe os vértices alcançados (da faixa) no nível atual,
+     * mantendo para cada um o pai de menor posição, e responde
+     * se o destino foi encontrado, quantos vértices entraram no
+     * nível e suas chaves (posPai, vértice) em ordem crescente.
+     */
+    private void aceitar(DataInputStream in, DataOutputStream out) throws IOException {
+        int quantidade = in.readInt();
+        boolean encontrou = false;
+
+        this.tamanhoFronteira = 0;
+
+        for (int i = 0; i < quantidade; i++) {
+            int vertice = in.readInt();
+            int pai = in.readInt();
+            int posicaoPai = in.readInt();
+            int local = vertice - this.inicio;
+
+            if (this.niveis[local] == -1) {
+                // Primeira vez alcançado: entra no nível atual
+                this.niveis[local] = this.nivel;
+                this.pais[local] = pai;
+                this.posicoesPai[local] = posicaoPai;
+                this.adicionarFronteira(local);
+
+                encontrou |= (vertice == this.destino);
+            } else if (this.niveis[local] == this.nivel && posicaoPai < this.posicoesPai[local]) {
+                // Alcançado de novo no mesmo nível, por um pai que sai antes da fila
+                this.pais[local] = pai;
+                this.posicoesPai[local] = posicaoPai;
+            }
+        }
+
+        this.nivel++;
+
+        out.writeInt(encontrou ? 1 : 0);
+        out.writeInt(this.tamanhoFronteira);
+
+        if (encontrou) {
+            return;
+        }
+
+        // Chaves (posPai, vértice): a ordem da fila da busca sequencial
+        long[] chaves = new long[this.tamanhoFronteira];
+
+        for (int i = 0; i < this.tamanhoFronteira; i++) {
+            int local = this.fronteira[i];
+            chaves[i] = ((long) this.posicoesPai[local] << 32) | (local + this.inicio);
+        }
+
+        Arrays.sort(chaves);
+
+        for (int i = 0; i < this.tamanhoFronteira; i++) {
+            this.fronteira[i] = (int) chaves[i] - this.inicio;
+            out.writeLong(chaves[i]);
+        }
+    }
+
+    /**
+     * Recebe a posição global de cada vértice do nível (na ordem
+     * das chaves) e envia, para cada partição, os adjacentes ainda
+     * não visitados dos vértices do nível.
+     */
+    private void expandir(DataInputStream in, DataOutputStream out) throws IOException {
+        for (int i = 0; i < this.tamanhoFronteira; i++) {
+            this.posicoes[i] = in.readInt();
+        }
+
+        Arrays.fill(this.tamanhosMensagens, 0);
+
+        for (int i = 0; i < this.tamanhoFronteira; i++) {
+            int local = this.fronteira[i];
+            int vertice = local + this.inicio;
+
+            for (int arco = this.primeiroArco[local]; arco < this.primeiroArco[local + 1]; arco++) {
+                int adjacente = this.destinos[arco];
+                int particao = adjacente / this.tamanhoParticao;
+
+                // Adjacentes da própria faixa já visitados não geram mensagem
+                if (particao == this.particao && this.niveis[adjacente - this.inicio] != -1) {
+                    continue;
+                }
+
+                this.adicionarMensagem(particao, adjacente, vertice, this.posicoes[i]);
+            }
+        }
+
+        for (int particao = 0; particao < this.numParticoes; particao++) {
+            int tamanho = this.tamanhosMensagens[particao];
+            int[] mensagens = this.mensagens[particao];
+
+            out.writeInt(tamanho / 3);
+
+            for (int i = 0; i < tamanho; i++) {
+                out.writeInt(mensagens[i]);
+            }
+        }
+    }
+
+    /**
+     * Envia o trecho do caminho dentro da faixa: os vértices
+     * a partir de um vértice, seguindo os pais enquanto estiverem
+     * na faixa, e o próximo vértice (de outra faixa, ou NULO se
+     * a raiz foi alcançada).
+     */
+    private void trecho(int vertice, DataOutputStream out) throws IOException {
+        // Contando os vértices do trecho
+        int quantidade = 0;
+        int proximo = vertice;
+
+        while (proximo != NULO && proximo >= this.inicio && proximo < this.fim) {
+            if (this.niveis[proximo - this.inicio] == -1) {
+                throw new IOException("Vértice não alcançado pela busca: " + proximo);
+            }
+
+            quantidade++;
+            proximo = this.pais[proximo - this.inicio];
+        }
+
+        out.writeInt(quantidade);
+
+        for (int v = vertice; v != proximo; v = this.pais[v - this.inicio]) {
+            out.writeInt(v);
+        }
+
+        out.writeInt(proximo);
+    }
+
+    /**
+     * Acrescenta um vértice à fronteira, dobrando os arrays quando cheios.
+     */
+    private void adicionarFronteira(int vertice) {
+        if (this.tamanhoFronteira == this.fronteira.length) {
+            this.fronteira = Arrays.copyOf(this.fronteira, this.fronteira.length * 2);
+            this.posicoes = Arrays.copyOf(this.posicoes, this.fronteira.length);
+        }
+
+        this.fronteira[this.tamanhoFronteira++] = vertice;
+    }
+
+    /**
+     * Acrescenta uma mensagem (w, pai, posPai) para uma partição.
+     */
+    private void adicionarMensagem(int particao, int vertice, int pai, int posicaoPai) {
+        int tamanho = this.tamanhosMensagens[particao];
+
+        if (tamanho + 3 > this.mensagens[particao].length) {
+            this.mensagens[particao] = Arrays.copyOf(this.mensagens[particao], this.mensagens[particao].length * 2);
+        }
+
+        this.mensagens[particao][tamanho] = vertice;
+        this.mensagens[particao][tamanho + 1] = pai;
+        this.mensagens[particao][tamanho + 2] = posicaoPai;
+        this.tamanhosMensagens[particao] = tamanho + 3;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Uso: java ParticaoLabirinto particao.par");
+        }
+
+        ParticaoLabirinto particao = new ParticaoLabirinto(Paths.get(args[0]));
+
+        // Pipes com o coordenador: nada além do protocolo é escrito na saída padrão
+        DataInputStream in = new DataInputStream(
+            new BufferedInputStream(new FileInputStream(FileDescriptor.in), TAMANHO_BUFFER));
+        DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), TAMANHO_BUFFER));
+
+        particao.atender(in, out);
+        out.close();
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Particionador do labirinto do formato texto (o mesmo lido por
+ * Main) em faixas de vértices, uma por arquivo, para a busca
+ * particionada em vários processos ({@link BuscaParticionada}).
+ * As arestas são repassadas aos arquivos à medida que são lidas,
+ * sem montar o labirinto: nenhum processo precisa guardar o
+ * labirinto inteiro. Em labirintos não direcionados, cada aresta
+ * gera um arco em cada sentido, no arquivo da faixa de sua origem.
+ *
+ * Formato dos arquivos: ver {@link ParticaoLabirinto}.
+ *
+ * Uso: java Particionador diretorio particoes < entrada.in
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class Particionador {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Uso: java Particionador diretorio particoes < entrada.in");
+        }
+
+        Path diretorio = Paths.get(args[0]);
+        int numParticoes = Integer.parseInt(args[1]);
+
+        if (numParticoes <= 0) {
+            throw new IllegalArgumentException("Quantidade de partições inválida: " + numParticoes);
+        }
+
+        // Criando leitor de bytes para leitura da entrada padrão
+        LeitorBytes in = new LeitorBytes(System.in);
+
+        // Lendo boolean de dígrafo e número de vértices
+        boolean digrafo = in.lerBooleano();
+        int numVertices = in.lerInteiro();
+        int tamanhoParticao = ParticaoLabirinto.getTamanhoParticao(numVertices, numParticoes);
+
+        Files.createDirectories(diretorio);
+
+        // Um arquivo por partição, iniciado pelo cabeçalho
+        DataOutputStream[] particoes = new DataOutputStream[numParticoes];
+        long[] numArcos = new long[numParticoes];
+
+        for (int i = 0; i < numParticoes; i++) {
+            particoes[i] = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(ParticaoLabirinto.getArquivo(diretorio, i)), ParticaoLabirinto.TAMANHO_BUFFER));
+
+            particoes[i].writeInt(ParticaoLabirinto.MAGICO);
+            particoes[i].writeInt(ParticaoLabirinto.VERSAO);
+            particoes[i].writeInt(numVertices);
+            particoes[i].writeInt(numParticoes);
+            particoes[i].writeInt(i);
+        }
+
+        // Repassando cada aresta lida até FIM
+        in.lerArestas((origem, destino, peso) -> {
+            if (origem < 0 || origem >= numVertices || destino < 0 || destino >= numVertices) {
+                throw new ArrayIndexOutOfBoundsException("Vértice inexistente: " + origem + ", " + destino);
+            }
+
+            try {
+                escreverArco(particoes[origem / tamanhoParticao], origem, destino);
+                numArcos[origem / tamanhoParticao]++;
+
+                if (digrafo == false) {
+                    escreverArco(particoes[destino / tamanhoParticao], destino, origem);
+                    numArcos[destino / tamanhoParticao]++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        in.close();
+
+        for (int i = 0; i < numParticoes; i++) {
+            particoes[i].close();
+            System.out.println(String.format("Partição %d: vértices %d a %d, %d arcos", i,
+                Math.min(numVertices, (long) i * tamanhoParticao),
+                Math.min(numVertices, (long) (i + 1) * tamanhoParticao) - 1, numArcos[i]));
+        }
+    }
+
+    /**
+     * Escreve um arco no arquivo de uma partição.
+     */
+    private static void escreverArco(DataOutputStream particao, int origem, int destino) throws IOException {
+        particao.writeInt(origem);
+        particao.writeInt(destino);
+    }
+}
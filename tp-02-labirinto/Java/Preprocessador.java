@@ -0,0 +1,56 @@
+/**
+ * Pré-processamento do labirinto em um índice de hierarquia de
+ * contração ({@link HierarquiaContracao}), gravado em disco para
+ * ser consultado por Main no modo "hierarquia". O labirinto é lido
+ * no formato texto (entrada padrão) ou no formato binário do
+ * Conversor. Mostra o tempo de pré-processamento e o tamanho
+ * do índice.
+ *
+ * Uso: java Preprocessador <largura|dijkstra> indice.ch [labirinto.lab] < entrada.in
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+public class Preprocessador {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || (args[0].equals("largura") == false && args[0].equals("dijkstra") == false)) {
+            throw new IllegalArgumentException(
+                "Uso: java Preprocessador <largura|dijkstra> indice.ch [labirinto.lab] < entrada.in");
+        }
+
+        Labirinto labirinto;
+
+        if (args.length > 2) {
+            labirinto = Labirinto.carregar(Paths.get(args[2]));
+        } else {
+            // Criando leitor de bytes para leitura da entrada padrão
+            LeitorBytes in = new LeitorBytes(System.in);
+
+            // Lendo boolean de dígrafo e número de vértices
+            boolean digrafo = in.lerBooleano();
+            int numVertices = in.lerInteiro();
+
+            // Criando grafo e lendo arestas até FIM
+            labirinto = new Labirinto(numVertices, digrafo);
+            in.lerArestas(labirinto::inserir);
+
+            in.close();
+        }
+
+        // Contração de todos os vértices
+        long inicio = System.nanoTime();
+        HierarquiaContracao hierarquia = labirinto.getHierarquia(args[0].equals("dijkstra"));
+        long tempo = System.nanoTime() - inicio;
+
+        hierarquia.salvar(Paths.get(args[1]));
+
+        System.out.println(String.format("Pré-processamento: %.1f ms", tempo / 1e6));
+        System.out.println(String.format("Atalhos: %d, arcos no índice: %d", hierarquia.getNumAtalhos(),
+            hierarquia.getNumArcos()));
+        System.out.println(String.format("Tamanho do índice: %d bytes", hierarquia.getTamanhoBytes()));
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Benchmark da ordenação topológica ({@link Grafo#ordenacaoKahn()}
+ * e {@link Grafo#ordenacaoPorNiveis()}, paralela por níveis)
+ * em DAGs sintéticos em camadas (ver {@link Geradores}), de 10³
+ * vértices até o máximo informado, multiplicando por 10. Cada
+ * vértice vira uma disciplina ("D" + número) cujos pré-requisitos
+ * são as origens dos seus arcos, como nas linhas da entrada.
+ * Mostra vazão e taxa de alocação de cada tamanho (ver
+ * {@link Medidor}). Quando uma ordenação passa do limite do
+ * medidor, os tamanhos maiores daquela ordenação são ignorados.
+ *
+ * Uso: java -Xmx8g Benchmark [maximo] [semente]
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.2
+ */
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Benchmark {
+    // Pré-requisitos por disciplina e camadas alcançadas por eles
+    private static final int GRAU_ENTRADA = 2;
+    private static final int ALCANCE = 3;
+
+    public static void main(String[] args) throws Exception {
+        long maximo = (args.length > 0) ? Long.parseLong(args[0]) : 10_000_000;
+        long semente = (args.length > 1) ? Long.parseLong(args[1]) : 42;
+
+        // Criando PrintStream para escrita, com autoFlush
+        PrintStream out = new PrintStream(System.out, true);
+        Medidor medidor = new Medidor();
+
+        out.println(Medidor.cabecalho());
+
+        // Ordenações ainda abaixo do limite de tempo
+        boolean kahn = true;
+        boolean niveis = true;
+
+        for (long n = 1000; n <= maximo && (kahn || niveis); n *= 10) {
+            // Camadas com cerca de raiz de n disciplinas
+            int numVertices = (int) n;
+            int largura = (int) Math.sqrt(n);
+
+            // Lista de cada disciplina: nome seguido dos pré-requisitos
+            List<List<String>> disciplinas = new ArrayList<>(numVertices);
+            for (int i = 0; i < numVertices; i++) {
+                List<String> lista = new ArrayList<>(GRAU_ENTRADA + 1);
+                lista.add("D" + i);
+                disciplinas.add(lista);
+            }
+
+            Geradores.dagEmCamadas(numVertices, largura, GRAU_ENTRADA, ALCANCE, semente,
+                (origem, destino, peso) -> disciplinas.get(destino).add("D" + origem));
+
+            Grafo grafo = new Grafo();
+            for (List<String> lista : disciplinas) {
+                grafo.inserir(lista);
+            }
+
+            if (kahn) {
+                kahn = medidor.medirCaso(out, "camadas/kahn", n, grafo::ordenacaoKahn);
+            }
+
+            if (niveis) {
+                niveis = medidor.medirCaso(out, "camadas/niveis", n, grafo::ordenacaoPorNiveis);
+            }
+
+            // Grafo deste tamanho não é mais utilizado
+            System.gc();
+        }
+    }
+}
@@ -1,287 +1,391 @@
 /**
- * Grafo referente à disciplinas e seus pré-requisitos,
- * implementado com listas.
+ * Grafo referente à disciplinas e seus pré-requisitos
+ * (ver {@link GrafoDisciplinas}), com a ordenação topológica
+ * das disciplinas.
  *
- * A Lista contém Listas de String que carregam as disciplinas
- * e seus pré requisitos. Cada lista de disciplinas possui o 
- * formato:
- * posição 0 -> matéria
- * restante -> pré-requisitos
+ * Após {@link #getOrdemIncremental()}, a ordem topológica passa a
+ * ser mantida a cada inserção ({@link OrdemTopologicaDinamica}),
+ * e linhas cujos pré-requisitos criariam um ciclo são rejeitadas.
+ * Os ciclos existentes são identificados pelas componentes
+ * fortemente conexas ({@link #getCiclos()}).
  *
  * @author Luigi D. C. Soares
- * @version 1.1
+ * @version 1.5
  */
 
-import java.io.PrintStream;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
-import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
 
-public class Grafo {
-    private List<List<String>> grafo;
+public class Grafo extends GrafoDisciplinas {
+    // Ordem mantida a cada inserção, ou null se ainda não iniciada
+    private OrdemTopologicaDinamica ordem;
 
-    /**
-     * Construtor do Grafo
-     */
-    public Grafo() {
-        // Inicia um ArrayList vazio
-        grafo = new ArrayList<>();
-    }
+    // Linhas já incluídas na ordem mantida
+    private int linhasOrdenadas;
 
     /**
-     * Insere uma lista de disciplinas no grafo,
-     * sendo a 1º posição referente à disciplina,
-     * e as demais referentes aos pré-requisitos
+     * Insere uma lista de disciplinas no grafo (ver
+     * {@link GrafoDisciplinas#inserir}). Com a ordem incremental
+     * iniciada, a linha é rejeitada, sem ser inserida, caso algum
+     * pré-requisito dependa (direta ou indiretamente) da disciplina,
+     * e a ordem é reparada apenas na região afetada pelos novos
+     * arcos.
      *
      * @param disciplinas List<String> Lista de disciplinas
+     * @throws IllegalArgumentException Se a linha criaria um ciclo
      */
+    @Override
     public void inserir(List<String> disciplinas) {
-        grafo.add(disciplinas);
-    }
+        if (this.ordem != null && disciplinas.isEmpty() == false) {
+            this.sincronizar();
 
-    /**
-     * Retorna todas as matérias do grafo
-     * @return grafo List<String>
-     */
-    public List<String> getDisciplinas() {
-        List<String> disciplinas = new ArrayList<>();
+            // Nomes novos não têm arcos: apenas arcos entre nomes existentes podem fechar ciclo
+            int disciplina = this.getIdNome(disciplinas.get(0));
+
+            for (int i = 1; i < disciplinas.size() && disciplina != -1; i++) {
+                int preRequisito = this.getIdNome(disciplinas.get(i));
 
-        for (List<String> lista : grafo) {
-            disciplinas.add(lista.get(0));
+                if (preRequisito != -1 && preRequisito != disciplina
+                        && this.ordem.criaCiclo(preRequisito, disciplina)) {
+                    throw new IllegalArgumentException("Pré-requisito cria ciclo: "
+                        + disciplinas.get(i) + " -> " + disciplinas.get(0));
+                }
+            }
         }
 
-        return disciplinas;
+        super.inserir(disciplinas);
+
+        if (this.ordem != null) {
+            this.sincronizar();
+        }
     }
 
     /**
-     * Mostra a lista, com suas matérias e respectivos
-     * pré-requisitos
+     * Retorna a ordem topológica das disciplinas mantida a cada
+     * inserção. Na primeira chamada, o grafo atual é ordenado uma
+     * única vez; a partir daí, cada {@link #inserir} repara apenas a
+     * região afetada, sem refazer a ordenação. Cada disciplina
+     * aparece uma única vez; pré-requisitos sem linha própria não
+     * aparecem.
+     *
+     * @return Disciplinas em ordem topológica
+     * @throws Exception Se os pré-requisitos formam um ciclo
      */
-    public void mostrar() {
-        // Criando PrintStream para escrita, com autoFlush
-        PrintStream out = new PrintStream(System.out, true);
-
-        // Disciplinas mostradas no formato: disciplina: pré-requisitos
-        for (List<String> disciplinas : grafo) {
-            out.print(disciplinas.get(0) + ": ");
-
-            // StringBuilder para guardar pre-requisitos
-            StringBuilder preRequisitos = new StringBuilder();
-
-            // Criando Iterator a partir da primeira posição
-            ListIterator<String> iterator = disciplinas.listIterator(1);
-            while (iterator.hasNext()) {
-                String disciplina = iterator.next();
-                preRequisitos.append(disciplina + ", "); // Preenche StringBuilder
-            }
+    public List<String> getOrdemIncremental() throws Exception {
+        if (this.ordem == null) {
+            this.iniciarOrdem();
+        } else {
+            this.sincronizar();
+        }
 
-            // Retira ", " do final
-            if (disciplinas.size() > 1) {
-                preRequisitos.delete(preRequisitos.length() - 2, preRequisitos.length());
-            }
+        List<String> disciplinas = new ArrayList<>();
+
+        for (int posicao = 0; posicao < this.ordem.getNumVertices(); posicao++) {
+            int id = this.ordem.getVertice(posicao);
 
-            // Mostra pre-requisitos
-            out.println(preRequisitos);
+            if (this.getPrimeiraLinha(id) >= 0) {
+                disciplinas.add(this.getNome(id));
+            }
         }
+
+        return disciplinas;
     }
 
     /**
-     * Retorna o indice do array que contem uma determinada disciplina,
-     * ou -1 caso não exista
+     * Componentes fortemente conexas do grafo de pré-requisitos,
+     * com vértices nos ids dos nomes (ver {@link #getNome}) e arcos
+     * pré-requisito -> disciplina, em O(V + E). Serve de validação
+     * antes da ordenação: o grafo pode ser ordenado se e somente se
+     * nenhuma componente for cíclica.
      *
-     * @param disciplina String Disciplina procurada
-     * @return indice do array referente à disciplina ou -1 se não encontrar
+     * @return componentes Componentes do grafo (ver {@link ComponentesFortes})
      */
-    public int indexOf(String disciplina) {
-        int index = -1;
-        
-        // Percorre grafo para procurar disciplina
-        for (List<String> disciplinas : grafo) {
-            // Verifica se disciplina foi encontrada
-            if (disciplinas.get(0).equals(disciplina)) {
-                index = grafo.indexOf(disciplinas); // Index da disciplina no grafo
-                break; // Sai do loop
-            }
-        }
-                
-        return index;
+    public ComponentesFortes getComponentesFortes() {
+        return new ComponentesFortes(this.getArcosNomes());
     }
 
     /**
-     * Retorna os pre-requisitos de uma determinada disciplina
-     * @param disciplina String Disciplina a ser analisada
-     * @return Lista contendo os pre-requisitos da disciplina
-     * @throws Exception se disciplina não existe
+     * Retorna um ciclo concreto de pré-requisitos para cada
+     * componente fortemente conexa cíclica, como em
+     * [A, B, C, A]: A é pré-requisito de B, B de C e C de A.
+     *
+     * @return ciclos Um ciclo por componente cíclica, ou lista vazia se não houver ciclo
      */
-    public List<String> getPreRequisitos(String disciplina) throws Exception {
-        // Indice da disciplina na lista
-        int index = indexOf(disciplina);
+    public List<List<String>> getCiclos() {
+        ComponentesFortes componentes = this.getComponentesFortes();
+        List<List<String>> ciclos = new ArrayList<>();
 
-        // Se disciplina não encontrada, lança uma Exception
-        if (index == -1) {
-            throw new Exception("Disciplina não encontrada!!!");
+        for (int componente : componentes.getComponentesCiclicas()) {
+            ciclos.add(this.getNomes(componentes.getCiclo(componente)));
         }
 
-        // Se disciplina existe, recupera lista
-        List<String> preRequisitos = grafo.get(index);
-
-        // Recupera apenas pre-requisitos (a partir da posição 1)
-        preRequisitos = preRequisitos.subList(1, preRequisitos.size());
-        
-        return preRequisitos;
+        return ciclos;
     }
 
     /**
-     * Retorna as disciplinas que dependem de determinado pre-requisito
-     * @param preRequisito String Pre-requisito a ser analisado
-     * @return Lista contendo disciplinas dependentes
+     * Arcos pré-requisito -> disciplina entre ids dos nomes (uma
+     * vez por linha da disciplina em que o pré-requisito aparece).
+     *
+     * @return arcos Arcos no formato CSR
      */
-    public List<String> getDependentes(String preRequisito) {
-        // Lista vazia para disciplinas
-        List<String> dependentes = new ArrayList<>();
-
-        // Percorre grafo, procurando disciplinas que necessitem do pre-requisito
-        for (List<String> lista : grafo) {
-            // Se lista tiver o pre-requisito, adiciona à lista de disciplinas dependentes
-            // OBS: pre-requisitos estão a partir da posição 1 da lista
-            if (lista.contains(preRequisito) && lista.indexOf(preRequisito) != 0) {
-                dependentes.add(lista.get(0)); // Matéria depende do pre-requisito
+    private Adjacencias getArcosNomes() {
+        Adjacencias arcos = this.getArcosDependentes();
+        int numNomes = this.getNumNomes();
+        ConstrutorCsr construtor = new ConstrutorCsr(arcos.getNumArcos());
+
+        for (int v = 0; v < numNomes; v++) {
+            for (int arco = arcos.inicio(v); arco < arcos.fim(v); arco++) {
+                construtor.adicionar(v, this.getIdLinha(arcos.destino(arco)), 0);
             }
         }
 
-        return dependentes;
+        return construtor.construir(numNomes);
     }
 
     /**
-     * Método privado para verificar disciplinas que não possuem
-     * pré-requisito.
+     * Nomes de uma sequência de ids.
      *
-     * @return Lista contendo nomes das disciplinas sem pré-requisito.
+     * @param ids Ids dos nomes
+     * @return nomes Lista com o nome de cada id
      */
-    private List<String> getSemDependencia() throws Exception {
-        // Lista iniciada vazia.
-        List<String> semDependencia = new ArrayList<>();
-
-        // Número de disciplinas.
-        int numDisciplinas = this.grafo.size();
+    private List<String> getNomes(int[] ids) {
+        List<String> nomes = new ArrayList<>(ids.length);
 
-        // Laço para percorrer disciplinas e verificar pre-requisitos.
-        for (int i = 0; i < numDisciplinas; i++) {
-            // Disciplina atual
-            String disciplina = this.grafo.get(i).get(0);
-
-            // Lista de pre-requisitos
-            List<String> preRequisitos = this.getPreRequisitos(disciplina);
-
-            // Se lista for vazia, insere no ArrayList de disciplinas sem dependencia.
-            if (preRequisitos.size() == 0) {
-                semDependencia.add(disciplina);
-            }
+        for (int id : ids) {
+            nomes.add(this.getNome(id));
         }
 
-        return semDependencia;
+        return nomes;
     }
 
     /**
-     * Método privado para recuperar todas as arestas do grafo.
+     * Valida e ordena o grafo atual, arcos pré-requisito ->
+     * disciplina entre ids, iniciando a ordem mantida.
      *
-     * @return Lista contendo todas as arestas.
+     * @throws Exception Se os pré-requisitos formam um ciclo
      */
-    private List<Aresta> getArestas() {
-        // Lista de arestas
-        List<Aresta> arestas = new ArrayList<>();
-    
-        for (List<String> lista : this.grafo) {
-            // Transformando lista para ArrayList
-            lista = new ArrayList<String>(lista);
-
-            // Disciplina pré-requisito
-            String disciplina = lista.remove(0);
-
-            // Disciplinas dependentes
-            List<String> dependentes = this.getDependentes(disciplina);
-
-            // Populando lista de arestas
-            for (String dependente : dependentes) {
-                arestas.add(new Aresta(disciplina, dependente));
-            }
+    private void iniciarOrdem() throws Exception {
+        Adjacencias arcos = this.getArcosNomes();
+
+        // Validação: com ciclo, a mensagem mostra um deles
+        ComponentesFortes componentes = new ComponentesFortes(arcos);
+
+        if (componentes.isAciclico() == false) {
+            int[] ciclo = componentes.getCiclo(componentes.getComponentesCiclicas()[0]);
+            throw new Exception("Os pré-requisitos formam um ciclo: " + String.join(" -> ", this.getNomes(ciclo)));
         }
 
-        return arestas;
+        this.ordem = new OrdemTopologicaDinamica(arcos);
+        this.linhasOrdenadas = this.getNumLinhas();
     }
 
     /**
-     * Método privado para verificar se vértice possui arestas
-     * de entrada.
+     * Inclui na ordem mantida os nomes e as linhas inseridos desde
+     * a última sincronização (inclusive por {@link #lerLinhas}).
+     * Se alguma dessas linhas fechar um ciclo, a ordem deixa de ser
+     * mantida.
+     *
+     * @throws IllegalStateException Se as linhas lidas formam um ciclo
      */
-    private boolean hasArestaEntrada(String disciplina, List<Aresta> arestas) {
-        boolean hasArestaEntrada = false;
+    private void sincronizar() {
+        while (this.ordem.getNumVertices() < this.getNumNomes()) {
+            this.ordem.adicionarVertice();
+        }
 
-        for (Aresta aresta : arestas) {
-            if (aresta.getW().equals(disciplina)) {
-                hasArestaEntrada = true;
-                break;
+        for (; this.linhasOrdenadas < this.getNumLinhas(); this.linhasOrdenadas++) {
+            int linha = this.linhasOrdenadas;
+            int disciplina = this.getIdLinha(linha);
+
+            if (disciplina == -1) {
+                continue;
             }
-        }
 
-        return hasArestaEntrada;
+            for (int i = 0; i < this.getNumPreRequisitos(linha); i++) {
+                int preRequisito = this.getIdPreRequisito(linha, i);
+
+                if (preRequisito != disciplina && this.ordem.adicionarArco(preRequisito, disciplina) == false) {
+                    this.ordem = null;
+                    throw new IllegalStateException("Pré-requisito cria ciclo: "
+                        + this.getNome(preRequisito) + " -> " + this.getNome(disciplina));
+                }
+            }
+        }
     }
-    
+
     /**
-     * Algoritmo de Kahn pra ordernação topológica.
+     * Algoritmo de Kahn pra ordernação topológica, em O(V + E)
+     * sobre os ids dos nomes: graus de entrada em um array e fila
+     * de ids primitivos, sem percorrer a lista de arcos a cada
+     * vértice removido.
+     *
+     * Os arcos são contados como na lista de arcos E da definição:
+     * cada linha de um pré-requisito gera um arco para cada linha
+     * que depende dele. Assim, disciplinas repetidas, pré-requisitos
+     * sem linha própria e a própria disciplina entre os
+     * pré-requisitos produzem a mesma ordem de antes.
+     *
+     * @return Disciplinas em ordem topológica, ou lista vazia se houver ciclo (ver {@link #getCiclos()})
      */
     public List<String> ordenacaoKahn() throws Exception {
         // Lista de vértices ordenados topologicamente, iniciada vazia.
         List<String> l = new ArrayList<>();
 
-        // Lista de vértices em arco de entrada (sem pré-requisitos).
-        List<String> s = this.getSemDependencia();
+        // Disciplina de cada linha
+        List<String> disciplinas = this.getDisciplinas();
+        int numLinhas = disciplinas.size();
+        int numNomes = this.getNumNomes();
+
+        // Arcos pré-requisito (id) -> linha dependente
+        Adjacencias arcos = this.getArcosDependentes();
+
+        // Quantidade de linhas de cada nome
+        int[] linhas = new int[numNomes];
+
+        for (int i = 0; i < numLinhas; i++) {
+            linhas[this.getIdLinha(i)]++;
+        }
+
+        /*
+         * Grau de entrada de cada nome: cada linha do pré-requisito
+         * gera um arco para a linha dependente. Pré-requisitos sem
+         * linha própria não geram arcos.
+         */
+        long[] grauEntrada = new long[numNomes];
+        long restantes = 0;
+
+        for (int v = 0; v < numNomes; v++) {
+            for (int arco = arcos.inicio(v); arco < arcos.fim(v); arco++) {
+                grauEntrada[this.getIdLinha(arcos.destino(arco))] += linhas[v];
+                restantes += linhas[v];
+            }
+        }
+
+        /*
+         * Fila S de vértices sem arco de entrada: cada linha cuja
+         * disciplina não tem pré-requisitos (na sua primeira linha).
+         */
+        FilaInteiros s = new FilaInteiros();
+
+        for (int i = 0; i < numLinhas; i++) {
+            int id = this.getIdLinha(i);
 
-        // Ordenação Lexicográfica
-        // s.sort(new Comparator<String>() {
-        //     @Override
-        //     public int compare(String str1, String str2) {
-        //         return str1.compareToIgnoreCase(str2);
-        //     }
-        // });
+            if (this.getNumPreRequisitos(this.getPrimeiraLinha(id)) == 0) {
+                s.adicionar(id);
+            }
+        }
 
-        // Lista contendo todas as arestas do grafo.
-        List<Aresta> e = this.getArestas();
+        // Vezes em que cada nome já foi removido de S
+        int[] removidos = new int[numNomes];
 
-        // Enquanto lista S não estiver vazia
-        while (s.size() != 0) {
-            // Remover um vértice v de S.
-            String v = s.remove(0);
+        // Métricas da ordenação, por vértice removido (ver Metricas)
+        Metricas.EventoBusca evento = Metricas.ATIVAS ? Metricas.iniciarBusca("kahn") : null;
+        long arestas = 0;
+        int pico = 0;
 
-            // Inserir em L.
-            l.add(v);
+        // Enquanto fila S não estiver vazia
+        while (s.isEmpty() == false) {
+            pico = Math.max(pico, s.getTamanho());
 
-            // Recupera lista de disciplinas que dependem de v
-            List<String> dependentes = this.getDependentes(v);
+            // Remover um vértice v de S e inserir em L.
+            int v = s.remover();
+            l.add(disciplinas.get(this.getPrimeiraLinha(v)));
+            arestas += arcos.fim(v) - arcos.inicio(v);
 
-            // Ordenação Lexicográfica
-            // dependentes.sort(new Comparator<String>() {
-            //     @Override
-            //     public int compare(String str1, String str2) {
-            //         return str1.compareToIgnoreCase(str2);
-            //     }
-            // });
+            // Os arcos v, w só existem enquanto houver linhas de v não removidas
+            boolean possuiArcos = removidos[v] < linhas[v];
+            removidos[v]++;
 
             // Para cada arco v, w existente faça
-            for (String w : dependentes) {
+            for (int arco = arcos.inicio(v); arco < arcos.fim(v); arco++) {
+                int w = this.getIdLinha(arcos.destino(arco));
+
                 // Remover o arco v, w de E
-                e.remove(new Aresta(v, w));
+                if (possuiArcos) {
+                    grauEntrada[w]--;
+                    restantes--;
+                }
 
                 // Se w não possuir mais arcos de entrada, inserir em S
-                if (!this.hasArestaEntrada(w, e)) {
-                    s.add(w);
+                if (grauEntrada[w] == 0) {
+                    s.adicionar(w);
                 }
             }
         }
 
+        if (Metricas.ATIVAS) {
+            Metricas.encerrarBusca(evento, numLinhas, l.size(), arestas, pico);
+        }
+
         List<String> vazia = new ArrayList<>();
-        
-        return (e.size() == 0) ? l : vazia;
+
+        return (restantes == 0) ? l : vazia;
+    }
+
+    /**
+     * Ordenação topológica em níveis (semestres), utilizando o
+     * pool comum do fork-join (ver {@link OrdenacaoNiveis}).
+     *
+     * @return niveis Ids das disciplinas de cada nível (ver {@link #getNome}), ou lista vazia se houver ciclo
+     */
+    public List<int[]> ordenacaoPorNiveis() {
+        return this.ordenacaoPorNiveis(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Ordenação topológica em níveis (semestres): o primeiro nível
+     * contém as disciplinas sem pré-requisitos, e cada nível
+     * seguinte as disciplinas cujos pré-requisitos estão todos em
+     * níveis anteriores. Cada disciplina aparece uma única vez,
+     * mesmo que tenha mais de uma linha (os pré-requisitos de todas
+     * as suas linhas são considerados). Pré-requisitos sem linha
+     * própria não são disciplinas do curso: são considerados já
+     * cumpridos e não aparecem nos níveis.
+     *
+     * @param pool Pool de threads utilizado em cada nível
+     * @return niveis Ids das disciplinas de cada nível (ver {@link #getNome}), ou lista vazia se houver ciclo
+     */
+    public List<int[]> ordenacaoPorNiveis(ForkJoinPool pool) {
+        Adjacencias arcos = this.getArcosDependentes();
+        int numNomes = this.getNumNomes();
+
+        // Arcos pré-requisito -> disciplina entre ids, apenas de pré-requisitos com linha
+        ConstrutorCsr construtor = new ConstrutorCsr(arcos.getNumArcos());
+
+        for (int v = 0; v < numNomes; v++) {
+            if (this.getPrimeiraLinha(v) < 0) {
+                continue;
+            }
+
+            for (int arco = arcos.inicio(v); arco < arcos.fim(v); arco++) {
+                construtor.adicionar(v, this.getIdLinha(arcos.destino(arco)), 0);
+            }
+        }
+
+        List<int[]> niveis = new OrdenacaoNiveis(construtor.construir(numNomes), pool).ordenar();
+
+        /*
+         * Pré-requisitos sem linha não têm arcos de entrada nem de
+         * saída no grafo acima, então estão todos no primeiro nível.
+         */
+        if (niveis.isEmpty() == false) {
+            int[] primeiro = niveis.get(0);
+            int quantidade = 0;
+
+            for (int id : primeiro) {
+                if (this.getPrimeiraLinha(id) >= 0) {
+                    primeiro[quantidade++] = id;
+                }
+            }
+
+            if (quantidade == 0) {
+                niveis.remove(0);
+            } else {
+                niveis.set(0, Arrays.copyOf(primeiro, quantidade));
+            }
+        }
+
+        return niveis;
     }
-}
\ No newline at end of file
+}
@@ -6,24 +6,19 @@
  * @version 1.0
  */
 
-import java.io.BufferedReader;
 import java.io.FileInputStream;
-import java.io.InputStreamReader;
 import java.io.IOException;
 import java.io.PrintStream;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.ListIterator;
 
 public class Main {
     public static void main(String[] args) throws Exception, IOException {
         /* 
-         * Criando BufferedReader para leitura do arquivo "pub.in".
+         * Criando leitor de bytes para leitura do arquivo "pub.in".
          * O arquivo de entrada deve conter os dados na formatação:
          * Matéria;Pré-requisito 1,Pré-requisito 2,Pré-requisito 3...
          */
-        BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+        LeitorBytes in = new LeitorBytes(System.in);
 
         // Criando PrintStream para escrita, com autoFlush
         PrintStream out = new PrintStream(System.out, true);
@@ -31,25 +26,45 @@ public class Main {
         // Criando grafo
         Grafo grafo = new Grafo();
 
-        // Lendo disciplinas
-        for (String line = in.readLine(); line != null; line = in.readLine()) {
-            // Lista de disciplina e pre-requisitos
-            List<String> disciplinas = Arrays.asList(line.split("[;,]"));
+        // Fase de leitura (ver Metricas, -Dgrafos.metricas=true)
+        Metricas.EventoFase fase = Metricas.iniciarFase("leitura");
 
-            // Inserindo no grafo
-            grafo.inserir(disciplinas);
-        }
+        // Lendo disciplinas: cada nome é internado em um id, sem criar Strings
+        grafo.lerLinhas(in);
 
-        // Fecha BufferedReader
+        // Fecha leitor
         in.close();
+        Metricas.encerrarFase(fase);
 
+        fase = Metricas.iniciarFase("resolucao");
         List<String> listaOrdenada = grafo.ordenacaoKahn();
-        for (String disciplina : listaOrdenada) {
-            if (listaOrdenada.indexOf(disciplina) < listaOrdenada.size() - 1) {
-                out.print(disciplina + " - ");
-            } else {
-                out.print(disciplina);
+        Metricas.encerrarFase(fase);
+
+        // Lista vazia por causa de ciclos: um ciclo de cada componente na saída de erro
+        if (listaOrdenada.isEmpty()) {
+            for (List<String> ciclo : grafo.getCiclos()) {
+                System.err.println("Ciclo de pré-requisitos: " + String.join(" -> ", ciclo));
             }
         }
+
+        /*
+         * Disciplinas separadas por " - ". A última só não recebe o
+         * separador se não aparecer antes na lista (a posição de cada
+         * disciplina é a da sua primeira ocorrência).
+         */
+        fase = Metricas.iniciarFase("escrita");
+        int ultima = listaOrdenada.size() - 1;
+
+        for (int i = 0; i < ultima; i++) {
+            out.print(listaOrdenada.get(i) + " - ");
+        }
+
+        if (ultima >= 0 && listaOrdenada.indexOf(listaOrdenada.get(ultima)) < ultima) {
+            out.print(listaOrdenada.get(ultima) + " - ");
+        } else if (ultima >= 0) {
+            out.print(listaOrdenada.get(ultima));
+        }
+
+        Metricas.encerrarFase(fase);
     }
 }
@@ -0,0 +1,396 @@
+/**
+ * Ordem topológica mantida a cada arco inserido (algoritmo de
+ * Pearce e Kelly), sem refazer a ordenação do grafo inteiro.
+ *
+ * Cada vértice tem uma posição na ordem. Um arco x -> y com
+ * x antes de y não altera a ordem. Caso contrário, apenas a
+ * região afetada, entre as posições de y e de x, é percorrida:
+ * os vértices alcançados a partir de y (busca para frente) e os
+ * que alcançam x (busca para trás), limitados a essa região, são
+ * reposicionados nas mesmas posições que ocupavam, primeiro os
+ * que alcançam x e depois os alcançados por y. Se a busca para
+ * frente encontrar x, o arco criaria um ciclo e é rejeitado,
+ * sem alterar o grafo nem a ordem.
+ *
+ * As buscas são iterativas (pilha explícita), sem recursão.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.util.Arrays;
+
+public class OrdemTopologicaDinamica {
+    // Capacidade inicial dos arrays de vértices e de adjacentes
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    // Arcos de saída e de entrada de cada vértice (com repetições)
+    private int[][] saida;
+    private int[] grauSaida;
+    private int[][] entrada;
+    private int[] grauEntrada;
+    private int numVertices;
+
+    // Posição de cada vértice na ordem, e vértice de cada posição
+    private int[] posicoes;
+    private int[] ordem;
+
+    // Estado das buscas: marcas, pilha e vértices alcançados
+    private boolean[] marcados;
+    private int[] pilha;
+    private int[] frente;
+    private int numFrente;
+    private int[] tras;
+    private int numTras;
+
+    /**
+     * Construtor da ordem de um grafo vazio.
+     */
+    public OrdemTopologicaDinamica() {
+        this.saida = new int[CAPACIDADE_INICIAL][];
+        this.grauSaida = new int[CAPACIDADE_INICIAL];
+        this.entrada = new int[CAPACIDADE_INICIAL][];
+        this.grauEntrada = new int[CAPACIDADE_INICIAL];
+        this.numVertices = 0;
+        this.posicoes = new int[CAPACIDADE_INICIAL];
+        this.ordem = new int[CAPACIDADE_INICIAL];
+        this.marcados = new boolean[CAPACIDADE_INICIAL];
+        this.pilha = new int[CAPACIDADE_INICIAL];
+        this.frente = new int[CAPACIDADE_INICIAL];
+        this.tras = new int[CAPACIDADE_INICIAL];
+    }
+
+    /**
+     * Construtor da ordem de um grafo já existente, ordenado uma
+     * única vez pelo algoritmo de Kahn.
+     *
+     * @param grafo Grafo inicial (vértices 0 a n - 1)
+     * @throws IllegalArgumentException Se o grafo possuir ciclo
+     */
+    public OrdemTopologicaDinamica(Adjacencias grafo) {
+        this();
+
+        int n = grafo.getNumVertices();
+        for (int v = 0; v < n; v++) {
+            this.adicionarVertice();
+        }
+
+        for (int v = 0; v < n; v++) {
+            for (int arco = grafo.inicio(v); arco < grafo.fim(v); arco++) {
+                this.ligar(v, grafo.destino(arco));
+            }
+        }
+
+        // Ordem inicial: algoritmo de Kahn sobre os graus de entrada
+        int[] graus = Arrays.copyOf(this.grauEntrada, n);
+        FilaInteiros fila = new FilaInteiros();
+        int posicao = 0;
+
+        for (int v = 0; v < n; v++) {
+            if (graus[v] == 0) {
+                fila.adicionar(v);
+            }
+        }
+
+        while (fila.isEmpty() == false) {
+            int v = fila.remover();
+            this.posicionar(v, posicao++);
+
+            for (int i = 0; i < this.grauSaida[v]; i++) {
+                int w = this.saida[v][i];
+
+                if (--graus[w] == 0) {
+                    fila.adicionar(w);
+                }
+            }
+        }
+
+        if (posicao < n) {
+            throw new IllegalArgumentException("O grafo possui ciclo");
+        }
+    }
+
+    /**
+     * Adiciona um vértice sem arcos, ao final da ordem.
+     *
+     * @return vertice Id do novo vértice (consecutivos a partir de 0)
+     */
+    public int adicionarVertice() {
+        int vertice = this.numVertices;
+
+        if (vertice == this.posicoes.length) {
+            int capacidade = vertice * 2;
+            this.saida = Arrays.copyOf(this.saida, capacidade);
+            this.grauSaida = Arrays.copyOf(this.grauSaida, capacidade);
+            this.entrada = Arrays.copyOf(this.entrada, capacidade);
+            this.grauEntrada = Arrays.copyOf(this.grauEntrada, capacidade);
+            this.posicoes = Arrays.copyOf(this.posicoes, capacidade);
+            this.ordem = Arrays.copyOf(this.ordem, capacidade);
+            this.marcados = Arrays.copyOf(this.marcados, capacidade);
+            this.pilha = Arrays.copyOf(this.pilha, capacidade);
+            this.frente = Arrays.copyOf(this.frente, capacidade);
+            this.tras = Arrays.copyOf(this.tras, capacidade);
+        }
+
+        this.saida[vertice] = new int[2];
+        this.entrada[vertice] = new int[2];
+        this.posicionar(vertice, vertice);
+        this.numVertices++;
+
+        return vertice;
+    }
+
+    /**
+     * Insere o arco origem -> destino, reparando a ordem apenas na
+     * região afetada. O arco é rejeitado se criar um ciclo.
+     *
+     * @param origem Vértice de origem (por exemplo, o pré-requisito)
+     * @param destino Vértice de destino (a disciplina dependente)
+     * @return inserido true se o arco foi inserido, false se criaria um ciclo
+     */
+    public boolean adicionarArco(int origem, int destino) {
+        if (origem == destino) {
+            return false;
+        }
+
+        int limiteInferior = this.posicoes[destino];
+        int limiteSuperior = this.posicoes[origem];
+
+        // Região afetada: destino antes da origem na ordem atual
+        if (limiteInferior < limiteSuperior) {
+            if (this.buscarFrente(destino, origem, limiteSuperior)) {
+                this.desmarcar(this.frente, this.numFrente);
+                return false;
+            }
+
+            this.buscarTras(origem, limiteInferior);
+            this.reordenar();
+        }
+
+        this.ligar(origem, destino);
+
+        return true;
+    }
+
+    /**
+     * Verifica se o arco origem -> destino criaria um ciclo, sem
+     * inseri-lo (o destino já alcança a origem).
+     *
+     * @param origem Vértice de origem
+     * @param destino Vértice de destino
+     * @return ciclo true se o arco criaria um ciclo
+     */
+    public boolean criaCiclo(int origem, int destino) {
+        if (origem == destino) {
+            return true;
+        }
+
+        // Com a origem antes do destino, o destino não pode alcançá-la
+        if (this.posicoes[destino] > this.posicoes[origem]) {
+            return false;
+        }
+
+        boolean ciclo = this.buscarFrente(destino, origem, this.posicoes[origem]);
+        this.desmarcar(this.frente, this.numFrente);
+
+        return ciclo;
+    }
+
+    /**
+     * @return numVertices Quantidade de vértices
+     */
+    public int getNumVertices() {
+        return this.numVertices;
+    }
+
+    /**
+     * Retorna a posição de um vértice na ordem topológica atual.
+     *
+     * @param vertice Vértice a ser analisado
+     * @return posicao Posição do vértice (0 a n - 1)
+     */
+    public int getPosicao(int vertice) {
+        return this.posicoes[vertice];
+    }
+
+    /**
+     * Retorna o vértice de uma posição da ordem topológica atual.
+     *
+     * @param posicao Posição na ordem (0 a n - 1)
+     * @return vertice Vértice da posição
+     */
+    public int getVertice(int posicao) {
+        return this.ordem[posicao];
+    }
+
+    /**
+     * Busca para frente a partir de um vértice, limitada aos
+     * vértices antes do limite superior. Os vértices alcançados
+     * ficam marcados em frente.
+     *
+     * @param inicio Vértice inicial (destino do novo arco)
+     * @param alvo Vértice cujo alcance indica ciclo (origem do novo arco)
+     * @param limiteSuperior Posição do alvo
+     * @return ciclo true se o alvo foi alcançado
+     */
+    private boolean buscarFrente(int inicio, int alvo, int limiteSuperior) {
+        this.numFrente = 0;
+        int topo = 0;
+
+        this.marcados[inicio] = true;
+        this.frente[this.numFrente++] = inicio;
+        this.pilha[topo++] = inicio;
+
+        while (topo > 0) {
+            int v = this.pilha[--topo];
+
+            for (int i = 0; i < this.grauSaida[v]; i++) {
+                int w = this.saida[v][i];
+
+                if (w == alvo) {
+                    return true;
+                }
+
+                // Vértices depois da origem não são afetados
+                if (this.marcados[w] == false && this.posicoes[w] < limiteSuperior) {
+                    this.marcados[w] = true;
+                    this.frente[this.numFrente++] = w;
+                    this.pilha[topo++] = w;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Busca para trás a partir de um vértice (arcos de entrada),
+     * limitada aos vértices depois do limite inferior. Os vértices
+     * alcançados ficam marcados em tras.
+     *
+     * @param inicio Vértice inicial (origem do novo arco)
+     * @param limiteInferior Posição do destino do novo arco
+     */
+    private void buscarTras(int inicio, int limiteInferior) {
+        this.numTras = 0;
+        int topo = 0;
+
+        this.marcados[inicio] = true;
+        this.tras[this.numTras++] = inicio;
+        this.pilha[topo++] = inicio;
+
+        while (topo > 0) {
+            int v = this.pilha[--topo];
+
+            for (int i = 0; i < this.grauEntrada[v]; i++) {
+                int w = this.entrada[v][i];
+
+                // Vértices antes do destino não são afetados
+                if (this.marcados[w] == false && this.posicoes[w] > limiteInferior) {
+                    this.marcados[w] = true;
+                    this.tras[this.numTras++] = w;
+                    this.pilha[topo++] = w;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reposiciona os vértices alcançados pelas duas buscas nas
+     * posições que já ocupavam: primeiro os que alcançam a origem
+     * (tras), depois os alcançados pelo destino (frente), cada
+     * grupo mantendo a sua ordem relativa.
+     */
+    private void reordenar() {
+        this.ordenarPorPosicao(this.tras, this.numTras);
+        this.ordenarPorPosicao(this.frente, this.numFrente);
+
+        // Posições ocupadas pelos dois grupos, em ordem crescente
+        int total = this.numTras + this.numFrente;
+        int[] livres = new int[total];
+
+        for (int i = 0; i < this.numTras; i++) {
+            livres[i] = this.posicoes[this.tras[i]];
+        }
+
+        for (int i = 0; i < this.numFrente; i++) {
+            livres[this.numTras + i] = this.posicoes[this.frente[i]];
+        }
+
+        Arrays.sort(livres);
+
+        for (int i = 0; i < this.numTras; i++) {
+            this.posicionar(this.tras[i], livres[i]);
+        }
+
+        for (int i = 0; i < this.numFrente; i++) {
+            this.posicionar(this.frente[i], livres[this.numTras + i]);
+        }
+
+        this.desmarcar(this.tras, this.numTras);
+        this.desmarcar(this.frente, this.numFrente);
+    }
+
+    /**
+     * Ordena um grupo de vértices pela posição atual na ordem.
+     *
+     * @param vertices Vértices do grupo
+     * @param quantidade Quantidade de vértices do grupo
+     */
+    private void ordenarPorPosicao(int[] vertices, int quantidade) {
+        // Troca cada vértice pela sua posição, ordena e troca de volta
+        for (int i = 0; i < quantidade; i++) {
+            vertices[i] = this.posicoes[vertices[i]];
+        }
+
+        Arrays.sort(vertices, 0, quantidade);
+
+        for (int i = 0; i < quantidade; i++) {
+            vertices[i] = this.ordem[vertices[i]];
+        }
+    }
+
+    /**
+     * Coloca um vértice em uma posição da ordem.
+     *
+     * @param vertice Vértice a ser posicionado
+     * @param posicao Nova posição do vértice
+     */
+    private void posicionar(int vertice, int posicao) {
+        this.posicoes[vertice] = posicao;
+        this.ordem[posicao] = vertice;
+    }
+
+    /**
+     * Desfaz as marcas de um grupo de vértices.
+     *
+     * @param vertices Vértices marcados
+     * @param quantidade Quantidade de vértices marcados
+     */
+    private void desmarcar(int[] vertices, int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            this.marcados[vertices[i]] = false;
+        }
+    }
+
+    /**
+     * Guarda o arco origem -> destino nas listas de saída e de
+     * entrada, sem verificar a ordem.
+     *
+     * @param origem Vértice de origem
+     * @param destino Vértice de destino
+     */
+    private void ligar(int origem, int destino) {
+        if (this.grauSaida[origem] == this.saida[origem].length) {
+            this.saida[origem] = Arrays.copyOf(this.saida[origem], this.grauSaida[origem] * 2);
+        }
+
+        this.saida[origem][this.grauSaida[origem]++] = destino;
+
+        if (this.grauEntrada[destino] == this.entrada[destino].length) {
+            this.entrada[destino] = Arrays.copyOf(this.entrada[destino], this.grauEntrada[destino] * 2);
+        }
+
+        this.entrada[destino][this.grauEntrada[destino]++] = origem;
+    }
+}
@@ -0,0 +1,196 @@
+/**
+ * Ordenação topológica em níveis, síncrona por níveis (frente de
+ * onda), sobre um grafo direcionado no formato CSR
+ * ({@link Adjacencias}). O primeiro nível contém os vértices sem
+ * arcos de entrada, e cada nível seguinte contém os vértices cujos
+ * arcos de entrada vêm todos de níveis anteriores. No grafo de
+ * disciplinas, cada nível corresponde a um semestre: disciplinas
+ * que ficam disponíveis ao mesmo tempo.
+ *
+ * Os arcos de saída de cada nível são processados em paralelo
+ * com fork-join, decrementando os graus de entrada atomicamente:
+ * apenas a tarefa que zera o grau de um vértice o insere no
+ * próximo nível. Os vértices de cada nível são devolvidos em
+ * ordem crescente, então o resultado não depende do número de
+ * threads.
+ *
+ * Uma instância não deve executar duas ordenações ao mesmo tempo.
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.0
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class OrdenacaoNiveis {
+    // Quantidade de vértices do nível processados por tarefa
+    private static final int VERTICES_POR_TAREFA = 1024;
+
+    private final Adjacencias grafo;
+    private final ForkJoinPool pool;
+
+    // Estado da ordenação em andamento
+    private AtomicIntegerArray grauEntrada;
+
+    // Vértices na ordem dos níveis (cada nível é um intervalo contíguo)
+    private int[] ordem;
+
+    // Intervalo de ordem ocupado pelo nível atual
+    private int inicioNivel;
+    private int fimNivel;
+
+    // Fim do próximo nível, reservado pelas tarefas
+    private AtomicInteger fimProximo;
+
+    /**
+     * Construtor da ordenação, utilizando o pool comum do fork-join.
+     *
+     * @param grafo Grafo a ser ordenado
+     */
+    public OrdenacaoNiveis(Adjacencias grafo) {
+        this(grafo, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construtor da ordenação.
+     *
+     * @param grafo Grafo a ser ordenado
+     * @param pool Pool de threads utilizado em cada nível
+     */
+    public OrdenacaoNiveis(Adjacencias grafo, ForkJoinPool pool) {
+        this.grafo = grafo;
+        this.pool = pool;
+    }
+
+    /**
+     * Executa a ordenação topológica em níveis.
+     *
+     * @return niveis Vértices de cada nível, em ordem crescente, ou lista vazia se houver ciclo
+     */
+    public List<int[]> ordenar() {
+        int numVertices = this.grafo.getNumVertices();
+        int[] graus = new int[numVertices];
+
+        for (int arco = 0; arco < this.grafo.getNumArcos(); arco++) {
+            graus[this.grafo.destino(arco)]++;
+        }
+
+        this.grauEntrada = new AtomicIntegerArray(graus);
+        this.ordem = new int[numVertices];
+        this.inicioNivel = 0;
+        this.fimNivel = 0;
+
+        // Primeiro nível: vértices sem arcos de entrada (já em ordem crescente)
+        for (int vertice = 0; vertice < numVertices; vertice++) {
+            if (graus[vertice] == 0) {
+                this.ordem[this.fimNivel++] = vertice;
+            }
+        }
+
+        this.fimProximo = new AtomicInteger(this.fimNivel);
+        List<int[]> niveis = new ArrayList<>();
+
+        // Métricas da ordenação, por nível (ver Metricas)
+        Metricas.EventoBusca evento = Metricas.ATIVAS ? Metricas.iniciarBusca("niveis") : null;
+        int pico = 0;
+
+        while (this.fimNivel > this.inicioNivel) {
+            int verticesNivel = this.fimNivel - this.inicioNivel;
+            pico = Math.max(pico, verticesNivel);
+
+            Arrays.sort(this.ordem, this.inicioNivel, this.fimNivel);
+            niveis.add(Arrays.copyOfRange(this.ordem, this.inicioNivel, this.fimNivel));
+
+            if (verticesNivel <= VERTICES_POR_TAREFA) {
+                // Nível pequeno: não compensa distribuir entre threads
+                new PassoNivel(this.inicioNivel, this.fimNivel).compute();
+            } else {
+                this.pool.invoke(new PassoNivel(this.inicioNivel, this.fimNivel));
+            }
+
+            this.inicioNivel = this.fimNivel;
+            this.fimNivel = this.fimProximo.get();
+        }
+
+        int ordenados = this.fimNivel;
+
+        if (Metricas.ATIVAS) {
+            Metricas.encerrarBusca(evento, numVertices, ordenados, this.grafo.getNumArcos(), pico);
+        }
+
+        this.grauEntrada = null;
+        this.ordem = null;
+        this.fimProximo = null;
+
+        // Vértices restantes: algum ciclo impede que sejam ordenados
+        return (ordenados == numVertices) ? niveis : new ArrayList<>();
+    }
+
+    /**
+     * Copia os vértices liberados por uma tarefa para o próximo
+     * nível, reservando o espaço de uma só vez.
+     *
+     * @param liberados Vértices liberados pela tarefa
+     * @param quantidade Quantidade de vértices liberados
+     */
+    private void publicar(int[] liberados, int quantidade) {
+        if (quantidade > 0) {
+            int posicao = this.fimProximo.getAndAdd(quantidade);
+            System.arraycopy(liberados, 0, this.ordem, posicao, quantidade);
+        }
+    }
+
+    /**
+     * Passo sobre um intervalo do nível: cada vértice remove seus
+     * arcos de saída, e o adjacente cujo grau de entrada chega a
+     * zero é liberado para o próximo nível.
+     */
+    private final class PassoNivel extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int de;
+        private final int ate;
+
+        private PassoNivel(int de, int ate) {
+            this.de = de;
+            this.ate = ate;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.ate - this.de > VERTICES_POR_TAREFA) {
+                int meio = (this.de + this.ate) >>> 1;
+                invokeAll(new PassoNivel(this.de, meio), new PassoNivel(meio, this.ate));
+                return;
+            }
+
+            int[] liberados = new int[64];
+            int quantidade = 0;
+
+            for (int i = this.de; i < this.ate; i++) {
+                int vertice = ordem[i];
+
+                for (int arco = grafo.inicio(vertice); arco < grafo.fim(vertice); arco++) {
+                    int adjacente = grafo.destino(arco);
+
+                    // Apenas quem remove o último arco de entrada libera o vértice
+                    if (grauEntrada.decrementAndGet(adjacente) == 0) {
+                        if (quantidade == liberados.length) {
+                            liberados = Arrays.copyOf(liberados, quantidade * 2);
+                        }
+
+                        liberados[quantidade++] = adjacente;
+                    }
+                }
+            }
+
+            publicar(liberados, quantidade);
+        }
+    }
+}
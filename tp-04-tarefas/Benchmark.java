@@ -0,0 +1,56 @@
+/**
+ * Benchmark da coloração do grafo de conflitos
+ * ({@link Grafo#getColoracao()}) em grafos sintéticos (ver
+ * {@link Geradores}): Erdős–Rényi e lei de potência, de 10³
+ * vértices até o máximo informado, multiplicando por 10. As
+ * arestas são inseridas como em Main. Mostra vazão e taxa de
+ * alocação de cada tamanho (ver {@link Medidor}). Quando uma
+ * coloração passa do limite do medidor, os tamanhos maiores
+ * daquele caso são ignorados.
+ *
+ * Uso: java -Xmx8g Benchmark [maximo] [semente]
+ *
+ * @author Luigi D. C. Soares
+ * @version 1.1
+ */
+
+import java.io.PrintStream;
+
+public class Benchmark {
+    // Grau médio do Erdős–Rényi e arestas por vértice da lei de potência
+    private static final double GRAU_MEDIO = 8;
+    private static final int ARESTAS_POR_VERTICE = 4;
+
+    public static void main(String[] args) throws Exception {
+        long maximo = (args.length > 0) ? Long.parseLong(args[0]) : 10_000_000;
+        long semente = (args.length > 1) ? Long.parseLong(args[1]) : 42;
+
+        // Criando PrintStream para escrita, com autoFlush
+        PrintStream out = new PrintStream(System.out, true);
+        Medidor medidor = new Medidor();
+
+        boolean erdosRenyi = true;
+        boolean leiDePotencia = true;
+
+        out.println(Medidor.cabecalho());
+
+        for (long n = 1000; n <= maximo && (erdosRenyi || leiDePotencia); n *= 10) {
+            if (erdosRenyi) {
+                Grafo grafo = new Grafo((int) n);
+                Geradores.erdosRenyi((int) n, GRAU_MEDIO, semente, (v, a, peso) -> grafo.inserir(v, a));
+
+                erdosRenyi = medidor.medirCaso(out, "erdos-renyi/coloracao", n, grafo::getColoracao);
+            }
+
+            if (leiDePotencia) {
+                Grafo grafo = new Grafo((int) n);
+                Geradores.leiDePotencia((int) n, ARESTAS_POR_VERTICE, semente, (v, a, peso) -> grafo.inserir(v, a));
+
+                leiDePotencia = medidor.medirCaso(out, "lei-de-potencia/coloracao", n, grafo::getColoracao);
+            }
+
+            // Grafos deste tamanho não são mais utilizados
+            System.gc();
+        }
+    }
+}
@@ -1,71 +1,148 @@
 /**
  * Grafo para resolução de problemas referentes a minimizar
  * tempo gasto por tarefas.
+ * As tarefas são vértices inteiros (0 a n - 1) e os conflitos
+ * são arestas, compactadas no formato CSR (ver {@link GrafoCsr})
+ * na primeira coloração após uma inserção.
  * @author Luigi D. C. Soares <luigi.soares@sga.pucminas.br>
  * @author Gabriel L. Gomes <glgomes@sga.pucminas.br>
  * @author Geovane F. S. Santos <geovane.fonseca@sga.pucminas.br>
  * @version 1
  * @since 15/11/2017
  */
- 
-import java.util.ArrayList;
-import java.util.List;
 
 class Grafo {
-    // Lista de vértices representando cada tarefa.
-    private List<Vertice> vertices;
+    // Quantidade de vértices (tarefas).
+    private final int numVertices;
 
-    public Grafo() {
-        this.vertices = new ArrayList<>();
+    // Conflitos inseridos, cada um gerando os arcos nos dois sentidos.
+    private final ConstrutorCsr arestas;
+
+    // Conflitos compactados, ou null se houver conflitos novos.
+    private Adjacencias grafo;
+
+    // Cor de cada vértice, definida pela última coloração (-1 = sem cor).
+    private final int[] cores;
+
+    public Grafo(int numVertices) {
+        this.numVertices = numVertices;
+        this.arestas = new ConstrutorCsr();
+        this.grafo = null;
+        this.cores = new int[numVertices];
+
+        for (int i = 0; i < numVertices; i++) {
+            this.cores[i] = -1;
+        }
     }
 
-    public List<Vertice> getVertices() {
-        return this.vertices;
+    public int getNumVertices() {
+        return this.numVertices;
     }
 
-    public void add(Vertice vertice) {
-        this.vertices.add(vertice);
+    /**
+     * Insere um conflito entre duas tarefas, que não podem
+     * receber a mesma cor.
+     *
+     * @param v Primeira tarefa
+     * @param a Segunda tarefa
+     * @throws ArrayIndexOutOfBoundsException Em caso de vértice inexistente
+     */
+    public void inserir(int v, int a) {
+        if (v < 0 || v >= this.numVertices || a < 0 || a >= this.numVertices) {
+            throw new ArrayIndexOutOfBoundsException("Vértice inexistente: " + v + ", " + a);
+        }
+
+        this.arestas.adicionar(v, a, 0);
+        this.grafo = null;
     }
 
+    public int getCor(int vertice) {
+        return this.cores[vertice];
+    }
+
+    /**
+     * Coloração gulosa, na ordem dos vértices: cada vértice recebe
+     * a menor cor já utilizada que nenhum adjacente possui, ou uma
+     * cor nova. As cores dos adjacentes são marcadas em um array
+     * (com o próprio vértice como marca), de modo que cada vértice
+     * custa O(grau + cores), sem objetos.
+     *
+     * @return quantidade de cores utilizadas
+     */
     public int getColoracao() {
-        int i = 0;
-        int k = 0;
+        if (this.numVertices == 0) {
+            return 0;
+        }
+
+        if (this.grafo == null) {
+            Metricas.EventoFase fase = Metricas.iniciarFase("construcao");
+            this.grafo = this.arestas.construirSimetrico(this.numVertices);
+            Metricas.encerrarFase(fase);
+        }
+
+        // Métricas da coloração (ver Metricas)
+        Metricas.EventoBusca evento = Metricas.ATIVAS ? Metricas.iniciarBusca("coloracao") : null;
+
+        // Vértice que marcou cada cor por último
+        int[] marcas = new int[this.numVertices];
+        int numCores = 1;
+
+        for (int i = 0; i < this.numVertices; i++) {
+            this.cores[i] = -1;
+            marcas[i] = -1;
+        }
 
-        List<Integer> cores = new ArrayList<>();
-        cores.add(k);
-        
         // Seta cor do primeiro vértice.
-        this.vertices.get(i).setCor(k);
-        
-        for (Vertice v : this.vertices.subList(1, this.vertices.size())) {
-            k = -1;
-            
-            for (Integer cor : cores) {
-                if (v.verificarCor(cor) == false) {
-                    k = cor;
-                    break;
+        this.cores[0] = 0;
+
+        for (int v = 1; v < this.numVertices; v++) {
+            // Cores já utilizadas pelos adjacentes
+            for (int arco = this.grafo.inicio(v); arco < this.grafo.fim(v); arco++) {
+                int cor = this.cores[this.grafo.destino(arco)];
+
+                if (cor != -1) {
+                    marcas[cor] = v;
                 }
             }
 
-            if (k == -1) {
-                i++;
-                k = i;
-                cores.add(k);
+            int k = 0;
+            while (k < numCores && marcas[k] == v) {
+                k++;
+            }
+
+            if (k == numCores) {
+                numCores++;
             }
 
-            v.setCor(k);
+            this.cores[v] = k;
         }
 
-        return i + 1;
+        /*
+         * Cada vértice colorido é expandido, com todos os seus arcos
+         * (exceto o primeiro, colorido direto). Não há fila.
+         */
+        if (Metricas.ATIVAS) {
+            long arestas = this.grafo.getNumArcos() - (this.grafo.fim(0) - this.grafo.inicio(0));
+            Metricas.encerrarBusca(evento, this.numVertices, this.numVertices, arestas, 0);
+        }
+
+        return numCores;
     }
 
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < this.vertices.size(); i++) {
-            Vertice v = this.vertices.get(i);
-            sb.append("[i: " + i + ", c: " + v.getCor() + ", a: " + v.getAdjacentes() + "]");
+        for (int i = 0; i < this.numVertices; i++) {
+            sb.append("[i: " + i + ", c: " + this.cores[i] + ", a: [");
+
+            if (this.grafo != null) {
+                for (int arco = this.grafo.inicio(i); arco < this.grafo.fim(i); arco++) {
+                    sb.append((arco > this.grafo.inicio(i) ? ", " : "") + this.grafo.destino(arco));
+                }
+            }
+
+            sb.append("]]");
         }
 
         return sb.toString();
     }
-}
\ No newline at end of file
+}
@@ -8,32 +8,26 @@
  */
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 
 public class Main {
     public static void main(String[] args) throws IOException {
-        BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+        // Fase de leitura (ver Metricas, -Dgrafos.metricas=true)
+        Metricas.EventoFase fase = Metricas.iniciarFase("leitura");
+        LeitorBytes leitor = new LeitorBytes(System.in);
 
-        int numVertices = Integer.parseInt(br.readLine());
-        Grafo grafo = new Grafo();
+        int numVertices = leitor.lerInteiro();
+        Grafo grafo = new Grafo(numVertices);
 
-        for (int i = 0; i < numVertices; i++) {
-            grafo.add(new Vertice());
-        }
+        // Arestas "v, a" até FIM, sem objetos por aresta
+        leitor.lerArestas((v, a, peso) -> grafo.inserir(v, a));
+        Metricas.encerrarFase(fase);
 
-        List<Vertice> vertices = grafo.getVertices();
-        for (String str = br.readLine(); str.equals("FIM") == false; str = br.readLine()) {
-            String[] entrada = str.split(",");
-            int v = Integer.parseInt(entrada[0].trim());
-            int a = Integer.parseInt(entrada[1].trim());
+        fase = Metricas.iniciarFase("resolucao");
+        int numCores = grafo.getColoracao();
+        Metricas.encerrarFase(fase);
 
-            vertices.get(v).addAdjacente(vertices.get(a));
-            vertices.get(a).addAdjacente(vertices.get(v));
-        }
-
-        System.out.println(grafo.getColoracao());
+        fase = Metricas.iniciarFase("escrita");
+        System.out.println(numCores);
+        Metricas.encerrarFase(fase);
     }
 }
\ No newline at end of file
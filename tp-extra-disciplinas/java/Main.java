@@ -6,47 +6,35 @@
  * @version 1.0
  */
 
-import java.io.BufferedReader;
 import java.io.FileInputStream;
-import java.io.InputStreamReader;
 import java.io.IOException;
 import java.io.PrintStream;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.ListIterator;
 
 public class Main {
     public static void main(String[] args) throws Exception, IOException {
         /* 
-         * Criando BufferedReader para leitura do arquivo "pub.in".
+         * Criando leitor de bytes para leitura do arquivo "materias.in".
          * O arquivo de entrada deve conter os dados na formatação:
          * Matéria;Pré-requisito 1,Pré-requisito 2,Pré-requisito 3...
          */
-        BufferedReader in = new BufferedReader(new InputStreamReader
-                                (new FileInputStream("materias.in")));
+        LeitorBytes in = new LeitorBytes(new FileInputStream("materias.in"));
 
         // Criando PrintStream para escrita, com autoFlush
         PrintStream out = new PrintStream(System.out, true);
 
         // Criando grafo
-        Grafo grafo = new Grafo();
+        GrafoDisciplinas grafo = new GrafoDisciplinas();
 
-        // Lendo disciplinas
-        for (String line = in.readLine(); line != null; line = in.readLine()) {
-            // Lista de disciplina e pre-requisitos
-            List<String> disciplinas = Arrays.asList(line.split("[;,]"));
+        // Lendo disciplinas: cada nome é internado em um id, sem criar Strings
+        grafo.lerLinhas(in);
 
-            // Inserindo no grafo
-            grafo.inserir(disciplinas);
-        }
-
-        // Fecha BufferedReader
+        // Fecha leitor
         in.close();
 
 
-        // Recriando BufferedReader para leitura do teclado (System.in)
-        in = new BufferedReader(new InputStreamReader(System.in));
+        // Recriando leitor para leitura do teclado (System.in)
+        in = new LeitorBytes(System.in);
 
         // MENU
         out.println("========== Menu de disciplinas ==========");
@@ -59,10 +47,10 @@ public class Main {
 
         // Lendo do usuário uma matéria a ser analisada
         out.print("Insira a opção referente à matéria: ");
-        int opcao = Integer.parseInt(in.readLine());
+        int opcao = in.lerInteiro();
 
         // Mostrando pre-requisitos da disciplina lida
-        String materia = materias.get(opcao - 1);
+        int materia = grafo.getIdLinha(opcao - 1);
         List<String> preRequisitos = grafo.getPreRequisitos(materia);
         StringBuilder stringBuilder = new StringBuilder();
 